@@ -31,6 +31,8 @@ public class ClustersProperties {
 
   PollingProperties polling = new PollingProperties();
 
+  StatisticsProperties statistics = new StatisticsProperties();
+
   @Data
   public static class Cluster {
     String name;
@@ -50,6 +52,9 @@ public class ClustersProperties {
     String defaultValueSerde;
     List<Masking> masking;
     Long pollingThrottleRate;
+    Integer maxParallelScanConsumers; // overrides polling.maxParallelScanConsumers for this cluster
+    String keyPartitioner; // producers' partitioner class, used to find key's partition (murmur2-based if not set)
+    KeyIndexProperties keyIndex;
     TruststoreConfig ssl;
     AuditProperties audit;
   }
@@ -59,6 +64,26 @@ public class ClustersProperties {
     Integer pollTimeoutMs;
     Integer maxPageSize;
     Integer defaultPageSize;
+    Integer consumersPoolSize;
+    Long consumersPoolIdleTimeoutMs;
+    // max consumers polling partitions in parallel for filtered scans (1, i.e. disabled, by default);
+    // additional consumers are taken from the consumers pool, so keep it below consumersPoolSize
+    Integer maxParallelScanConsumers;
+    Long pageCacheMaxBytes;
+    Long pageCacheTtlMs;
+    Integer maxMessagePreviewBytes;
+    Long maxPageBytes;
+  }
+
+  @Data
+  public static class StatisticsProperties {
+    // if set, full statistics reload is done with this interval, and incremental refreshes are done in between
+    Long fullRefreshIntervalMs;
+    // number of known topics re-described by each incremental refresh (topics are rotated, since there is no
+    // signal of which topics' configs changed)
+    Integer incrementalRefreshTopicsBatch;
+    // if set, last collected statistics are saved to this dir and used as (stale) initial state after restart
+    String snapshotDir;
   }
 
   @Data
@@ -142,6 +167,13 @@ public class ClustersProperties {
     }
   }
 
+  @Data
+  public static class KeyIndexProperties {
+    String topicsPattern;
+    String directory;
+    Long maxBytesPerPartition;
+  }
+
   @Data
   @NoArgsConstructor
   @AllArgsConstructor
@@ -1,5 +1,7 @@
 package com.provectus.kafka.ui.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.provectus.kafka.ui.emitter.MessageFramesEncoder;
 import java.util.Collections;
 import java.util.Map;
 import lombok.AllArgsConstructor;
@@ -7,9 +9,11 @@ import org.openapitools.jackson.nullable.JsonNullableModule;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.autoconfigure.web.reactive.WebFluxProperties;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
 import org.springframework.http.server.reactive.ContextPathCompositeHandler;
 import org.springframework.http.server.reactive.HttpHandler;
 import org.springframework.jmx.export.MBeanExporter;
@@ -53,4 +57,11 @@ public class Config {
   public JsonNullableModule jsonNullableModule() {
     return new JsonNullableModule();
   }
+
+  @Bean
+  // binary frames encoding for messages stream, used when requested by client's Accept header
+  public CodecCustomizer messageFramesCodecCustomizer(ObjectMapper objectMapper) {
+    return configurer -> configurer.customCodecs()
+        .register(new EncoderHttpMessageWriter<>(new MessageFramesEncoder(objectMapper)));
+  }
 }
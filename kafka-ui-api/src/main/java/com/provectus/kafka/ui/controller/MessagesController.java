@@ -12,18 +12,25 @@ import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
+import com.provectus.kafka.ui.model.ProduceCompressionTypeDTO;
 import com.provectus.kafka.ui.model.SeekDirectionDTO;
 import com.provectus.kafka.ui.model.SeekTypeDTO;
 import com.provectus.kafka.ui.model.SerdeUsageDTO;
 import com.provectus.kafka.ui.model.SmartFilterTestExecutionDTO;
 import com.provectus.kafka.ui.model.SmartFilterTestExecutionResultDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessagesBulkProduceResultDTO;
+import com.provectus.kafka.ui.model.TopicMessagesMatchEstimateDTO;
 import com.provectus.kafka.ui.model.TopicSerdeSuggestionDTO;
 import com.provectus.kafka.ui.model.rbac.AccessContext;
 import com.provectus.kafka.ui.model.rbac.permission.AuditAction;
 import com.provectus.kafka.ui.model.rbac.permission.TopicAction;
 import com.provectus.kafka.ui.service.DeserializationService;
 import com.provectus.kafka.ui.service.MessagesService;
+import com.provectus.kafka.ui.service.export.MessagesExportWriter;
 import com.provectus.kafka.ui.util.DynamicConfigOperations;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +42,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.kafka.common.TopicPartition;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
@@ -128,6 +139,157 @@ public class MessagesController extends AbstractController implements MessagesAp
         .doOnEach(sig -> audit(context, sig));
   }
 
+  @Override
+  public Mono<ResponseEntity<TopicMessageDTO>> getTopicMessage(String clusterName,
+                                                               String topicName,
+                                                               Integer partition,
+                                                               Long offset,
+                                                               String keySerde,
+                                                               String valueSerde,
+                                                               ServerWebExchange exchange) {
+    var contextBuilder = AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .operationName("getTopicMessage");
+
+    if (auditService.isAuditTopic(getCluster(clusterName), topicName)) {
+      contextBuilder.auditActions(AuditAction.VIEW);
+    }
+
+    var context = contextBuilder.build();
+    return validateAccess(context)
+        .then(messagesService.getMessage(getCluster(clusterName), topicName, partition, offset, keySerde, valueSerde))
+        .map(ResponseEntity::ok)
+        .doOnEach(sig -> audit(context, sig));
+  }
+
+  @Override
+  public Mono<ResponseEntity<TopicMessagesMatchEstimateDTO>> estimateTopicMessagesMatches(
+      String clusterName,
+      String topicName,
+      SeekTypeDTO seekType,
+      List<String> seekTo,
+      String q,
+      MessageFilterTypeDTO filterQueryType,
+      Integer sampleSize,
+      String keySerde,
+      String valueSerde,
+      ServerWebExchange exchange) {
+    var contextBuilder = AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .operationName("estimateTopicMessagesMatches");
+
+    if (StringUtils.isNoneEmpty(q) && MessageFilterTypeDTO.GROOVY_SCRIPT == filterQueryType) {
+      dynamicConfigOperations.checkIfFilteringGroovyEnabled();
+    }
+
+    if (auditService.isAuditTopic(getCluster(clusterName), topicName)) {
+      contextBuilder.auditActions(AuditAction.VIEW);
+    }
+
+    seekType = seekType != null ? seekType : SeekTypeDTO.BEGINNING;
+    filterQueryType = filterQueryType != null ? filterQueryType : MessageFilterTypeDTO.STRING_CONTAINS;
+
+    var positions = new ConsumerPosition(
+        seekType,
+        topicName,
+        parseSeekTo(topicName, seekType, seekTo)
+    );
+    var context = contextBuilder.build();
+    return validateAccess(context)
+        .then(messagesService.estimateMatches(getCluster(clusterName), topicName, positions, q, filterQueryType,
+            sampleSize, keySerde, valueSerde))
+        .map(ResponseEntity::ok)
+        .doOnEach(sig -> audit(context, sig));
+  }
+
+  @Override
+  public Mono<ResponseEntity<TopicMessageDTO>> getTopicMessageByKey(String clusterName,
+                                                                    String topicName,
+                                                                    String key,
+                                                                    String keySerde,
+                                                                    String valueSerde,
+                                                                    ServerWebExchange exchange) {
+    var contextBuilder = AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .operationName("getTopicMessageByKey");
+
+    if (auditService.isAuditTopic(getCluster(clusterName), topicName)) {
+      contextBuilder.auditActions(AuditAction.VIEW);
+    }
+
+    var context = contextBuilder.build();
+    return validateAccess(context)
+        .then(messagesService.findLatestByKey(getCluster(clusterName), topicName, key, keySerde, valueSerde))
+        .map(ResponseEntity::ok)
+        .doOnEach(sig -> audit(context, sig));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Resource>> exportTopicMessages(String clusterName,
+                                                            String topicName,
+                                                            SeekTypeDTO seekType,
+                                                            List<String> seekTo,
+                                                            Long limit,
+                                                            String q,
+                                                            MessageFilterTypeDTO filterQueryType,
+                                                            String keySerde,
+                                                            String valueSerde,
+                                                            MessagesExportFormatDTO format,
+                                                            MessagesExportCompressionDTO compression,
+                                                            ServerWebExchange exchange) {
+    var contextBuilder = AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_READ)
+        .operationName("exportTopicMessages");
+
+    if (StringUtils.isNoneEmpty(q) && MessageFilterTypeDTO.GROOVY_SCRIPT == filterQueryType) {
+      dynamicConfigOperations.checkIfFilteringGroovyEnabled();
+    }
+
+    if (auditService.isAuditTopic(getCluster(clusterName), topicName)) {
+      contextBuilder.auditActions(AuditAction.VIEW);
+    }
+
+    seekType = seekType != null ? seekType : SeekTypeDTO.BEGINNING;
+    filterQueryType = filterQueryType != null ? filterQueryType : MessageFilterTypeDTO.STRING_CONTAINS;
+    format = format != null ? format : MessagesExportFormatDTO.NDJSON;
+    compression = compression != null ? compression : MessagesExportCompressionDTO.NONE;
+
+    var positions = new ConsumerPosition(
+        seekType,
+        topicName,
+        parseSeekTo(topicName, seekType, seekTo)
+    );
+    var exportFormat = format;
+    var exportCompression = compression;
+    var exportFilterType = filterQueryType;
+    // deferred, so that export parameters are validated only after access check passed
+    Flux<byte[]> exported = Flux.defer(() -> messagesService.exportMessages(
+        getCluster(clusterName), topicName, positions, q, exportFilterType,
+        limit, keySerde, valueSerde, exportFormat, exportCompression));
+    String fileName = MessagesExportWriter.fileName(topicName, format, compression);
+
+    var context = contextBuilder.build();
+    return validateAccess(context)
+        .doOnEach(sig -> audit(context, sig))
+        .then(Mono.defer(() -> writeExport(exchange.getResponse(), exported, fileName)))
+        .then(Mono.empty());
+  }
+
+  // generated Resource-typed response can't be streamed, so export is written to response directly
+  private static Mono<Void> writeExport(ServerHttpResponse response, Flux<byte[]> exported, String fileName) {
+    response.getHeaders().setContentType(MediaType.APPLICATION_OCTET_STREAM);
+    response.getHeaders().setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+    return response.writeWith(exported.map(response.bufferFactory()::wrap));
+  }
+
   @Override
   public Mono<ResponseEntity<Void>> sendTopicMessages(
       String clusterName, String topicName, @Valid Mono<CreateTopicMessageDTO> createTopicMessage,
@@ -147,6 +309,24 @@ public class MessagesController extends AbstractController implements MessagesAp
     ).doOnEach(sig -> audit(context, sig));
   }
 
+  @Override
+  public Mono<ResponseEntity<TopicMessagesBulkProduceResultDTO>> sendTopicMessagesBulk(
+      String clusterName, String topicName, Integer maxInFlight, ProduceCompressionTypeDTO compression,
+      Flux<CreateTopicMessageDTO> createTopicMessages, ServerWebExchange exchange) {
+
+    var context = AccessContext.builder()
+        .cluster(clusterName)
+        .topic(topicName)
+        .topicActions(MESSAGES_PRODUCE)
+        .operationName("sendTopicMessagesBulk")
+        .build();
+
+    return validateAccess(context).then(
+        messagesService.sendMessages(getCluster(clusterName), topicName, createTopicMessages, maxInFlight, compression)
+            .map(ResponseEntity::ok)
+    ).doOnEach(sig -> audit(context, sig));
+  }
+
   /**
    * The format is [partition]::[offset] for specifying offsets
    * or [partition]::[timestamp in millis] for specifying timestamps.
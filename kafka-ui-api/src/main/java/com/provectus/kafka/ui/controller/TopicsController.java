@@ -5,11 +5,9 @@ import static com.provectus.kafka.ui.model.rbac.permission.TopicAction.DELETE;
 import static com.provectus.kafka.ui.model.rbac.permission.TopicAction.EDIT;
 import static com.provectus.kafka.ui.model.rbac.permission.TopicAction.MESSAGES_READ;
 import static com.provectus.kafka.ui.model.rbac.permission.TopicAction.VIEW;
-import static java.util.stream.Collectors.toList;
 
 import com.provectus.kafka.ui.api.TopicsApi;
 import com.provectus.kafka.ui.mapper.ClusterMapper;
-import com.provectus.kafka.ui.model.InternalTopic;
 import com.provectus.kafka.ui.model.InternalTopicConfig;
 import com.provectus.kafka.ui.model.PartitionsIncreaseDTO;
 import com.provectus.kafka.ui.model.PartitionsIncreaseResponseDTO;
@@ -34,7 +32,6 @@ import java.util.Map;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -183,29 +180,24 @@ public class TopicsController extends AbstractController implements TopicsApi {
         .operationName("getTopics")
         .build();
 
-    return topicsService.getTopicsForPagination(getCluster(clusterName))
-        .flatMap(topics -> accessControlService.filterViewableTopics(topics, clusterName))
-        .flatMap(topics -> {
+    return accessControlService.getViewableTopicsFilter(clusterName)
+        .flatMap(viewable -> {
           int pageSize = perPage != null && perPage > 0 ? perPage : DEFAULT_PAGE_SIZE;
           var topicsToSkip = ((page != null && page > 0 ? page : 1) - 1) * pageSize;
-          var comparator = sortOrder == null || !sortOrder.equals(SortOrderDTO.DESC)
-              ? getComparatorForTopic(orderBy) : getComparatorForTopic(orderBy).reversed();
-          List<InternalTopic> filtered = topics.stream()
-              .filter(topic -> !topic.isInternal()
-                  || showInternal != null && showInternal)
-              .filter(topic -> search == null || StringUtils.containsIgnoreCase(topic.getName(), search))
-              .sorted(comparator)
-              .toList();
-          var totalPages = (filtered.size() / pageSize)
-              + (filtered.size() % pageSize == 0 ? 0 : 1);
-
-          List<String> topicsPage = filtered.stream()
-              .skip(topicsToSkip)
-              .limit(pageSize)
-              .map(InternalTopic::getName)
-              .collect(toList());
-
-          return topicsService.loadTopics(getCluster(clusterName), topicsPage)
+          var topicsPage = topicsService.getTopicsListIndex(getCluster(clusterName))
+              .page(
+                  showInternal != null && showInternal,
+                  search,
+                  orderBy,
+                  SortOrderDTO.DESC.equals(sortOrder),
+                  viewable,
+                  topicsToSkip,
+                  pageSize
+              );
+          var totalPages = (topicsPage.totalMatched() / pageSize)
+              + (topicsPage.totalMatched() % pageSize == 0 ? 0 : 1);
+
+          return topicsService.loadTopics(getCluster(clusterName), topicsPage.topics())
               .map(topicsToRender ->
                   new TopicsResponseDTO()
                       .topics(topicsToRender.stream().map(clusterMapper::toTopic).toList())
@@ -356,24 +348,4 @@ public class TopicsController extends AbstractController implements TopicsApi {
         .doOnEach(sig -> audit(context, sig));
   }
 
-  private Comparator<InternalTopic> getComparatorForTopic(
-      TopicColumnsToSortDTO orderBy) {
-    var defaultComparator = Comparator.comparing(InternalTopic::getName);
-    if (orderBy == null) {
-      return defaultComparator;
-    }
-    switch (orderBy) {
-      case TOTAL_PARTITIONS:
-        return Comparator.comparing(InternalTopic::getPartitionCount);
-      case OUT_OF_SYNC_REPLICAS:
-        return Comparator.comparing(t -> t.getReplicas() - t.getInSyncReplicas());
-      case REPLICATION_FACTOR:
-        return Comparator.comparing(InternalTopic::getReplicationFactor);
-      case SIZE:
-        return Comparator.comparing(InternalTopic::getSegmentSize);
-      case NAME:
-      default:
-        return defaultComparator;
-    }
-  }
 }
@@ -1,6 +1,8 @@
 package com.provectus.kafka.ui.emitter;
 
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.utils.Bytes;
 import reactor.core.publisher.FluxSink;
@@ -21,14 +23,40 @@ abstract class AbstractEmitter implements java.util.function.Consumer<FluxSink<T
     return records;
   }
 
+  /**
+   * Limits total (estimated) size of sent messages, emitting stops when limit is reached. Should be called
+   * before emitter is subscribed.
+   */
+  public void limitSentBytes(long maxBytes) {
+    messagesProcessing.limitSentBytes(maxBytes);
+  }
+
   protected boolean sendLimitReached() {
     return messagesProcessing.limitReached();
   }
 
+  protected long sentMessages() {
+    return messagesProcessing.sentMessages();
+  }
+
+  protected long consumedBytes() {
+    return messagesProcessing.consumedBytes();
+  }
+
   protected void send(FluxSink<TopicMessageEventDTO> sink, Iterable<ConsumerRecord<Bytes, Bytes>> records) {
     messagesProcessing.send(sink, records);
   }
 
+  protected Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> filterMatches(
+      Iterable<ConsumerRecord<Bytes, Bytes>> records) {
+    return messagesProcessing.filterMatches(records);
+  }
+
+  protected void sendMatches(FluxSink<TopicMessageEventDTO> sink,
+                             Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> matches) {
+    messagesProcessing.sendMatches(sink, matches);
+  }
+
   protected void sendPhase(FluxSink<TopicMessageEventDTO> sink, String name) {
     messagesProcessing.sendPhase(sink, name);
   }
@@ -13,16 +13,37 @@ import org.apache.kafka.common.TopicPartition;
 
 public class BackwardEmitter extends RangePollingEmitter {
 
+  // max bytes to be polled in single round, bounds polling range growth for selective filters
+  private static final long MAX_ROUND_BYTES = 16 * 1024 * 1024;
+
+  private final PollingRangeSizer rangeSizer;
+  private long prevRoundSentMessages = 0;
+  private long prevRoundConsumedBytes = 0;
+
   public BackwardEmitter(Supplier<EnhancedConsumer> consumerSupplier,
                          ConsumerPosition consumerPosition,
                          int messagesPerPage,
                          ConsumerRecordDeserializer deserializer,
                          Predicate<TopicMessageDTO> filter,
                          PollingSettings pollingSettings) {
+    this(consumerSupplier, consumerPosition, messagesPerPage, 1, deserializer, filter, pollingSettings);
+  }
+
+  /**
+   * If scanParallelism > 1, partitions are split between up to scanParallelism consumers polling in parallel.
+   */
+  public BackwardEmitter(Supplier<EnhancedConsumer> consumerSupplier,
+                         ConsumerPosition consumerPosition,
+                         int messagesPerPage,
+                         int scanParallelism,
+                         ConsumerRecordDeserializer deserializer,
+                         Predicate<TopicMessageDTO> filter,
+                         PollingSettings pollingSettings) {
     super(
         consumerSupplier,
         consumerPosition,
         messagesPerPage,
+        scanParallelism,
         new MessagesProcessing(
             deserializer,
             filter,
@@ -31,6 +52,7 @@ public class BackwardEmitter extends RangePollingEmitter {
         ),
         pollingSettings
     );
+    this.rangeSizer = new PollingRangeSizer(messagesPerPage, MAX_ROUND_BYTES);
   }
 
   @Override
@@ -47,7 +69,7 @@ public class BackwardEmitter extends RangePollingEmitter {
       );
     }
 
-    int msgsToPollPerPartition = (int) Math.ceil((double) messagesPerPage / readToOffsets.size());
+    int msgsToPollPerPartition = nextRangeSize(prevRange, readToOffsets.size());
     TreeMap<TopicPartition, FromToOffset> result = new TreeMap<>(Comparator.comparingInt(TopicPartition::partition));
     readToOffsets.forEach((tp, toOffset) -> {
       long tpStartOffset = seekOperations.getBeginOffsets().get(tp);
@@ -57,4 +79,19 @@ public class BackwardEmitter extends RangePollingEmitter {
     });
     return result;
   }
+
+  private int nextRangeSize(TreeMap<TopicPartition, FromToOffset> prevRange, int partitions) {
+    long sent = sentMessages();
+    long consumed = consumedBytes();
+    int perPartition = rangeSizer.nextPerPartition(
+        partitions,
+        prevRange.values().stream().mapToLong(r -> r.to() - r.from()).sum(),
+        sent - prevRoundSentMessages,
+        consumed - prevRoundConsumedBytes,
+        sent
+    );
+    prevRoundSentMessages = sent;
+    prevRoundConsumedBytes = consumed;
+    return perPartition;
+  }
 }
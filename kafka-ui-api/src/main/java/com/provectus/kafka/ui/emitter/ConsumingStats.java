@@ -4,6 +4,7 @@ import com.provectus.kafka.ui.model.TopicMessageConsumingDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import reactor.core.publisher.FluxSink;
 
+// can be updated concurrently by parallel scan workers
 class ConsumingStats {
 
   private long bytes = 0;
@@ -11,7 +12,7 @@ class ConsumingStats {
   private long elapsed = 0;
   private int filterApplyErrors = 0;
 
-  void sendConsumingEvt(FluxSink<TopicMessageEventDTO> sink, PolledRecords polledRecords) {
+  synchronized void sendConsumingEvt(FluxSink<TopicMessageEventDTO> sink, PolledRecords polledRecords) {
     bytes += polledRecords.bytes();
     records += polledRecords.count();
     elapsed += polledRecords.elapsed().toMillis();
@@ -22,11 +23,15 @@ class ConsumingStats {
     );
   }
 
-  void incFilterApplyError() {
+  synchronized void incFilterApplyError() {
     filterApplyErrors++;
   }
 
-  void sendFinishEvent(FluxSink<TopicMessageEventDTO> sink) {
+  synchronized long consumedBytes() {
+    return bytes;
+  }
+
+  synchronized void sendFinishEvent(FluxSink<TopicMessageEventDTO> sink) {
     sink.next(
         new TopicMessageEventDTO()
             .type(TopicMessageEventDTO.TypeEnum.DONE)
@@ -6,10 +6,12 @@ import com.provectus.kafka.ui.util.ApplicationMetrics;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 import org.apache.kafka.clients.consumer.Consumer;
@@ -27,6 +29,15 @@ public class EnhancedConsumer extends KafkaConsumer<Bytes, Bytes> {
   private final ApplicationMetrics metrics;
   private String pollingTopic;
 
+  // not null if consumer was borrowed from pool - in that case close() returns consumer back to pool
+  @Nullable
+  private EnhancedConsumerPool pool;
+  // additional properties consumer was created with, used as a key in pool
+  @Nullable
+  private Map<String, Object> poolKey;
+  // set when consumer's state can't be trusted anymore (poll failure, wakeup call), so it should not be reused
+  private boolean reusable = true;
+
   public EnhancedConsumer(Properties properties,
                           PollingThrottler throttler,
                           ApplicationMetrics metrics) {
@@ -38,7 +49,13 @@ public class EnhancedConsumer extends KafkaConsumer<Bytes, Bytes> {
 
   public PolledRecords pollEnhanced(Duration dur) {
     var stopwatch = Stopwatch.createStarted();
-    ConsumerRecords<Bytes, Bytes> polled = poll(dur);
+    ConsumerRecords<Bytes, Bytes> polled;
+    try {
+      polled = poll(dur);
+    } catch (RuntimeException e) {
+      reusable = false;
+      throw e;
+    }
     PolledRecords polledEnhanced = PolledRecords.create(polled, stopwatch.elapsed());
     var throttled = throttler.throttleAfterPoll(polledEnhanced.bytes());
     metrics.meterPolledRecords(pollingTopic, polledEnhanced, throttled);
@@ -73,8 +90,41 @@ public class EnhancedConsumer extends KafkaConsumer<Bytes, Bytes> {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void wakeup() {
+    reusable = false;
+    super.wakeup();
+  }
+
+  void attachToPool(EnhancedConsumerPool pool, Map<String, Object> poolKey) {
+    this.pool = pool;
+    this.poolKey = poolKey;
+  }
+
+  boolean isReusable() {
+    return reusable;
+  }
+
+  // returns true if consumer has at least one open connection to brokers (used for pooled consumers validation)
+  boolean isConnected() {
+    return metrics().values().stream()
+        .filter(m -> m.metricName().name().equals("connection-count")
+            && m.metricName().group().equals("consumer-metrics"))
+        .anyMatch(m -> m.metricValue() instanceof Double cnt && cnt > 0);
+  }
+
   @Override
   public void close(Duration timeout) {
+    if (pool != null) {
+      var returnTo = pool;
+      pool = null;
+      returnTo.release(poolKey, this);
+    } else {
+      closeConsumer(timeout);
+    }
+  }
+
+  void closeConsumer(Duration timeout) {
     metrics.activeConsumers().decrementAndGet();
     super.close(timeout);
   }
@@ -0,0 +1,124 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.util.ApplicationMetrics;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+
+/**
+ * Keeps already-connected consumers, so that messages browsing does not pay for connection setup
+ * (TCP/SSL/SASL handshakes and metadata fetching) on each request.
+ * Borrowed consumer should be closed after usage - this returns it back to pool with assignment and pause
+ * state reset. If pool is exhausted, non-pooled consumer is created (and closed after usage).
+ * Consumers created with different additional properties are kept under separate keys, but pool size
+ * is shared between all keys - if pool is full, oldest idle consumers of other keys are evicted.
+ */
+@Slf4j
+public class EnhancedConsumerPool implements Closeable {
+
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  // additional consumer properties -> consumer
+  private final Function<Map<String, Object>, EnhancedConsumer> consumerFactory;
+  private final GenericKeyedObjectPool<Map<String, Object>, EnhancedConsumer> pool;
+
+  public EnhancedConsumerPool(Function<Map<String, Object>, EnhancedConsumer> consumerFactory,
+                              PollingSettings pollingSettings,
+                              ApplicationMetrics metrics) {
+    this.consumerFactory = consumerFactory;
+    this.pool = new GenericKeyedObjectPool<>(new PooledConsumerFactory(), poolConfig(pollingSettings));
+    metrics.registerConsumersPool(pool);
+  }
+
+  private static GenericKeyedObjectPoolConfig<EnhancedConsumer> poolConfig(PollingSettings pollingSettings) {
+    var config = new GenericKeyedObjectPoolConfig<EnhancedConsumer>();
+    config.setMaxTotal(pollingSettings.getConsumersPoolSize());
+    config.setMaxTotalPerKey(pollingSettings.getConsumersPoolSize());
+    config.setMaxIdlePerKey(pollingSettings.getConsumersPoolSize());
+    config.setBlockWhenExhausted(false);
+    config.setLifo(true); // most recently used consumers are more likely to have fresh connections & metadata
+    config.setMinEvictableIdleTime(pollingSettings.getConsumersPoolIdleTimeout());
+    config.setTimeBetweenEvictionRuns(pollingSettings.getConsumersPoolIdleTimeout().dividedBy(2));
+    config.setTestWhileIdle(true);
+    config.setJmxEnabled(false);
+    return config;
+  }
+
+  public EnhancedConsumer borrow() {
+    return borrow(Map.of());
+  }
+
+  public EnhancedConsumer borrow(Map<String, Object> properties) {
+    EnhancedConsumer consumer;
+    try {
+      consumer = pool.borrowObject(properties);
+    } catch (NoSuchElementException exhausted) {
+      log.debug("Consumers pool exhausted, creating non-pooled consumer");
+      return consumerFactory.apply(properties);
+    } catch (Exception e) {
+      throw new IllegalStateException("Error borrowing consumer from pool", e);
+    }
+    consumer.attachToPool(this, properties);
+    return consumer;
+  }
+
+  void release(Map<String, Object> properties, EnhancedConsumer consumer) {
+    if (consumer.isReusable()) {
+      pool.returnObject(properties, consumer);
+    } else {
+      invalidate(properties, consumer);
+    }
+  }
+
+  private void invalidate(Map<String, Object> properties, EnhancedConsumer consumer) {
+    try {
+      pool.invalidateObject(properties, consumer);
+    } catch (Exception e) {
+      log.warn("Error invalidating pooled consumer", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  private class PooledConsumerFactory extends BaseKeyedPooledObjectFactory<Map<String, Object>, EnhancedConsumer> {
+
+    @Override
+    public EnhancedConsumer create(Map<String, Object> properties) {
+      return consumerFactory.apply(properties);
+    }
+
+    @Override
+    public PooledObject<EnhancedConsumer> wrap(EnhancedConsumer consumer) {
+      return new DefaultPooledObject<>(consumer);
+    }
+
+    @Override
+    public void passivateObject(Map<String, Object> properties, PooledObject<EnhancedConsumer> p) {
+      // resetting assignment and paused partitions before consumer goes to idle state
+      p.getObject().unsubscribe();
+    }
+
+    @Override
+    public boolean validateObject(Map<String, Object> properties, PooledObject<EnhancedConsumer> p) {
+      // consumer without connections (closed by broker or by connections.max.idle.ms) is not better than new one
+      return p.getObject().isConnected();
+    }
+
+    @Override
+    public void destroyObject(Map<String, Object> properties, PooledObject<EnhancedConsumer> p) {
+      p.getObject().closeConsumer(CLOSE_TIMEOUT);
+    }
+  }
+
+}
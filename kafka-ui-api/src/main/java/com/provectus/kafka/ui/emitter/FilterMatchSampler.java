@@ -0,0 +1,289 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.google.common.base.Stopwatch;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessagesMatchEstimateDTO;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Estimates number of records matching the filter in offsets range from consumer position to partitions' end.
+ * Range is split into fixed-size offset windows, and windows are picked randomly (without replacement) and read
+ * fully, until records, bytes or time limit is reached. Match rate is estimated as ratio of matches to sampled
+ * records, its confidence interval is Wilson score interval with sample size corrected for windows' clustering
+ * (design effect) and for sampled fraction of the range. If the whole range fits into records limit it is
+ * scanned sequentially and exact result is returned.
+ */
+@Slf4j
+public class FilterMatchSampler {
+
+  static final int WINDOW_SIZE = 16;
+  static final int MAX_SAMPLE_MATCHES = 10;
+  // enough for a window of average-sized records, larger batches are still returned (one per fetch)
+  private static final int WINDOW_FETCH_BYTES = 64 * 1024;
+
+  /**
+   * Properties of consumers that should be used for sampling. Windows are small, so with default fetch
+   * settings (up to 500 records / 1MB per poll) most of polled bytes would be dropped, but still counted
+   * to the bytes limit.
+   */
+  public static final Map<String, Object> CONSUMER_PROPERTIES = Map.of(
+      ConsumerConfig.MAX_POLL_RECORDS_CONFIG, WINDOW_SIZE,
+      ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, WINDOW_FETCH_BYTES,
+      ConsumerConfig.FETCH_MAX_BYTES_CONFIG, WINDOW_FETCH_BYTES
+  );
+  private static final double CONFIDENCE_LEVEL = 0.95;
+  private static final double Z = 1.959964; // normal quantile for confidence level
+
+  private final ConsumerPosition position;
+  private final ConsumerRecordDeserializer deserializer;
+  private final Predicate<TopicMessageDTO> filter;
+  private final int maxRecords;
+  private final long maxBytes;
+  private final Duration timeout;
+  private final Duration pollTimeout;
+  private final Random random;
+
+  private record Window(TopicPartition tp, long from, long to) {
+  }
+
+  private record Probe(int records, int matches, long offsets) {
+  }
+
+  public FilterMatchSampler(ConsumerPosition position,
+                            ConsumerRecordDeserializer deserializer,
+                            Predicate<TopicMessageDTO> filter,
+                            int maxRecords,
+                            long maxBytes,
+                            Duration timeout,
+                            Duration pollTimeout,
+                            Random random) {
+    this.position = position;
+    this.deserializer = deserializer;
+    this.filter = filter;
+    this.maxRecords = maxRecords;
+    this.maxBytes = maxBytes;
+    this.timeout = timeout;
+    this.pollTimeout = pollTimeout;
+    this.random = random;
+  }
+
+  public TopicMessagesMatchEstimateDTO sample(Consumer<Bytes, Bytes> consumer) {
+    var stopwatch = Stopwatch.createStarted();
+    var windows = new Windows(SeekOperations.create(consumer, position));
+    boolean sequential = windows.totalOffsets <= maxRecords;
+    Set<Long> sampledWindows = new HashSet<>();
+    var sampling = new SamplingState();
+    while (sampledWindows.size() < windows.count
+        && sampling.records < maxRecords
+        && sampling.bytes < maxBytes
+        && stopwatch.elapsed().compareTo(timeout) < 0) {
+      long idx = sequential ? sampledWindows.size() : (long) (random.nextDouble() * windows.count);
+      if (sampledWindows.add(idx)) {
+        sampling.probes.add(probe(consumer, windows.get(idx), sampling, stopwatch));
+      }
+    }
+    long sampledOffsets = sampling.probes.stream().mapToLong(Probe::offsets).sum();
+    boolean exact = sampledOffsets == windows.totalOffsets;
+    return estimate(windows.totalOffsets, exact, sampling)
+        .bytesPolled(sampling.bytes)
+        .elapsedMs(stopwatch.elapsed().toMillis());
+  }
+
+  private Probe probe(Consumer<Bytes, Bytes> consumer, Window window, SamplingState sampling, Stopwatch stopwatch) {
+    consumer.assign(List.of(window.tp()));
+    consumer.seek(window.tp(), window.from());
+    int records = 0;
+    int matches = 0;
+    while (consumer.position(window.tp()) < window.to()
+        && sampling.bytes < maxBytes
+        && stopwatch.elapsed().compareTo(timeout) < 0) {
+      PolledRecords polled = poll(consumer);
+      sampling.bytes += polled.bytes();
+      for (ConsumerRecord<Bytes, Bytes> rec : polled.records(window.tp())) {
+        if (rec.offset() >= window.to()) {
+          break;
+        }
+        records++;
+        if (sampling.test(rec)) {
+          matches++;
+        }
+      }
+    }
+    // window can be read partially if limits were reached
+    long offsets = Math.min(consumer.position(window.tp()), window.to()) - window.from();
+    sampling.records += records;
+    return new Probe(records, matches, offsets);
+  }
+
+  private PolledRecords poll(Consumer<Bytes, Bytes> consumer) {
+    if (consumer instanceof EnhancedConsumer enhanced) {
+      return enhanced.pollEnhanced(pollTimeout);
+    }
+    var stopwatch = Stopwatch.createStarted();
+    return PolledRecords.create(consumer.poll(pollTimeout), stopwatch.elapsed());
+  }
+
+  private TopicMessagesMatchEstimateDTO estimate(long totalOffsets, boolean exact, SamplingState sampling) {
+    List<Probe> probes = sampling.probes;
+    long records = probes.stream().mapToLong(Probe::records).sum();
+    long matches = probes.stream().mapToLong(Probe::matches).sum();
+    long offsets = probes.stream().mapToLong(Probe::offsets).sum();
+    double rate = records == 0 ? 0 : (double) matches / records;
+    double lower = rate;
+    double upper = rate;
+    if (!exact && records > 0) {
+      double effectiveSize = records / designEffect(probes, rate, records)
+          / Math.max(1e-9, 1 - (double) offsets / totalOffsets);
+      double[] interval = wilsonInterval(rate, effectiveSize);
+      lower = interval[0];
+      upper = interval[1];
+    } else if (!exact) {
+      // nothing was sampled, so nothing is known
+      upper = 1;
+    }
+    // matches are extrapolated by offsets, since offsets range can have gaps (compaction, transaction markers)
+    double recordsPerOffset = offsets == 0 ? 1 : (double) records / offsets;
+    return new TopicMessagesMatchEstimateDTO()
+        .exact(exact)
+        .offsetsRange(totalOffsets)
+        .sampledRecords((int) records)
+        .matchedRecords((int) matches)
+        .filterApplyErrors(sampling.filterApplyErrors)
+        .probes(probes.size())
+        .confidenceLevel(CONFIDENCE_LEVEL)
+        .matchRate(rate)
+        .matchRateLower(lower)
+        .matchRateUpper(upper)
+        .estimatedMatches(exact ? matches : Math.round(rate * recordsPerOffset * totalOffsets))
+        .estimatedMatchesLower(exact ? matches : Math.round(lower * recordsPerOffset * totalOffsets))
+        .estimatedMatchesUpper(exact ? matches : Math.round(upper * recordsPerOffset * totalOffsets))
+        .sampleMatches(sampling.sampleMatches);
+  }
+
+  /**
+   * Ratio of match rate variance estimated from windows (clusters) to binomial variance of independently sampled
+   * records. Matches are usually correlated within windows (records with same producer/type go together), so
+   * windows bring less information than the same number of independent records.
+   */
+  private static double designEffect(List<Probe> probes, double rate, long records) {
+    int k = (int) probes.stream().filter(p -> p.records() > 0).count();
+    double binomialVariance = rate * (1 - rate) / records;
+    if (k < 2 || binomialVariance == 0) {
+      return 1;
+    }
+    double meanRecords = (double) records / k;
+    double sumSquares = 0;
+    for (Probe p : probes) {
+      double residual = p.matches() - rate * p.records();
+      sumSquares += residual * residual;
+    }
+    double clusterVariance = sumSquares / (k * (k - 1.0) * meanRecords * meanRecords);
+    return Math.max(1, clusterVariance / binomialVariance);
+  }
+
+  private static double[] wilsonInterval(double rate, double sampleSize) {
+    double z2 = Z * Z;
+    double denominator = 1 + z2 / sampleSize;
+    double center = (rate + z2 / (2 * sampleSize)) / denominator;
+    double halfWidth = Z * Math.sqrt(rate * (1 - rate) / sampleSize + z2 / (4 * sampleSize * sampleSize))
+        / denominator;
+    return new double[] {Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+  }
+
+  private final class SamplingState {
+    final List<Probe> probes = new ArrayList<>();
+    final List<TopicMessageDTO> sampleMatches = new ArrayList<>();
+    int records;
+    long bytes;
+    int filterApplyErrors;
+    private int matchesSeen;
+
+    boolean test(ConsumerRecord<Bytes, Bytes> rec) {
+      if (filter instanceof MessageFilters.KeyEqualsFilter keyFilter && !keyFilter.matches(rec)) {
+        return false;
+      }
+      var message = deserializer.deserializeLazily(rec);
+      try {
+        if (!filter.test(message)) {
+          return false;
+        }
+      } catch (Exception e) {
+        filterApplyErrors++;
+        log.trace("Error applying filter for message {}", message);
+        return false;
+      }
+      // reservoir sampling, so returned matches are uniformly picked from all matches seen
+      matchesSeen++;
+      if (sampleMatches.size() < MAX_SAMPLE_MATCHES) {
+        sampleMatches.add(message.materialize());
+      } else {
+        int idx = random.nextInt(matchesSeen);
+        if (idx < MAX_SAMPLE_MATCHES) {
+          sampleMatches.set(idx, message.materialize());
+        }
+      }
+      return true;
+    }
+  }
+
+  // offset windows of all non-empty partitions, indexed sequentially partition by partition
+  private static final class Windows {
+    final List<TopicPartition> partitions = new ArrayList<>();
+    final long[] from;
+    final long[] to;
+    final long[] firstWindowIdx; // cumulative number of windows before partition
+    final long count;
+    final long totalOffsets;
+
+    Windows(SeekOperations seekOperations) {
+      var seekOffsets = seekOperations.getOffsetsForSeek();
+      int size = seekOffsets.size();
+      from = new long[size];
+      to = new long[size];
+      firstWindowIdx = new long[size];
+      long windows = 0;
+      long offsets = 0;
+      int i = 0;
+      for (var e : seekOffsets.entrySet()) {
+        partitions.add(e.getKey());
+        from[i] = e.getValue();
+        to[i] = Math.max(from[i], seekOperations.getEndOffsets().get(e.getKey()));
+        firstWindowIdx[i] = windows;
+        windows += (to[i] - from[i] + WINDOW_SIZE - 1) / WINDOW_SIZE;
+        offsets += to[i] - from[i];
+        i++;
+      }
+      this.count = windows;
+      this.totalOffsets = offsets;
+    }
+
+    Window get(long idx) {
+      int pos = Arrays.binarySearch(firstWindowIdx, idx);
+      if (pos < 0) {
+        pos = -pos - 2;
+      }
+      // skipping empty partitions with the same first window index
+      while (pos + 1 < firstWindowIdx.length && firstWindowIdx[pos + 1] == idx) {
+        pos++;
+      }
+      long windowFrom = from[pos] + (idx - firstWindowIdx[pos]) * WINDOW_SIZE;
+      return new Window(partitions.get(pos), windowFrom, Math.min(windowFrom + WINDOW_SIZE, to[pos]));
+    }
+  }
+}
@@ -9,6 +9,7 @@ import java.util.TreeMap;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.kafka.common.TopicPartition;
 
 public class ForwardEmitter extends RangePollingEmitter {
@@ -19,15 +20,33 @@ public class ForwardEmitter extends RangePollingEmitter {
                         ConsumerRecordDeserializer deserializer,
                         Predicate<TopicMessageDTO> filter,
                         PollingSettings pollingSettings) {
+    this(consumerSupplier, consumerPosition, messagesPerPage, messagesPerPage, 1,
+        deserializer, filter, pollingSettings);
+  }
+
+  /**
+   * Creates emitter that polls topic by ranges of messagesPerPage size (per all partitions) until limit
+   * is reached or end offsets (taken at start) are polled. Null limit means all messages up to end offsets.
+   * If scanParallelism > 1, partitions are split between up to scanParallelism consumers polling in parallel.
+   */
+  public ForwardEmitter(Supplier<EnhancedConsumer> consumerSupplier,
+                        ConsumerPosition consumerPosition,
+                        int messagesPerPage,
+                        @Nullable Integer limit,
+                        int scanParallelism,
+                        ConsumerRecordDeserializer deserializer,
+                        Predicate<TopicMessageDTO> filter,
+                        PollingSettings pollingSettings) {
     super(
         consumerSupplier,
         consumerPosition,
         messagesPerPage,
+        scanParallelism,
         new MessagesProcessing(
             deserializer,
             filter,
             true,
-            messagesPerPage
+            limit
         ),
         pollingSettings
     );
@@ -1,22 +1,39 @@
 package com.provectus.kafka.ui.emitter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.provectus.kafka.ui.emitter.expression.ExpressionFilter;
 import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
 import com.provectus.kafka.ui.model.TopicMessageDTO;
 import groovy.json.JsonSlurper;
+import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import javax.script.CompiledScript;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
 import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 
 @Slf4j
 public class MessageFilters {
 
+  private static final String LAZY_KEY = "key";
+  private static final String LAZY_VALUE = "value";
+  private static final Set<String> LAZY_VARIABLES =
+      Set.of(LAZY_KEY, LAZY_VALUE, "keyAsText", "valueAsText", "headers", "timestampMs");
+
+  // script compilation is expensive, so compiled scripts are cached (LRU) by script text
+  private static final Cache<String, CompiledScript> COMPILED_SCRIPTS = CacheBuilder.newBuilder()
+      .maximumSize(100)
+      .build();
+
   private static GroovyScriptEngineImpl GROOVY_ENGINE;
 
   private MessageFilters() {
@@ -28,33 +45,56 @@ public class MessageFilters {
         return containsStringFilter(query);
       case GROOVY_SCRIPT:
         return groovyScriptFilter(query);
+      case EXPRESSION:
+        return ExpressionFilter.compile(query);
+      case KEY_EQUALS:
+        throw new ValidationException("Key lookup requires key serialization and can only be used for topic search");
       default:
         throw new IllegalStateException("Unknown query type: " + type);
     }
   }
 
   static Predicate<TopicMessageDTO> containsStringFilter(String string) {
-    return msg -> StringUtils.contains(msg.getKey(), string)
-        || StringUtils.contains(msg.getContent(), string);
+    return new StringContainsFilter(string);
+  }
+
+  // separate type is used to make it possible to apply raw-bytes prefiltering (see RawStringPrefilter)
+  record StringContainsFilter(String string) implements Predicate<TopicMessageDTO> {
+    @Override
+    public boolean test(TopicMessageDTO msg) {
+      return StringUtils.contains(msg.getKey(), string)
+          || StringUtils.contains(msg.getContent(), string);
+    }
+  }
+
+  /**
+   * Matches records which raw key is equal to (already serialized) key. Matching is done on raw records by
+   * {@link MessagesProcessing} before deserialization, so deserialized messages passed to this predicate
+   * have already matched.
+   */
+  public record KeyEqualsFilter(Bytes key) implements Predicate<TopicMessageDTO> {
+
+    public boolean matches(ConsumerRecord<Bytes, Bytes> rec) {
+      return key.equals(rec.key());
+    }
+
+    @Override
+    public boolean test(TopicMessageDTO msg) {
+      return true;
+    }
   }
 
   static Predicate<TopicMessageDTO> groovyScriptFilter(String script) {
     var engine = getGroovyEngine();
-    var compiledScript = compileScript(engine, script);
-    var jsonSlurper = new JsonSlurper();
+    var compiledScript = getCompiledScript(engine, script);
+    // bindings are reused for all messages tested by the filter on the same thread
+    var threadBindings = ThreadLocal.withInitial(MessageBindings::new);
     return new Predicate<TopicMessageDTO>() {
       @SneakyThrows
       @Override
       public boolean test(TopicMessageDTO msg) {
-        var bindings = engine.createBindings();
-        bindings.put("partition", msg.getPartition());
-        bindings.put("offset", msg.getOffset());
-        bindings.put("timestampMs", msg.getTimestamp().toInstant().toEpochMilli());
-        bindings.put("keyAsText", msg.getKey());
-        bindings.put("valueAsText", msg.getContent());
-        bindings.put("headers", msg.getHeaders());
-        bindings.put("key", parseToJsonOrReturnAsIs(jsonSlurper, msg.getKey()));
-        bindings.put("value", parseToJsonOrReturnAsIs(jsonSlurper, msg.getContent()));
+        var bindings = threadBindings.get();
+        bindings.bind(msg);
         var result = compiledScript.eval(bindings);
         if (result instanceof Boolean) {
           return (Boolean) result;
@@ -66,6 +106,48 @@ public class MessageFilters {
     };
   }
 
+  /**
+   * Bindings with lazily-evaluated message variables, so message's key, value, headers and timestamp are
+   * deserialized (and key and value are parsed as json) only if script references them.
+   */
+  private static class MessageBindings extends SimpleBindings {
+
+    private final JsonSlurper jsonSlurper = new JsonSlurper();
+    private TopicMessageDTO msg;
+
+    void bind(TopicMessageDTO msg) {
+      this.msg = msg;
+      clear(); // removing evaluated variables and variables that could be set by script for previous message
+      put("partition", msg.getPartition());
+      put("offset", msg.getOffset());
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+      return LAZY_VARIABLES.contains(name) || super.containsKey(name);
+    }
+
+    @Override
+    public Object get(Object name) {
+      if (LAZY_VARIABLES.contains(name) && !super.containsKey(name)) {
+        put((String) name, evaluate((String) name));
+      }
+      return super.get(name);
+    }
+
+    private Object evaluate(String name) {
+      return switch (name) {
+        case LAZY_KEY -> parseToJsonOrReturnAsIs(jsonSlurper, msg.getKey());
+        case LAZY_VALUE -> parseToJsonOrReturnAsIs(jsonSlurper, msg.getContent());
+        case "keyAsText" -> msg.getKey();
+        case "valueAsText" -> msg.getContent();
+        case "headers" -> msg.getHeaders();
+        case "timestampMs" -> msg.getTimestamp().toInstant().toEpochMilli();
+        default -> throw new IllegalStateException("Unknown lazy variable " + name);
+      };
+    }
+  }
+
   @Nullable
   private static Object parseToJsonOrReturnAsIs(JsonSlurper parser, @Nullable String str) {
     if (str == null) {
@@ -87,6 +169,15 @@ public class MessageFilters {
     return GROOVY_ENGINE;
   }
 
+  private static CompiledScript getCompiledScript(GroovyScriptEngineImpl engine, String script) {
+    CompiledScript compiled = COMPILED_SCRIPTS.getIfPresent(script);
+    if (compiled == null) {
+      compiled = compileScript(engine, script);
+      COMPILED_SCRIPTS.put(script, compiled);
+    }
+    return compiled;
+  }
+
   private static CompiledScript compileScript(GroovyScriptEngineImpl engine, String script) {
     try {
       return engine.compile(script);
@@ -0,0 +1,167 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.provectus.kafka.ui.model.TopicMessageConsumingDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+/**
+ * Encodes messages stream events as length-prefixed binary frames, an alternative to SSE for clients that
+ * request {@link #MEDIA_TYPE}. Message's key and content are written as raw UTF-8 bytes, so (usually json)
+ * content is not escaped again, and non-message events are written as fixed-size binary fields.
+ *
+ * <p>Frame layout (integers are big-endian, {@code -1} stands for null in numeric and length fields):
+ * <pre>
+ * int32 length of the rest of the frame
+ * int8  event type: 1 - PHASE, 2 - MESSAGE, 3 - CONSUMING, 4 - DONE, 5 - EMIT_THROTTLING
+ * PHASE:             utf-8 phase name (till the end of frame)
+ * MESSAGE:           int32 length + json of message fields except key and content,
+ *                    int32 length + utf-8 key, int32 length + utf-8 content
+ * CONSUMING, DONE:   int8 stats presence flag, then (if present) int64 bytesConsumed, int64 elapsedMs,
+ *                    int8 isCancelled, int32 messagesConsumed, int32 filterApplyErrors
+ * EMIT_THROTTLING:   int64 skippedMessages
+ * </pre>
+ */
+public class MessageFramesEncoder implements HttpMessageEncoder<TopicMessageEventDTO> {
+
+  public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.kafka-ui.message-frames");
+
+  private static final int CONSUMING_STATS_BYTES = 1 + 8 + 8 + 1 + 4 + 4;
+
+  @JsonIgnoreProperties({"key", "content"})
+  private interface MessageMetadataMixin {
+  }
+
+  private final ObjectWriter metadataWriter;
+
+  public MessageFramesEncoder(ObjectMapper mapper) {
+    this.metadataWriter = mapper.copy()
+        .addMixIn(TopicMessageDTO.class, MessageMetadataMixin.class)
+        .writer();
+  }
+
+  @Override
+  public List<MimeType> getEncodableMimeTypes() {
+    return List.of(MEDIA_TYPE);
+  }
+
+  @Override
+  public List<MediaType> getStreamingMediaTypes() {
+    return List.of(MEDIA_TYPE);
+  }
+
+  @Override
+  public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+    // never used for requests without explicit frames media type, json stays the default
+    return mimeType != null
+        && MEDIA_TYPE.isCompatibleWith(mimeType)
+        && TopicMessageEventDTO.class.isAssignableFrom(elementType.toClass());
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<? extends TopicMessageEventDTO> inputStream,
+                                 DataBufferFactory bufferFactory,
+                                 ResolvableType elementType,
+                                 @Nullable MimeType mimeType,
+                                 @Nullable Map<String, Object> hints) {
+    return Flux.from(inputStream).map(event -> encodeValue(event, bufferFactory, elementType, mimeType, hints));
+  }
+
+  @Override
+  public DataBuffer encodeValue(TopicMessageEventDTO event,
+                                DataBufferFactory bufferFactory,
+                                ResolvableType valueType,
+                                @Nullable MimeType mimeType,
+                                @Nullable Map<String, Object> hints) {
+    return bufferFactory.wrap(encodeFrame(event));
+  }
+
+  ByteBuffer encodeFrame(TopicMessageEventDTO event) {
+    return switch (event.getType()) {
+      case PHASE -> phaseFrame(event);
+      case MESSAGE -> messageFrame(event.getMessage());
+      case CONSUMING -> consumingFrame((byte) 3, event.getConsuming());
+      case DONE -> consumingFrame((byte) 4, event.getConsuming());
+      case EMIT_THROTTLING -> frame((byte) 5, 8)
+          .putLong(event.getSkippedMessages() == null ? -1 : event.getSkippedMessages())
+          .flip();
+    };
+  }
+
+  private static ByteBuffer phaseFrame(TopicMessageEventDTO event) {
+    byte[] name = utf8(event.getPhase() == null ? null : event.getPhase().getName());
+    return frame((byte) 1, name == null ? 0 : name.length)
+        .put(name == null ? new byte[0] : name)
+        .flip();
+  }
+
+  private ByteBuffer messageFrame(TopicMessageDTO msg) {
+    byte[] metadata;
+    try {
+      metadata = metadataWriter.writeValueAsBytes(msg);
+    } catch (JsonProcessingException e) {
+      throw new EncodingException("Error serializing message metadata", e);
+    }
+    byte[] key = utf8(msg.getKey());
+    byte[] content = utf8(msg.getContent());
+    var buf = frame((byte) 2, 4 + metadata.length + 4 + length(key) + 4 + length(content));
+    putSection(buf, metadata);
+    putSection(buf, key);
+    putSection(buf, content);
+    return buf.flip();
+  }
+
+  private static ByteBuffer consumingFrame(byte type, @Nullable TopicMessageConsumingDTO stats) {
+    if (stats == null) {
+      return frame(type, 1).put((byte) 0).flip();
+    }
+    return frame(type, CONSUMING_STATS_BYTES)
+        .put((byte) 1)
+        .putLong(stats.getBytesConsumed() == null ? -1 : stats.getBytesConsumed())
+        .putLong(stats.getElapsedMs() == null ? -1 : stats.getElapsedMs())
+        .put(stats.getIsCancelled() == null ? -1 : (byte) (stats.getIsCancelled() ? 1 : 0))
+        .putInt(stats.getMessagesConsumed() == null ? -1 : stats.getMessagesConsumed())
+        .putInt(stats.getFilterApplyErrors() == null ? -1 : stats.getFilterApplyErrors())
+        .flip();
+  }
+
+  private static ByteBuffer frame(byte type, int payloadLength) {
+    return ByteBuffer.allocate(4 + 1 + payloadLength)
+        .putInt(1 + payloadLength)
+        .put(type);
+  }
+
+  private static void putSection(ByteBuffer buf, @Nullable byte[] bytes) {
+    if (bytes == null) {
+      buf.putInt(-1);
+    } else {
+      buf.putInt(bytes.length).put(bytes);
+    }
+  }
+
+  @Nullable
+  private static byte[] utf8(@Nullable String str) {
+    return str == null ? null : str.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int length(@Nullable byte[] bytes) {
+    return bytes == null ? 0 : bytes.length;
+  }
+}
@@ -1,66 +1,185 @@
 package com.provectus.kafka.ui.emitter;
 
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
-
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Streams;
 import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import com.provectus.kafka.ui.model.TopicMessagePhaseDTO;
 import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
-import java.util.Comparator;
+import com.provectus.kafka.ui.serdes.LazyTopicMessage;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.utils.Bytes;
 import reactor.core.publisher.FluxSink;
 
 @Slf4j
-@RequiredArgsConstructor
 class MessagesProcessing {
 
+  private static final int MIN_DESERIALIZATION_CHUNK = 16;
+  private static final int MAX_DESERIALIZATION_CHUNK = 256;
+
+  // shared by all emitters, bounded so that deserialization of large pages can't occupy all CPUs
+  private static final ForkJoinPool DESERIALIZATION_POOL = new ForkJoinPool(
+      Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8)),
+      pool -> {
+        var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("kafka-ui-deserializer-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+      },
+      null,
+      false
+  );
+
   private final ConsumingStats consumingStats = new ConsumingStats();
   private long sentMessages = 0;
 
   private final ConsumerRecordDeserializer deserializer;
   private final Predicate<TopicMessageDTO> filter;
+  // cheap check on raw records, that is applied to skip deserialization of records that can't pass filter
+  private final Predicate<ConsumerRecord<Bytes, Bytes>> prefilter;
   private final boolean ascendingSortBeforeSend;
   private final @Nullable Integer limit;
+  private ResultSizeLimiter resultSizeLimiter;
+
+  MessagesProcessing(ConsumerRecordDeserializer deserializer,
+                     Predicate<TopicMessageDTO> filter,
+                     boolean ascendingSortBeforeSend,
+                     @Nullable Integer limit) {
+    this.deserializer = deserializer;
+    this.filter = filter;
+    this.prefilter = filter instanceof MessageFilters.KeyEqualsFilter keyFilter
+        ? keyFilter::matches
+        : RawStringPrefilter.create(filter, deserializer);
+    this.ascendingSortBeforeSend = ascendingSortBeforeSend;
+    this.limit = limit;
+    this.resultSizeLimiter = new ResultSizeLimiter(limit, Long.MAX_VALUE);
+  }
+
+  // should be called before sending started
+  void limitSentBytes(long maxBytes) {
+    this.resultSizeLimiter = new ResultSizeLimiter(limit, maxBytes);
+  }
+
+  long sentMessages() {
+    return sentMessages;
+  }
+
+  long consumedBytes() {
+    return consumingStats.consumedBytes();
+  }
 
   boolean limitReached() {
-    return limit != null && sentMessages >= limit;
+    return resultSizeLimiter.limitReached();
   }
 
   void send(FluxSink<TopicMessageEventDTO> sink, Iterable<ConsumerRecord<Bytes, Bytes>> polled) {
-    sortForSending(polled, ascendingSortBeforeSend)
+    List<ConsumerRecord<Bytes, Bytes>> candidates = sortForSending(polled, ascendingSortBeforeSend).stream()
+        .filter(prefilter)
+        .toList();
+    int from = 0;
+    while (from < candidates.size() && !limitReached() && !sink.isCancelled()) {
+      int to = Math.min(candidates.size(), from + nextChunkSize());
+      deserializeAndSend(sink, candidates.subList(from, to));
+      from = to;
+    }
+  }
+
+  // chunk is sized by number of messages left to send, so not much is deserialized in vain when limit is reached
+  private int nextChunkSize() {
+    long left = limit == null ? MAX_DESERIALIZATION_CHUNK : limit - sentMessages;
+    return (int) Math.max(MIN_DESERIALIZATION_CHUNK, Math.min(left, MAX_DESERIALIZATION_CHUNK));
+  }
+
+  // records are deserialized and filtered in parallel, but sent in the original order
+  private void deserializeAndSend(FluxSink<TopicMessageEventDTO> sink, List<ConsumerRecord<Bytes, Bytes>> chunk) {
+    if (chunk.size() == 1 || DESERIALIZATION_POOL.getParallelism() == 1) {
+      for (ConsumerRecord<Bytes, Bytes> rec : chunk) {
+        if (limitReached() || sink.isCancelled()) {
+          return;
+        }
+        TopicMessageDTO topicMessage = deserializeIfMatches(rec);
+        if (topicMessage != null) {
+          sendMessage(sink, topicMessage);
+        }
+      }
+      return;
+    }
+    List<ForkJoinTask<TopicMessageDTO>> matches = chunk.stream()
+        .map(rec -> DESERIALIZATION_POOL.submit(() -> deserializeIfMatches(rec)))
+        .toList();
+    for (int i = 0; i < matches.size(); i++) {
+      if (limitReached() || sink.isCancelled()) {
+        matches.subList(i, matches.size()).forEach(task -> task.cancel(false));
+        return;
+      }
+      TopicMessageDTO topicMessage = matches.get(i).join();
+      if (topicMessage != null) {
+        sendMessage(sink, topicMessage);
+      }
+    }
+  }
+
+  /**
+   * Deserializes and filters records without sending them. Can be called concurrently (for disjoint
+   * records sets), matches should then be sent with {@link #sendMatches}.
+   */
+  Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> filterMatches(Iterable<ConsumerRecord<Bytes, Bytes>> polled) {
+    Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> matches = new IdentityHashMap<>();
+    for (ConsumerRecord<Bytes, Bytes> rec : polled) {
+      if (prefilter.test(rec)) {
+        TopicMessageDTO topicMessage = deserializeIfMatches(rec);
+        if (topicMessage != null) {
+          matches.put(rec, topicMessage);
+        }
+      }
+    }
+    return matches;
+  }
+
+  // filter is applied to lazily deserialized message, so only parts it uses are deserialized for skipped records
+  @Nullable
+  private TopicMessageDTO deserializeIfMatches(ConsumerRecord<Bytes, Bytes> rec) {
+    LazyTopicMessage lazyMessage = deserializer.deserializeLazily(rec);
+    return applyFilter(lazyMessage) ? lazyMessage.materialize() : null;
+  }
+
+  // sends matches in the same order as send() would send them
+  void sendMatches(FluxSink<TopicMessageEventDTO> sink, Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> matches) {
+    sortForSending(matches.keySet(), ascendingSortBeforeSend)
         .forEach(rec -> {
           if (!limitReached() && !sink.isCancelled()) {
-            TopicMessageDTO topicMessage = deserializer.deserialize(rec);
-            try {
-              if (filter.test(topicMessage)) {
-                sink.next(
-                    new TopicMessageEventDTO()
-                        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
-                        .message(topicMessage)
-                );
-                sentMessages++;
-              }
-            } catch (Exception e) {
-              consumingStats.incFilterApplyError();
-              log.trace("Error applying filter for message {}", topicMessage);
-            }
+            sendMessage(sink, matches.get(rec));
           }
         });
   }
 
+  private boolean applyFilter(TopicMessageDTO topicMessage) {
+    try {
+      return filter.test(topicMessage);
+    } catch (Exception e) {
+      consumingStats.incFilterApplyError();
+      log.trace("Error applying filter for message {}", topicMessage);
+      return false;
+    }
+  }
+
+  private void sendMessage(FluxSink<TopicMessageEventDTO> sink, TopicMessageDTO topicMessage) {
+    var event = new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .message(topicMessage);
+    if (resultSizeLimiter.test(event)) {
+      sink.next(event);
+      sentMessages++;
+    }
+  }
+
   void sentConsumingInfo(FluxSink<TopicMessageEventDTO> sink, PolledRecords polledRecords) {
     if (!sink.isCancelled()) {
       consumingStats.sendConsumingEvt(sink, polledRecords);
@@ -87,26 +206,9 @@ class MessagesProcessing {
    * Sorting by timestamps, BUT requesting that records within same partitions should be ordered by offsets.
    */
   @VisibleForTesting
-  static Iterable<ConsumerRecord<Bytes, Bytes>> sortForSending(Iterable<ConsumerRecord<Bytes, Bytes>> records,
-                                                               boolean asc) {
-    Comparator<ConsumerRecord> offsetComparator = asc
-        ? Comparator.comparingLong(ConsumerRecord::offset)
-        : Comparator.<ConsumerRecord>comparingLong(ConsumerRecord::offset).reversed();
-
-    // partition -> sorted by offsets records
-    Map<Integer, List<ConsumerRecord<Bytes, Bytes>>> perPartition = Streams.stream(records)
-        .collect(
-            groupingBy(
-                ConsumerRecord::partition,
-                TreeMap::new,
-                collectingAndThen(toList(), lst -> lst.stream().sorted(offsetComparator).toList())));
-
-    Comparator<ConsumerRecord> tsComparator = asc
-        ? Comparator.comparing(ConsumerRecord::timestamp)
-        : Comparator.<ConsumerRecord>comparingLong(ConsumerRecord::timestamp).reversed();
-
-    // merge-sorting records from partitions one by one using timestamp comparator
-    return Iterables.mergeSorted(perPartition.values(), tsComparator);
+  static List<ConsumerRecord<Bytes, Bytes>> sortForSending(Iterable<ConsumerRecord<Bytes, Bytes>> records,
+                                                           boolean asc) {
+    return RecordsOrdering.sort(records, asc);
   }
 
 }
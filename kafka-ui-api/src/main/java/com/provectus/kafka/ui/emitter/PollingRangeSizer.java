@@ -0,0 +1,55 @@
+package com.provectus.kafka.ui.emitter;
+
+/**
+ * Calculates how many offsets should be polled per partition in the next polling round. If previous rounds
+ * found less matches than needed (selective filter), range grows geometrically (bounded by expected number
+ * of offsets needed to find remaining messages) to reduce number of seek/poll round trips. When matches are
+ * dense, range shrinks back to minimal size. Range is also bounded by per-round bytes budget, estimated with
+ * average bytes per offset observed in previous round.
+ */
+class PollingRangeSizer {
+
+  static final int MAX_GROWTH_FACTOR = 4;
+
+  private final int messagesToFind;
+  private final long maxRoundBytes;
+  private int lastPerPartition = 0;
+
+  PollingRangeSizer(int messagesToFind, long maxRoundBytes) {
+    this.messagesToFind = messagesToFind;
+    this.maxRoundBytes = maxRoundBytes;
+  }
+
+  /**
+   * Returns number of offsets to poll per partition in the next round.
+   *
+   * @param partitions   number of partitions to be polled in the next round
+   * @param roundOffsets number of offsets polled in previous round (0 for first round)
+   * @param roundMatches number of matched (sent) messages in previous round
+   * @param roundBytes   number of bytes polled in previous round
+   * @param totalMatches number of matched messages in all previous rounds
+   */
+  int nextPerPartition(int partitions, long roundOffsets, long roundMatches, long roundBytes, long totalMatches) {
+    int minPerPartition = (int) Math.ceil((double) messagesToFind / partitions);
+    if (roundOffsets <= 0 || lastPerPartition == 0) {
+      lastPerPartition = minPerPartition;
+      return lastPerPartition;
+    }
+    long maxPerPartition = (long) lastPerPartition * MAX_GROWTH_FACTOR;
+    long perPartition;
+    if (roundMatches == 0) {
+      perPartition = maxPerPartition;
+    } else {
+      double matchRatio = (double) roundMatches / roundOffsets;
+      long remaining = Math.max(1, messagesToFind - totalMatches);
+      perPartition = (long) Math.ceil(remaining / matchRatio / partitions);
+    }
+    perPartition = Math.min(perPartition, maxPerPartition);
+    if (roundBytes > 0) {
+      double bytesPerOffset = (double) roundBytes / roundOffsets;
+      perPartition = Math.min(perPartition, (long) (maxRoundBytes / bytesPerOffset / partitions));
+    }
+    lastPerPartition = (int) Math.min(Integer.MAX_VALUE, Math.max(minPerPartition, perPartition));
+    return lastPerPartition;
+  }
+}
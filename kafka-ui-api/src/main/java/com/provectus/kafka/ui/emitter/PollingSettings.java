@@ -8,9 +8,18 @@ import java.util.function.Supplier;
 public class PollingSettings {
 
   private static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofMillis(1_000);
+  private static final int DEFAULT_CONSUMERS_POOL_SIZE = 10;
+  // should be less than consumer's connections.max.idle.ms (9 min by default) to keep pooled consumers connected
+  private static final Duration DEFAULT_CONSUMERS_POOL_IDLE_TIMEOUT = Duration.ofMinutes(5);
+  // parallel scan is opt-in: every additional scan consumer is borrowed from the cluster's consumers pool,
+  // so this should be kept well below consumersPoolSize when enabled
+  private static final int DEFAULT_MAX_PARALLEL_SCAN_CONSUMERS = 1;
 
   private final Duration pollTimeout;
   private final Supplier<PollingThrottler> throttlerSupplier;
+  private final int consumersPoolSize;
+  private final Duration consumersPoolIdleTimeout;
+  private final int maxParallelScanConsumers;
 
   public static PollingSettings create(ClustersProperties.Cluster cluster,
                                        ClustersProperties clustersProperties) {
@@ -21,23 +30,44 @@ public class PollingSettings {
         ? Duration.ofMillis(pollingProps.getPollTimeoutMs())
         : DEFAULT_POLL_TIMEOUT;
 
+    var poolIdleTimeout = pollingProps.getConsumersPoolIdleTimeoutMs() != null
+        ? Duration.ofMillis(pollingProps.getConsumersPoolIdleTimeoutMs())
+        : DEFAULT_CONSUMERS_POOL_IDLE_TIMEOUT;
+
+    // cluster-level setting overrides global one
+    var maxParallelScanConsumers = Optional.ofNullable(cluster.getMaxParallelScanConsumers())
+        .or(() -> Optional.ofNullable(pollingProps.getMaxParallelScanConsumers()))
+        .orElse(DEFAULT_MAX_PARALLEL_SCAN_CONSUMERS);
+
     return new PollingSettings(
         pollTimeout,
-        PollingThrottler.throttlerSupplier(cluster)
+        PollingThrottler.throttlerSupplier(cluster),
+        Optional.ofNullable(pollingProps.getConsumersPoolSize()).orElse(DEFAULT_CONSUMERS_POOL_SIZE),
+        poolIdleTimeout,
+        Math.max(1, maxParallelScanConsumers)
     );
   }
 
   public static PollingSettings createDefault() {
     return new PollingSettings(
         DEFAULT_POLL_TIMEOUT,
-        PollingThrottler::noop
+        PollingThrottler::noop,
+        DEFAULT_CONSUMERS_POOL_SIZE,
+        DEFAULT_CONSUMERS_POOL_IDLE_TIMEOUT,
+        DEFAULT_MAX_PARALLEL_SCAN_CONSUMERS
     );
   }
 
   private PollingSettings(Duration pollTimeout,
-                          Supplier<PollingThrottler> throttlerSupplier) {
+                          Supplier<PollingThrottler> throttlerSupplier,
+                          int consumersPoolSize,
+                          Duration consumersPoolIdleTimeout,
+                          int maxParallelScanConsumers) {
     this.pollTimeout = pollTimeout;
     this.throttlerSupplier = throttlerSupplier;
+    this.consumersPoolSize = consumersPoolSize;
+    this.consumersPoolIdleTimeout = consumersPoolIdleTimeout;
+    this.maxParallelScanConsumers = maxParallelScanConsumers;
   }
 
   public Duration getPollTimeout() {
@@ -47,4 +77,18 @@ public class PollingSettings {
   public PollingThrottler getPollingThrottler() {
     return throttlerSupplier.get();
   }
+
+  // max number of consumers kept in per-cluster pool, 0 disables pooling
+  public int getConsumersPoolSize() {
+    return consumersPoolSize;
+  }
+
+  public Duration getConsumersPoolIdleTimeout() {
+    return consumersPoolIdleTimeout;
+  }
+
+  // max number of consumers that can be used by single filtered search, 1 disables parallel scan
+  public int getMaxParallelScanConsumers() {
+    return maxParallelScanConsumers;
+  }
 }
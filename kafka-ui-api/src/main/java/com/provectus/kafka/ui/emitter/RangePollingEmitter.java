@@ -1,10 +1,18 @@
 package com.provectus.kafka.ui.emitter;
 
+import com.google.common.base.Throwables;
 import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -12,23 +20,52 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.utils.Bytes;
 import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 abstract class RangePollingEmitter extends AbstractEmitter {
 
+  // shared by all emitters' parallel scans, bounded so that number of polling threads does not depend on
+  // number of concurrent searches (excess tasks are queued)
+  private static final Scheduler PARALLEL_SCAN_SCHEDULER = Schedulers.newBoundedElastic(
+      Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+      Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+      "kafka-ui-parallel-scan",
+      60, //ttl for idle threads (in sec)
+      true //daemon
+  );
+
   private final Supplier<EnhancedConsumer> consumerSupplier;
   protected final ConsumerPosition consumerPosition;
   protected final int messagesPerPage;
+  // max number of consumers polling (and deserializing & filtering) partitions in parallel
+  private final int scanParallelism;
+  // notified on downstream requests and cancellation, used only when polling on downstream demand
+  private final Object demandSignal = new Object();
+  private boolean pollOnDownstreamDemand = false;
 
   protected RangePollingEmitter(Supplier<EnhancedConsumer> consumerSupplier,
                                 ConsumerPosition consumerPosition,
                                 int messagesPerPage,
+                                int scanParallelism,
                                 MessagesProcessing messagesProcessing,
                                 PollingSettings pollingSettings) {
     super(messagesProcessing, pollingSettings);
     this.consumerPosition = consumerPosition;
     this.messagesPerPage = messagesPerPage;
     this.consumerSupplier = consumerSupplier;
+    this.scanParallelism = scanParallelism;
+  }
+
+  /**
+   * Makes emitter poll next range only when previously sent messages were requested by downstream, so the number
+   * of buffered (not yet consumed) messages is bounded by range size, even if client reads slowly (used for exports).
+   * Should be called before emitter is subscribed.
+   */
+  public void pollOnDownstreamDemand() {
+    this.pollOnDownstreamDemand = true;
   }
 
   protected record FromToOffset(/*inclusive*/ long from, /*exclusive*/ long to) {
@@ -43,16 +80,32 @@ abstract class RangePollingEmitter extends AbstractEmitter {
   @Override
   public void accept(FluxSink<TopicMessageEventDTO> sink) {
     log.debug("Starting polling for {}", consumerPosition);
+    if (pollOnDownstreamDemand) {
+      sink.onRequest(n -> signalDemand());
+      sink.onCancel(this::signalDemand);
+    }
     try (EnhancedConsumer consumer = consumerSupplier.get()) {
       sendPhase(sink, "Consumer created");
       var seekOperations = SeekOperations.create(consumer, consumerPosition);
       TreeMap<TopicPartition, FromToOffset> pollRange = nextPollingRange(new TreeMap<>(), seekOperations);
       log.debug("Starting from offsets {}", pollRange);
 
-      while (!sink.isCancelled() && !pollRange.isEmpty() && !sendLimitReached()) {
-        var polled = poll(consumer, sink, pollRange);
-        send(sink, polled);
-        pollRange = nextPollingRange(pollRange, seekOperations);
+      int parallelism = Math.min(scanParallelism, pollRange.size());
+      if (parallelism > 1) {
+        try (var parallelScan = new ParallelScan(consumer, pollRange.keySet(), parallelism)) {
+          while (!sink.isCancelled() && !pollRange.isEmpty() && !sendLimitReached()) {
+            awaitDownstreamDemand(sink);
+            sendMatches(sink, parallelScan.pollAndFilter(sink, pollRange));
+            pollRange = nextPollingRange(pollRange, seekOperations);
+          }
+        }
+      } else {
+        while (!sink.isCancelled() && !pollRange.isEmpty() && !sendLimitReached()) {
+          awaitDownstreamDemand(sink);
+          var polled = poll(consumer, sink, pollRange);
+          send(sink, polled);
+          pollRange = nextPollingRange(pollRange, seekOperations);
+        }
       }
       if (sink.isCancelled()) {
         log.debug("Polling finished due to sink cancellation");
@@ -68,6 +121,27 @@ abstract class RangePollingEmitter extends AbstractEmitter {
     }
   }
 
+  private void awaitDownstreamDemand(FluxSink<TopicMessageEventDTO> sink) {
+    if (!pollOnDownstreamDemand) {
+      return;
+    }
+    synchronized (demandSignal) {
+      while (!sink.isCancelled() && sink.requestedFromDownstream() == 0) {
+        try {
+          demandSignal.wait();
+        } catch (InterruptedException e) {
+          throw new InterruptException(e);
+        }
+      }
+    }
+  }
+
+  private void signalDemand() {
+    synchronized (demandSignal) {
+      demandSignal.notifyAll();
+    }
+  }
+
   private List<ConsumerRecord<Bytes, Bytes>> poll(EnhancedConsumer consumer,
                                                   FluxSink<TopicMessageEventDTO> sink,
                                                   TreeMap<TopicPartition, FromToOffset> range) {
@@ -95,4 +169,130 @@ abstract class RangePollingEmitter extends AbstractEmitter {
     consumer.resume(consumer.paused());
     return result;
   }
+
+  /**
+   * Splits partitions between several consumers (each partition is always polled by the same consumer), that
+   * poll, deserialize and filter their parts of range in parallel. Matches of all parts are then merged and sent
+   * by calling thread in the same order as in sequential mode. First consumer is the emitter's main consumer
+   * and it is used by calling thread, other consumers are borrowed for scan duration and used by workers
+   * running on shared scheduler.
+   */
+  private class ParallelScan implements AutoCloseable {
+
+    private final EnhancedConsumer mainConsumer;
+    private final List<Worker> workers = new ArrayList<>();
+    private final Map<TopicPartition, Integer> partitionToConsumer = new HashMap<>();
+
+    ParallelScan(EnhancedConsumer mainConsumer, Collection<TopicPartition> partitions, int parallelism) {
+      this.mainConsumer = mainConsumer;
+      try {
+        for (int i = 1; i < parallelism; i++) {
+          workers.add(new Worker(consumerSupplier.get()));
+        }
+      } catch (Exception e) {
+        close();
+        throw e;
+      }
+      int idx = 0;
+      for (TopicPartition tp : partitions) {
+        partitionToConsumer.put(tp, idx++ % parallelism);
+      }
+    }
+
+    Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> pollAndFilter(FluxSink<TopicMessageEventDTO> sink,
+                                                                      TreeMap<TopicPartition, FromToOffset> range) {
+      // index 0 - main consumer's range, i - range of (i - 1)th worker
+      List<TreeMap<TopicPartition, FromToOffset>> ranges = new ArrayList<>();
+      for (int i = 0; i <= workers.size(); i++) {
+        ranges.add(new TreeMap<>(range.comparator()));
+      }
+      range.forEach((tp, fromTo) -> ranges.get(partitionToConsumer.getOrDefault(tp, 0)).put(tp, fromTo));
+
+      List<Future<Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO>>> futures = new ArrayList<>();
+      for (int i = 0; i < workers.size(); i++) {
+        var worker = workers.get(i);
+        var workerRange = ranges.get(i + 1);
+        if (!workerRange.isEmpty()) {
+          futures.add(
+              Mono.fromCallable(() -> worker.pollAndFilter(sink, workerRange))
+                  .subscribeOn(PARALLEL_SCAN_SCHEDULER)
+                  .toFuture()
+          );
+        }
+      }
+      Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> matches = new IdentityHashMap<>();
+      if (!ranges.get(0).isEmpty()) {
+        matches.putAll(filterMatches(poll(mainConsumer, sink, ranges.get(0))));
+      }
+      for (var future : futures) {
+        matches.putAll(await(future));
+      }
+      return matches;
+    }
+
+    private static <T> T await(Future<T> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        throw new InterruptException(e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    @Override
+    public void close() {
+      workers.forEach(Worker::close);
+    }
+  }
+
+  /**
+   * Borrowed consumer used by parallel scan's worker. Consumer can only be closed when it is not polled, so if
+   * worker is busy on close, consumer is woken up and closed by the worker itself when it finishes.
+   */
+  private class Worker {
+
+    private final EnhancedConsumer consumer;
+    private boolean busy;
+    private boolean closed;
+
+    Worker(EnhancedConsumer consumer) {
+      this.consumer = consumer;
+    }
+
+    Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> pollAndFilter(FluxSink<TopicMessageEventDTO> sink,
+                                                                      TreeMap<TopicPartition, FromToOffset> range) {
+      synchronized (this) {
+        if (closed) {
+          return Map.of();
+        }
+        busy = true;
+      }
+      try {
+        return filterMatches(poll(consumer, sink, range));
+      } finally {
+        synchronized (this) {
+          busy = false;
+          if (closed) {
+            consumer.close();
+          }
+        }
+      }
+    }
+
+    void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        if (busy) {
+          consumer.wakeup();
+          return;
+        }
+      }
+      consumer.close();
+    }
+  }
 }
@@ -0,0 +1,85 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Prefilter for string-contains filter: searches string's UTF-8 bytes (with Boyer-Moore-Horspool algorithm)
+ * in record's raw key and value, so records that can't contain string are skipped without deserialization.
+ * Applicable only when deserialized key/value is exactly raw bytes decoded as UTF-8, otherwise record is passed
+ * to deserialization as is.
+ */
+class RawStringPrefilter implements Predicate<ConsumerRecord<Bytes, Bytes>> {
+
+  // char that decoder puts instead of malformed UTF-8 sequences
+  private static final char UTF8_REPLACEMENT_CHAR = (char) 0xFFFD;
+
+  private final byte[] pattern;
+  private final int[] shifts = new int[256];
+  private final boolean searchInKey;
+  private final boolean searchInValue;
+
+  static Predicate<ConsumerRecord<Bytes, Bytes>> create(Predicate<TopicMessageDTO> filter,
+                                                        ConsumerRecordDeserializer deserializer) {
+    if (filter instanceof MessageFilters.StringContainsFilter containsFilter
+        && (deserializer.isRawKeyUtf8Text() || deserializer.isRawValueUtf8Text())
+        && isEncodedLosslessly(containsFilter.string())) {
+      return new RawStringPrefilter(
+          containsFilter.string(),
+          deserializer.isRawKeyUtf8Text(),
+          deserializer.isRawValueUtf8Text()
+      );
+    }
+    return rec -> true;
+  }
+
+  // strings with unpaired surrogates or replacement chars can match invalid UTF-8 sequences after decoding
+  private static boolean isEncodedLosslessly(String str) {
+    return str.indexOf(UTF8_REPLACEMENT_CHAR) < 0
+        && new String(str.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8).equals(str);
+  }
+
+  RawStringPrefilter(String string, boolean searchInKey, boolean searchInValue) {
+    this.pattern = string.getBytes(StandardCharsets.UTF_8);
+    this.searchInKey = searchInKey;
+    this.searchInValue = searchInValue;
+    Arrays.fill(shifts, pattern.length);
+    for (int i = 0; i < pattern.length - 1; i++) {
+      shifts[pattern[i] & 0xFF] = pattern.length - 1 - i;
+    }
+  }
+
+  @Override
+  public boolean test(ConsumerRecord<Bytes, Bytes> rec) {
+    return mayContain(rec.key(), searchInKey) || mayContain(rec.value(), searchInValue);
+  }
+
+  private boolean mayContain(@Nullable Bytes data, boolean searchInData) {
+    if (data == null) {
+      return false; // null key/value is deserialized to null, that does not contain any string
+    }
+    return !searchInData || contains(data.get());
+  }
+
+  boolean contains(byte[] text) {
+    int m = pattern.length;
+    int i = 0;
+    while (i <= text.length - m) {
+      int j = m - 1;
+      while (j >= 0 && text[i + j] == pattern[j]) {
+        j--;
+      }
+      if (j < 0) {
+        return true;
+      }
+      i += shifts[text[i + m - 1] & 0xFF];
+    }
+    return false;
+  }
+}
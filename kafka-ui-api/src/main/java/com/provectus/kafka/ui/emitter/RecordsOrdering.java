@@ -0,0 +1,175 @@
+package com.provectus.kafka.ui.emitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Orders records by timestamps, keeping records of the same partition ordered by offsets. Records of each
+ * partition are expected to be (and, as returned by consumer, usually are) ordered by offsets, so they are
+ * k-way merged using heap of partitions' current timestamps. Descending order is produced by iterating
+ * partitions' records from the end, without reversing them.
+ */
+final class RecordsOrdering {
+
+  private static final Comparator<ConsumerRecord<?, ?>> OFFSET_COMPARATOR =
+      Comparator.comparingLong(ConsumerRecord::offset);
+
+  private RecordsOrdering() {
+  }
+
+  static List<ConsumerRecord<Bytes, Bytes>> sort(Iterable<ConsumerRecord<Bytes, Bytes>> records, boolean asc) {
+    List<List<ConsumerRecord<Bytes, Bytes>>> partitions = recordsByPartition(records);
+    int total = 0;
+    for (int i = 0; i < partitions.size(); i++) {
+      var partitionRecords = partitions.get(i);
+      if (!isSortedByOffset(partitionRecords)) {
+        partitionRecords = new ArrayList<>(partitionRecords);
+        partitionRecords.sort(OFFSET_COMPARATOR);
+        partitions.set(i, partitionRecords);
+      }
+      total += partitionRecords.size();
+    }
+    if (partitions.size() == 1) {
+      return asc ? partitions.get(0) : reversed(partitions.get(0));
+    }
+    return new MergeHeap(partitions, asc).merge(total);
+  }
+
+  // consumer's records are already grouped by partition, so their lists are used as is
+  private static List<List<ConsumerRecord<Bytes, Bytes>>> recordsByPartition(
+      Iterable<ConsumerRecord<Bytes, Bytes>> records) {
+    List<List<ConsumerRecord<Bytes, Bytes>>> result = new ArrayList<>();
+    if (records instanceof PolledRecords polled) {
+      for (TopicPartition tp : polled.records().partitions()) {
+        result.add(polled.records(tp));
+      }
+      return result;
+    }
+    Map<Integer, List<ConsumerRecord<Bytes, Bytes>>> byPartition = new HashMap<>();
+    for (ConsumerRecord<Bytes, Bytes> rec : records) {
+      byPartition.computeIfAbsent(rec.partition(), p -> {
+        var lst = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+        result.add(lst);
+        return lst;
+      }).add(rec);
+    }
+    return result;
+  }
+
+  private static boolean isSortedByOffset(List<ConsumerRecord<Bytes, Bytes>> records) {
+    for (int i = 1; i < records.size(); i++) {
+      if (records.get(i - 1).offset() > records.get(i).offset()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<ConsumerRecord<Bytes, Bytes>> reversed(List<ConsumerRecord<Bytes, Bytes>> records) {
+    List<ConsumerRecord<Bytes, Bytes>> result = new ArrayList<>(records.size());
+    for (int i = records.size() - 1; i >= 0; i--) {
+      result.add(records.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Binary min-heap of partitions, keyed by timestamp of partition's next record (negated for descending order).
+   * Ties are resolved by partition number, so the result does not depend on partitions iteration order.
+   */
+  private static final class MergeHeap {
+
+    private final List<List<ConsumerRecord<Bytes, Bytes>>> partitions;
+    private final boolean asc;
+    private final int[] consumed; // number of already merged records, per partition
+    private final int[] heap;     // partitions' indexes
+    private final long[] keys;    // heap entries' keys
+    private final int[] partitionNums;
+    private int size;
+
+    MergeHeap(List<List<ConsumerRecord<Bytes, Bytes>>> partitions, boolean asc) {
+      this.partitions = partitions;
+      this.asc = asc;
+      int k = partitions.size();
+      this.consumed = new int[k];
+      this.heap = new int[k];
+      this.keys = new long[k];
+      this.partitionNums = new int[k];
+      for (int i = 0; i < k; i++) {
+        if (!partitions.get(i).isEmpty()) {
+          partitionNums[i] = partitions.get(i).get(0).partition();
+          heap[size] = i;
+          keys[size] = key(next(i));
+          size++;
+        }
+      }
+      for (int i = size / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+    }
+
+    List<ConsumerRecord<Bytes, Bytes>> merge(int total) {
+      List<ConsumerRecord<Bytes, Bytes>> result = new ArrayList<>(total);
+      while (size > 0) {
+        int top = heap[0];
+        result.add(next(top));
+        consumed[top]++;
+        if (consumed[top] < partitions.get(top).size()) {
+          keys[0] = key(next(top));
+        } else {
+          size--;
+          heap[0] = heap[size];
+          keys[0] = keys[size];
+        }
+        siftDown(0);
+      }
+      return result;
+    }
+
+    private ConsumerRecord<Bytes, Bytes> next(int partitionIdx) {
+      var records = partitions.get(partitionIdx);
+      int idx = asc ? consumed[partitionIdx] : records.size() - 1 - consumed[partitionIdx];
+      return records.get(idx);
+    }
+
+    private long key(ConsumerRecord<Bytes, Bytes> rec) {
+      // timestamps are non-negative (or -1 if not set), so negation can't overflow
+      return asc ? rec.timestamp() : -rec.timestamp();
+    }
+
+    private boolean less(int i, int j) {
+      return keys[i] < keys[j]
+          || (keys[i] == keys[j] && partitionNums[heap[i]] < partitionNums[heap[j]]);
+    }
+
+    private void siftDown(int i) {
+      while (true) {
+        int left = 2 * i + 1;
+        if (left >= size) {
+          return;
+        }
+        int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+        if (!less(smallest, i)) {
+          return;
+        }
+        swap(i, smallest);
+        i = smallest;
+      }
+    }
+
+    private void swap(int i, int j) {
+      int h = heap[i];
+      heap[i] = heap[j];
+      heap[j] = h;
+      long k = keys[i];
+      keys[i] = keys[j];
+      keys[j] = k;
+    }
+  }
+}
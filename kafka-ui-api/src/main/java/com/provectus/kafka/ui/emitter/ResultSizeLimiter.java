@@ -1,23 +1,72 @@
 package com.provectus.kafka.ui.emitter;
 
+import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 
+/**
+ * Limits number of sent messages and their total (estimated) size. Message that does not fit into bytes
+ * budget is not sent (unless it is the first message, so result is never empty because of single huge
+ * message), and limit is considered reached after that.
+ */
 public class ResultSizeLimiter implements Predicate<TopicMessageEventDTO> {
-  private final AtomicInteger processed = new AtomicInteger();
-  private final int limit;
+
+  // rough per-message overhead of serialized message fields (besides key, value and headers)
+  private static final int MESSAGE_OVERHEAD_BYTES = 256;
+
+  private final @Nullable Integer maxMessages;
+  private final long maxBytes;
+
+  private int messages;
+  private long bytes;
+  private boolean bytesBudgetExceeded;
 
   public ResultSizeLimiter(int limit) {
-    this.limit = limit;
+    this(limit, Long.MAX_VALUE);
+  }
+
+  public ResultSizeLimiter(@Nullable Integer maxMessages, long maxBytes) {
+    this.maxMessages = maxMessages;
+    this.maxBytes = maxBytes;
   }
 
   @Override
   public boolean test(TopicMessageEventDTO event) {
-    if (event.getType().equals(TopicMessageEventDTO.TypeEnum.MESSAGE)) {
-      final int i = processed.incrementAndGet();
-      return i <= limit;
+    if (!event.getType().equals(TopicMessageEventDTO.TypeEnum.MESSAGE)) {
+      return true;
+    }
+    if (limitReached()) {
+      return false;
+    }
+    long size = estimateSize(event.getMessage());
+    if (messages > 0 && bytes + size > maxBytes) {
+      bytesBudgetExceeded = true;
+      return false;
     }
+    messages++;
+    bytes += size;
     return true;
   }
+
+  public boolean limitReached() {
+    return (maxMessages != null && messages >= maxMessages) || bytesBudgetExceeded || bytes >= maxBytes;
+  }
+
+  /**
+   * Estimates message size in serialized form by number of chars in its key, value and headers.
+   */
+  public static long estimateSize(TopicMessageDTO msg) {
+    long size = MESSAGE_OVERHEAD_BYTES + length(msg.getKey()) + length(msg.getContent());
+    if (msg.getHeaders() != null) {
+      for (var header : msg.getHeaders().entrySet()) {
+        size += length(header.getKey()) + length(header.getValue());
+      }
+    }
+    return size;
+  }
+
+  private static int length(@Nullable String str) {
+    return str == null ? 0 : str.length();
+  }
 }
@@ -0,0 +1,70 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+
+/**
+ * Limits rate of messages sent to UI without blocking upstream: events are collected in time windows,
+ * and only the latest maxMessagesPerWindow messages of each window are sent. Number of skipped messages
+ * is reported with EMIT_THROTTLING event. For other event types only the latest event of each type is kept.
+ */
+public final class TailingEventsSampler {
+
+  private TailingEventsSampler() {
+  }
+
+  public static Function<Flux<TopicMessageEventDTO>, Flux<TopicMessageEventDTO>> sample(Duration window,
+                                                                                       int maxMessagesPerWindow) {
+    return events -> events
+        .window(window)
+        .concatMap(w -> w
+            .collect(() -> new WindowSample(maxMessagesPerWindow), WindowSample::add)
+            .flatMapIterable(WindowSample::toEvents));
+  }
+
+  private static class WindowSample {
+
+    private final int maxMessages;
+    private final Deque<TopicMessageEventDTO> messages = new ArrayDeque<>();
+    private final Map<TopicMessageEventDTO.TypeEnum, TopicMessageEventDTO> otherEvents = new LinkedHashMap<>();
+    private long skipped = 0;
+
+    WindowSample(int maxMessages) {
+      this.maxMessages = maxMessages;
+    }
+
+    void add(TopicMessageEventDTO evt) {
+      if (evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE) {
+        messages.addLast(evt);
+        if (messages.size() > maxMessages) {
+          messages.removeFirst();
+          skipped++;
+        }
+      } else {
+        otherEvents.remove(evt.getType()); // to keep arrival order
+        otherEvents.put(evt.getType(), evt);
+      }
+    }
+
+    List<TopicMessageEventDTO> toEvents() {
+      List<TopicMessageEventDTO> result = new ArrayList<>(messages);
+      if (skipped > 0) {
+        result.add(
+            new TopicMessageEventDTO()
+                .type(TopicMessageEventDTO.TypeEnum.EMIT_THROTTLING)
+                .skippedMessages(skipped)
+        );
+      }
+      result.addAll(otherEvents.values());
+      return result;
+    }
+  }
+}
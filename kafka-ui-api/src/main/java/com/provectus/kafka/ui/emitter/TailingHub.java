@@ -0,0 +1,148 @@
+package com.provectus.kafka.ui.emitter;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessagePhaseDTO;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Shares single tailing consumer between all subscribers tailing same source (identified by key):
+ * messages are polled and deserialized once and broadcasted to subscribers, each of them applying its own filter.
+ * Slow subscribers do not slow down others - if subscriber's buffer is full, its oldest messages are dropped.
+ * Source's consumer is closed when last subscriber leaves.
+ */
+@Slf4j
+public class TailingHub<K> {
+
+  private static final int SUBSCRIBER_BUFFER_SIZE = 1_000;
+
+  private final Map<K, Source> sources = new ConcurrentHashMap<>();
+
+  /**
+   * Returns tailing events stream for subscriber.
+   *
+   * @param emitterFactory creates emitter that sends all (not filtered and not truncated) messages, used if source
+   *                       is not active
+   * @param preview        applied to messages that passed subscriber's filter (filters are applied to full messages)
+   */
+  public Flux<TopicMessageEventDTO> subscribe(
+      K key,
+      Supplier<? extends Consumer<FluxSink<TopicMessageEventDTO>>> emitterFactory,
+      Predicate<TopicMessageDTO> filter,
+      UnaryOperator<TopicMessageDTO> preview) {
+    return Flux.defer(() -> subscriberEvents(key, acquire(key, emitterFactory), filter, preview))
+        .onBackpressureBuffer(
+            SUBSCRIBER_BUFFER_SIZE,
+            dropped -> log.trace("Slow tailing subscriber, dropping event"),
+            BufferOverflowStrategy.DROP_OLDEST
+        );
+  }
+
+  private Flux<TopicMessageEventDTO> subscriberEvents(K key,
+                                                      Source source,
+                                                      Predicate<TopicMessageDTO> filter,
+                                                      UnaryOperator<TopicMessageDTO> preview) {
+    return Flux.concat(
+            Mono.just(phaseEvent("Tailing")),
+            source.events
+                .filter(evt -> evt.getType() != TopicMessageEventDTO.TypeEnum.MESSAGE
+                    || matches(filter, evt.getMessage()))
+                .map(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE ? preview(evt, preview) : evt)
+        )
+        .doFinally(s -> release(key, source));
+  }
+
+  // subscribers are counted under map's key lock, so source can't be stopped while new subscriber joins it
+  private Source acquire(K key, Supplier<? extends Consumer<FluxSink<TopicMessageEventDTO>>> emitterFactory) {
+    return sources.compute(key, (k, source) -> {
+      if (source == null) {
+        source = new Source(k, emitterFactory);
+      }
+      source.subscribers++;
+      return source;
+    });
+  }
+
+  private void release(K key, Source source) {
+    sources.computeIfPresent(key, (k, current) -> {
+      if (current != source) {
+        return current;
+      }
+      if (--current.subscribers == 0) {
+        current.stop();
+        return null;
+      }
+      return current;
+    });
+  }
+
+  private final class Source {
+
+    private final Flux<TopicMessageEventDTO> events;
+    private final Disposable connection;
+    // guarded by sources map's key lock
+    private int subscribers;
+
+    Source(K key, Supplier<? extends Consumer<FluxSink<TopicMessageEventDTO>>> emitterFactory) {
+      ConnectableFlux<TopicMessageEventDTO> published = Flux.defer(() -> Flux.create(emitterFactory.get()))
+          .subscribeOn(Schedulers.boundedElastic())
+          .doOnSubscribe(s -> log.debug("Starting shared tailing for {}", key))
+          .doFinally(s -> {
+            log.debug("Shared tailing for {} finished ({})", key, s);
+            // emitter finished by itself (error or completion), next subscriber should start new one
+            if (s != SignalType.CANCEL) {
+              sources.remove(key, this);
+            }
+          })
+          .publish();
+      this.events = published;
+      // polling starts with source creation and stops (consumer closed) when last subscriber leaves
+      this.connection = published.connect();
+    }
+
+    void stop() {
+      connection.dispose();
+    }
+  }
+
+  private static boolean matches(Predicate<TopicMessageDTO> filter, TopicMessageDTO msg) {
+    try {
+      return filter.test(msg);
+    } catch (Exception e) {
+      log.trace("Error applying filter for message {}", msg);
+      return false;
+    }
+  }
+
+  // shared events are not modified, since they are sent to other subscribers too
+  private static TopicMessageEventDTO preview(TopicMessageEventDTO evt, UnaryOperator<TopicMessageDTO> preview) {
+    TopicMessageDTO message = preview.apply(evt.getMessage());
+    return message == evt.getMessage()
+        ? evt
+        : new TopicMessageEventDTO().type(TopicMessageEventDTO.TypeEnum.MESSAGE).message(message);
+  }
+
+  private static TopicMessageEventDTO phaseEvent(String name) {
+    return new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.PHASE)
+        .phase(new TopicMessagePhaseDTO().name(name));
+  }
+
+  int activeSources() {
+    return sources.size();
+  }
+}
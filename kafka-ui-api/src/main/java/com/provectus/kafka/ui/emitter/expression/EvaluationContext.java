@@ -0,0 +1,52 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import javax.annotation.Nullable;
+
+/**
+ * Per-message fields accessor. Key and value are parsed only on first access to any of their paths,
+ * so expressions short-circuited on cheap fields (partition, offset, headers) don't pay for json parsing.
+ */
+final class EvaluationContext {
+
+  private final TopicMessageDTO msg;
+  private final JsonPathsExtractor keyExtractor;
+  private final JsonPathsExtractor valueExtractor;
+
+  private Object[] keyValues;
+  private Object[] valueValues;
+
+  EvaluationContext(TopicMessageDTO msg, JsonPathsExtractor keyExtractor, JsonPathsExtractor valueExtractor) {
+    this.msg = msg;
+    this.keyExtractor = keyExtractor;
+    this.valueExtractor = valueExtractor;
+  }
+
+  @Nullable
+  Object get(Expressions.FieldOperand operand) {
+    return switch (operand.field()) {
+      case KEY -> keyValues()[operand.slot()];
+      case VALUE -> valueValues()[operand.slot()];
+      case HEADERS -> msg.getHeaders() == null ? null : msg.getHeaders().get(operand.headerName());
+      case PARTITION -> msg.getPartition() == null ? null : msg.getPartition().longValue();
+      case OFFSET -> msg.getOffset();
+      case TIMESTAMP_MS -> msg.getTimestamp() == null ? null : msg.getTimestamp().toInstant().toEpochMilli();
+      case KEY_AS_TEXT -> msg.getKey();
+      case VALUE_AS_TEXT -> msg.getContent();
+    };
+  }
+
+  private Object[] keyValues() {
+    if (keyValues == null) {
+      keyValues = keyExtractor.extract(msg.getKey());
+    }
+    return keyValues;
+  }
+
+  private Object[] valueValues() {
+    if (valueValues == null) {
+      valueValues = valueExtractor.extract(msg.getContent());
+    }
+    return valueValues;
+  }
+}
@@ -0,0 +1,34 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.util.function.Predicate;
+
+/**
+ * Message filter defined with restricted expression language (see {@link ExpressionParser} for grammar).
+ * Expression is compiled into predicates tree once. Key and value are parsed (with streaming json parser)
+ * only if expression's evaluation reaches their paths, and only referenced paths are extracted.
+ */
+public final class ExpressionFilter implements Predicate<TopicMessageDTO> {
+
+  private final Expressions.BoolExpr expr;
+  private final JsonPathsExtractor keyExtractor;
+  private final JsonPathsExtractor valueExtractor;
+
+  private ExpressionFilter(String expression) {
+    this.keyExtractor = new JsonPathsExtractor();
+    this.valueExtractor = new JsonPathsExtractor();
+    this.expr = ExpressionParser.parse(expression, keyExtractor, valueExtractor);
+  }
+
+  /**
+   * Compiles expression, throws ValidationException if expression is invalid.
+   */
+  public static ExpressionFilter compile(String expression) {
+    return new ExpressionFilter(expression);
+  }
+
+  @Override
+  public boolean test(TopicMessageDTO msg) {
+    return expr.test(new EvaluationContext(msg, keyExtractor, valueExtractor));
+  }
+}
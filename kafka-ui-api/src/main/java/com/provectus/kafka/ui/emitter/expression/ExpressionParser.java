@@ -0,0 +1,341 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import com.provectus.kafka.ui.emitter.expression.Expressions.And;
+import com.provectus.kafka.ui.emitter.expression.Expressions.BoolExpr;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Comparison;
+import com.provectus.kafka.ui.emitter.expression.Expressions.ComparisonOp;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Field;
+import com.provectus.kafka.ui.emitter.expression.Expressions.FieldOperand;
+import com.provectus.kafka.ui.emitter.expression.Expressions.In;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Literal;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Matches;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Not;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Operand;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Or;
+import com.provectus.kafka.ui.emitter.expression.Expressions.Truthy;
+import com.provectus.kafka.ui.exception.ValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Recursive descent parser for filter expressions. Grammar:
+ * <pre>
+ * or         := and (('||' | 'or') and)*
+ * and        := unary (('&amp;&amp;' | 'and') unary)*
+ * unary      := ('!' | 'not') unary | '(' or ')' | comparison
+ * comparison := operand [ ('==' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=') operand
+ *                       | ['not'] 'in' '[' [literal (',' literal)*] ']'
+ *                       | 'matches' string ]
+ * operand    := literal | field ('.' name | '[' (string | integer) ']')*
+ * literal    := string | number | 'true' | 'false' | 'null'
+ * field      := 'key' | 'value' | 'headers' | 'partition' | 'offset' | 'timestampMs' | 'keyAsText' | 'valueAsText'
+ * </pre>
+ */
+final class ExpressionParser {
+
+  private static final Map<String, Field> FIELDS = Map.of(
+      "key", Field.KEY,
+      "value", Field.VALUE,
+      "headers", Field.HEADERS,
+      "partition", Field.PARTITION,
+      "offset", Field.OFFSET,
+      "timestampMs", Field.TIMESTAMP_MS,
+      "keyAsText", Field.KEY_AS_TEXT,
+      "valueAsText", Field.VALUE_AS_TEXT
+  );
+
+  private static final Map<String, ComparisonOp> COMPARISON_OPS = Map.of(
+      "==", ComparisonOp.EQ,
+      "!=", ComparisonOp.NE,
+      "<", ComparisonOp.LT,
+      "<=", ComparisonOp.LE,
+      ">", ComparisonOp.GT,
+      ">=", ComparisonOp.GE
+  );
+
+  private enum TokenType {
+    IDENT, STRING, NUMBER, SYMBOL, EOF
+  }
+
+  private record Token(TokenType type, String text, int position) {
+    boolean is(String symbolOrKeyword) {
+      return (type == TokenType.SYMBOL || type == TokenType.IDENT) && text.equals(symbolOrKeyword);
+    }
+  }
+
+  private final String expression;
+  private final List<Token> tokens;
+  private final JsonPathsExtractor keyExtractor;
+  private final JsonPathsExtractor valueExtractor;
+  private int pos = 0;
+
+  private ExpressionParser(String expression, JsonPathsExtractor keyExtractor, JsonPathsExtractor valueExtractor) {
+    this.expression = expression;
+    this.tokens = tokenize(expression);
+    this.keyExtractor = keyExtractor;
+    this.valueExtractor = valueExtractor;
+  }
+
+  /**
+   * Parses expression and registers all key and value paths it references in extractors.
+   */
+  static BoolExpr parse(String expression, JsonPathsExtractor keyExtractor, JsonPathsExtractor valueExtractor) {
+    var parser = new ExpressionParser(expression, keyExtractor, valueExtractor);
+    BoolExpr result = parser.parseOr();
+    if (parser.peek().type() != TokenType.EOF) {
+      throw parser.error("Unexpected '%s'".formatted(parser.peek().text()));
+    }
+    return result;
+  }
+
+  private BoolExpr parseOr() {
+    List<BoolExpr> exprs = new ArrayList<>();
+    exprs.add(parseAnd());
+    while (peek().is("||") || peek().is("or")) {
+      pos++;
+      exprs.add(parseAnd());
+    }
+    return exprs.size() == 1 ? exprs.get(0) : new Or(exprs);
+  }
+
+  private BoolExpr parseAnd() {
+    List<BoolExpr> exprs = new ArrayList<>();
+    exprs.add(parseUnary());
+    while (peek().is("&&") || peek().is("and")) {
+      pos++;
+      exprs.add(parseUnary());
+    }
+    return exprs.size() == 1 ? exprs.get(0) : new And(exprs);
+  }
+
+  private BoolExpr parseUnary() {
+    if (peek().is("!") || peek().is("not")) {
+      pos++;
+      return new Not(parseUnary());
+    }
+    if (peek().is("(")) {
+      pos++;
+      BoolExpr inner = parseOr();
+      expect(")");
+      return inner;
+    }
+    return parseComparison();
+  }
+
+  private BoolExpr parseComparison() {
+    Operand left = parseOperand();
+    Token next = peek();
+    if (next.type() == TokenType.SYMBOL && COMPARISON_OPS.containsKey(next.text())) {
+      pos++;
+      return new Comparison(left, COMPARISON_OPS.get(next.text()), parseOperand());
+    }
+    if (next.is("in")) {
+      pos++;
+      return new In(left, parseList());
+    }
+    if (next.is("not") && peekAt(1).is("in")) {
+      pos += 2;
+      return new Not(new In(left, parseList()));
+    }
+    if (next.is("matches")) {
+      pos++;
+      Token regex = next();
+      if (regex.type() != TokenType.STRING) {
+        throw error("String regex expected after 'matches'");
+      }
+      try {
+        return new Matches(left, Pattern.compile(regex.text()));
+      } catch (PatternSyntaxException e) {
+        throw error("Invalid regex '%s': %s".formatted(regex.text(), e.getDescription()));
+      }
+    }
+    return new Truthy(left);
+  }
+
+  private List<Object> parseList() {
+    expect("[");
+    List<Object> values = new ArrayList<>();
+    if (!peek().is("]")) {
+      values.add(parseLiteral());
+      while (peek().is(",")) {
+        pos++;
+        values.add(parseLiteral());
+      }
+    }
+    expect("]");
+    return values;
+  }
+
+  private Operand parseOperand() {
+    Token token = peek();
+    if (token.type() == TokenType.IDENT && FIELDS.containsKey(token.text())) {
+      pos++;
+      return parseFieldOperand(FIELDS.get(token.text()));
+    }
+    return new Literal(parseLiteral());
+  }
+
+  private Object parseLiteral() {
+    Token token = next();
+    return switch (token.type()) {
+      case STRING -> token.text();
+      case NUMBER -> parseNumber(token);
+      case IDENT -> switch (token.text()) {
+        case "true" -> Boolean.TRUE;
+        case "false" -> Boolean.FALSE;
+        case "null" -> null;
+        default -> throw error("Unknown field '%s', supported fields: %s".formatted(token.text(), FIELDS.keySet()));
+      };
+      default -> throw error("Value expected, but got '%s'".formatted(token.text()));
+    };
+  }
+
+  private Object parseNumber(Token token) {
+    String text = token.text();
+    try {
+      if (text.contains(".") || text.contains("e") || text.contains("E")) {
+        return Double.parseDouble(text);
+      }
+      try {
+        return Long.parseLong(text);
+      } catch (NumberFormatException tooBig) {
+        return Double.parseDouble(text);
+      }
+    } catch (NumberFormatException e) {
+      throw error("Invalid number '%s'".formatted(text));
+    }
+  }
+
+  private Operand parseFieldOperand(Field field) {
+    List<Object> path = new ArrayList<>();
+    while (peek().is(".") || peek().is("[")) {
+      if (next().is(".")) {
+        Token name = next();
+        if (name.type() != TokenType.IDENT) {
+          throw error("Field name expected after '.'");
+        }
+        path.add(name.text());
+      } else {
+        Token element = next();
+        if (element.type() == TokenType.STRING) {
+          path.add(element.text());
+        } else if (element.type() == TokenType.NUMBER && element.text().matches("\\d+")) {
+          path.add(Integer.parseInt(element.text()));
+        } else {
+          throw error("String or array index expected in []");
+        }
+        expect("]");
+      }
+    }
+    return switch (field) {
+      case KEY -> new FieldOperand(field, null, keyExtractor.register(path));
+      case VALUE -> new FieldOperand(field, null, valueExtractor.register(path));
+      case HEADERS -> {
+        if (path.size() != 1 || !(path.get(0) instanceof String headerName)) {
+          throw error("Header should be referenced by name, like headers.name or headers['name']");
+        }
+        yield new FieldOperand(field, headerName, -1);
+      }
+      default -> {
+        if (!path.isEmpty()) {
+          throw error("Field '%s' has no nested fields".formatted(field));
+        }
+        yield new FieldOperand(field, null, -1);
+      }
+    };
+  }
+
+  private Token peek() {
+    return tokens.get(pos);
+  }
+
+  private Token peekAt(int offset) {
+    return tokens.get(Math.min(pos + offset, tokens.size() - 1));
+  }
+
+  private Token next() {
+    Token token = tokens.get(pos);
+    if (token.type() != TokenType.EOF) {
+      pos++;
+    }
+    return token;
+  }
+
+  private void expect(String symbol) {
+    if (!next().is(symbol)) {
+      throw error("'%s' expected".formatted(symbol));
+    }
+  }
+
+  private ValidationException error(String msg) {
+    int position = tokens.get(Math.max(0, Math.min(pos, tokens.size() - 1))).position();
+    return new ValidationException("Filter expression error at position %d: %s (expression: %s)"
+        .formatted(position, msg, expression));
+  }
+
+  private static List<Token> tokenize(String expr) {
+    List<Token> result = new ArrayList<>();
+    int i = 0;
+    while (i < expr.length()) {
+      char c = expr.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '\'' || c == '"') {
+        StringBuilder sb = new StringBuilder();
+        int start = i++;
+        while (i < expr.length() && expr.charAt(i) != c) {
+          if (expr.charAt(i) == '\\' && i + 1 < expr.length()) {
+            i++;
+          }
+          sb.append(expr.charAt(i++));
+        }
+        if (i >= expr.length()) {
+          throw new ValidationException("Filter expression error at position %d: unterminated string".formatted(start));
+        }
+        i++;
+        result.add(new Token(TokenType.STRING, sb.toString(), start));
+      } else if (Character.isDigit(c) || (c == '-' && i + 1 < expr.length() && Character.isDigit(expr.charAt(i + 1)))) {
+        int start = i++;
+        while (i < expr.length() && isNumberPart(expr, i)) {
+          i++;
+        }
+        result.add(new Token(TokenType.NUMBER, expr.substring(start, i), start));
+      } else if (Character.isJavaIdentifierStart(c)) {
+        int start = i;
+        while (i < expr.length() && Character.isJavaIdentifierPart(expr.charAt(i))) {
+          i++;
+        }
+        result.add(new Token(TokenType.IDENT, expr.substring(start, i), start));
+      } else {
+        String twoChars = i + 1 < expr.length() ? expr.substring(i, i + 2) : "";
+        if (List.of("==", "!=", "<=", ">=", "&&", "||").contains(twoChars)) {
+          result.add(new Token(TokenType.SYMBOL, twoChars, i));
+          i += 2;
+        } else if ("<>!()[],.".indexOf(c) >= 0) {
+          result.add(new Token(TokenType.SYMBOL, String.valueOf(c), i));
+          i++;
+        } else {
+          throw new ValidationException("Filter expression error at position %d: unexpected '%s'".formatted(i, c));
+        }
+      }
+    }
+    result.add(new Token(TokenType.EOF, "<end>", expr.length()));
+    return result;
+  }
+
+  private static boolean isNumberPart(String expr, int i) {
+    char c = expr.charAt(i);
+    if (Character.isDigit(c) || c == 'e' || c == 'E') {
+      return true;
+    }
+    // dot is a part of number only if followed by digit (to not confuse with path separator)
+    if (c == '.') {
+      return i + 1 < expr.length() && Character.isDigit(expr.charAt(i + 1));
+    }
+    // exponent sign
+    return (c == '-' || c == '+') && (expr.charAt(i - 1) == 'e' || expr.charAt(i - 1) == 'E');
+  }
+}
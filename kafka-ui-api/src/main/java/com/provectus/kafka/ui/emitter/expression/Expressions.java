@@ -0,0 +1,158 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Compiled expression tree. Operand values are normalized to String, Long, Double, Boolean, JsonNode (for
+ * objects and arrays) or null (for absent fields), so they can be compared without any type coercion.
+ */
+final class Expressions {
+
+  private Expressions() {
+  }
+
+  interface BoolExpr {
+    boolean test(EvaluationContext ctx);
+  }
+
+  interface Operand {
+    @Nullable
+    Object get(EvaluationContext ctx);
+  }
+
+  enum ComparisonOp {
+    EQ, NE, LT, LE, GT, GE
+  }
+
+  enum Field {
+    KEY, VALUE, HEADERS, PARTITION, OFFSET, TIMESTAMP_MS, KEY_AS_TEXT, VALUE_AS_TEXT
+  }
+
+  record Or(List<BoolExpr> exprs) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      for (BoolExpr expr : exprs) {
+        if (expr.test(ctx)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  record And(List<BoolExpr> exprs) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      for (BoolExpr expr : exprs) {
+        if (!expr.test(ctx)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  record Not(BoolExpr expr) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      return !expr.test(ctx);
+    }
+  }
+
+  record Comparison(Operand left, ComparisonOp op, Operand right) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      Object l = left.get(ctx);
+      Object r = right.get(ctx);
+      return switch (op) {
+        case EQ -> valuesEqual(l, r);
+        case NE -> !valuesEqual(l, r);
+        case LT -> compare(l, r, c -> c < 0);
+        case LE -> compare(l, r, c -> c <= 0);
+        case GT -> compare(l, r, c -> c > 0);
+        case GE -> compare(l, r, c -> c >= 0);
+      };
+    }
+
+    private static boolean compare(@Nullable Object l, @Nullable Object r, IntPredicate check) {
+      Integer cmp = compareValues(l, r);
+      return cmp != null && check.test(cmp);
+    }
+  }
+
+  record In(Operand operand, List<Object> values) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      Object v = operand.get(ctx);
+      for (Object candidate : values) {
+        if (valuesEqual(v, candidate)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  record Matches(Operand operand, Pattern pattern) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      Object v = operand.get(ctx);
+      return v != null
+          && !(v instanceof JsonNode)
+          && pattern.matcher(v.toString()).find();
+    }
+  }
+
+  // operand used as boolean expression (ex. "value.enabled")
+  record Truthy(Operand operand) implements BoolExpr {
+    @Override
+    public boolean test(EvaluationContext ctx) {
+      return Boolean.TRUE.equals(operand.get(ctx));
+    }
+  }
+
+  record Literal(@Nullable Object value) implements Operand {
+    @Override
+    public Object get(EvaluationContext ctx) {
+      return value;
+    }
+  }
+
+  record FieldOperand(Field field, @Nullable String headerName, int slot) implements Operand {
+    @Override
+    public Object get(EvaluationContext ctx) {
+      return ctx.get(this);
+    }
+  }
+
+  static boolean valuesEqual(@Nullable Object l, @Nullable Object r) {
+    if (l == null || r == null) {
+      return l == r;
+    }
+    Integer cmp = compareValues(l, r);
+    return cmp != null ? cmp == 0 : Objects.equals(l, r);
+  }
+
+  @Nullable
+  static Integer compareValues(@Nullable Object l, @Nullable Object r) {
+    if (l instanceof Long ll && r instanceof Long rl) {
+      return Long.compare(ll, rl);
+    }
+    if (l instanceof Number ln && r instanceof Number rn) {
+      return Double.compare(ln.doubleValue(), rn.doubleValue());
+    }
+    if (l instanceof String ls && r instanceof String rs) {
+      return ls.compareTo(rs);
+    }
+    if (l instanceof Boolean lb && r instanceof Boolean rb) {
+      return Boolean.compare(lb, rb);
+    }
+    return null;
+  }
+
+}
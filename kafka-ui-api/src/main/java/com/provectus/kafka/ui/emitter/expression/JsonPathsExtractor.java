@@ -0,0 +1,152 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Extracts values of registered paths from json with single streaming parse: subtrees that do not
+ * contain registered paths are skipped without materialization, and parsing stops as soon as all paths are found.
+ * Path element is either field name (String) or array index (Integer). Empty path is the whole document - if
+ * document is not a valid json, its text is returned for empty path (and nulls for others).
+ */
+final class JsonPathsExtractor {
+
+  private static final JsonMapper MAPPER = new JsonMapper();
+
+  private static final class PathNode {
+    private int slot = -1;
+    private final Map<Object, PathNode> children = new HashMap<>();
+  }
+
+  private final PathNode root = new PathNode();
+  private final List<List<Object>> paths = new ArrayList<>();
+
+  // returns slot of path's value in extraction result
+  int register(List<Object> path) {
+    int existing = paths.indexOf(path);
+    if (existing >= 0) {
+      return existing;
+    }
+    PathNode node = root;
+    for (Object element : path) {
+      node = node.children.computeIfAbsent(element, e -> new PathNode());
+    }
+    node.slot = paths.size();
+    paths.add(List.copyOf(path));
+    return node.slot;
+  }
+
+  Object[] extract(@Nullable String json) {
+    Object[] result = new Object[paths.size()];
+    if (json == null || paths.isEmpty()) {
+      return result;
+    }
+    try (JsonParser parser = MAPPER.createParser(json)) {
+      if (parser.nextToken() != null) {
+        walk(parser, root, result, new int[] {paths.size()});
+      }
+    } catch (IOException e) {
+      // not a json - only the whole document path can be resolved (as text)
+      if (root.slot >= 0) {
+        result[root.slot] = json;
+      }
+    }
+    return result;
+  }
+
+  // returns true if all paths are resolved and parsing should be stopped
+  private boolean walk(JsonParser parser, PathNode node, Object[] result, int[] remaining) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (node.slot >= 0) {
+      if (token.isStructStart()) {
+        JsonNode tree = parser.readValueAsTree();
+        remaining[0] -= resolveFromTree(tree, node, result);
+      } else {
+        result[node.slot] = scalarValue(parser);
+        remaining[0]--;
+      }
+      return remaining[0] == 0;
+    }
+    if (token == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        PathNode child = node.children.get(parser.currentName());
+        parser.nextToken();
+        if (child == null) {
+          parser.skipChildren();
+        } else if (walk(parser, child, result, remaining)) {
+          return true;
+        }
+      }
+    } else if (token == JsonToken.START_ARRAY) {
+      int idx = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        PathNode child = node.children.get(idx++);
+        if (child == null) {
+          parser.skipChildren();
+        } else if (walk(parser, child, result, remaining)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // resolves node's and all descendants' paths from already materialized tree, returns number of resolved slots
+  private static int resolveFromTree(@Nullable JsonNode tree, PathNode node, Object[] result) {
+    int resolved = 0;
+    if (node.slot >= 0) {
+      result[node.slot] = nodeValue(tree);
+      resolved++;
+    }
+    for (var e : node.children.entrySet()) {
+      JsonNode childTree = null;
+      if (tree != null) {
+        childTree = e.getKey() instanceof Integer idx ? tree.get(idx) : tree.get((String) e.getKey());
+      }
+      resolved += resolveFromTree(childTree, e.getValue(), result);
+    }
+    return resolved;
+  }
+
+  @Nullable
+  private static Object scalarValue(JsonParser parser) throws IOException {
+    return switch (parser.currentToken()) {
+      case VALUE_STRING -> parser.getText();
+      case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+          ? (Object) parser.getDoubleValue()
+          : (Object) parser.getLongValue();
+      case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+      case VALUE_TRUE -> Boolean.TRUE;
+      case VALUE_FALSE -> Boolean.FALSE;
+      default -> null;
+    };
+  }
+
+  @Nullable
+  private static Object nodeValue(@Nullable JsonNode node) {
+    if (node == null || node.isNull() || node.isMissingNode()) {
+      return null;
+    }
+    if (node.isTextual()) {
+      return node.textValue();
+    }
+    if (node.isIntegralNumber() && node.canConvertToLong()) {
+      return node.longValue();
+    }
+    if (node.isNumber()) {
+      return node.doubleValue();
+    }
+    if (node.isBoolean()) {
+      return node.booleanValue();
+    }
+    return node;
+  }
+}
@@ -0,0 +1,66 @@
+package com.provectus.kafka.ui.model;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.common.Node;
+
+/**
+ * Immutable interned list of broker ids. Partitions' replica and ISR lists are mostly the same for all
+ * partitions placed on the same brokers, so each distinct list is stored once (while it is referenced).
+ */
+public final class BrokerIds {
+
+  private static final Interner<BrokerIds> INTERNER = Interners.newWeakInterner();
+
+  private final int[] ids;
+
+  private BrokerIds(int[] ids) {
+    this.ids = ids;
+  }
+
+  public static BrokerIds of(int... ids) {
+    return INTERNER.intern(new BrokerIds(ids.clone()));
+  }
+
+  public static BrokerIds of(List<Node> nodes) {
+    int[] ids = new int[nodes.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = nodes.get(i).id();
+    }
+    return INTERNER.intern(new BrokerIds(ids));
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  public int get(int idx) {
+    return ids[idx];
+  }
+
+  public boolean contains(int id) {
+    for (int i : ids) {
+      if (i == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || (o instanceof BrokerIds other && Arrays.equals(ids, other.ids));
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(ids);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(ids);
+  }
+}
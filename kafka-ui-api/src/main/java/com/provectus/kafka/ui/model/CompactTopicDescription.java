@@ -0,0 +1,147 @@
+package com.provectus.kafka.ui.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.acl.AclOperation;
+
+/**
+ * Memory-efficient version of {@link TopicDescription} kept in cached {@link Statistics}. Partitions' leaders
+ * are stored in primitive array and replicas / ISR as interned {@link BrokerIds}, brokers' {@code Node}s are
+ * not referenced (they can be taken from cluster description).
+ */
+public final class CompactTopicDescription {
+
+  public static final int NO_LEADER = -1;
+
+  private final String name;
+  private final boolean internal;
+  private final Uuid topicId;
+  @Nullable
+  private final Set<AclOperation> authorizedOperations;
+  // null if partitions are numbered from 0 without gaps (which is always the case for real topics)
+  @Nullable
+  private final int[] partitionNumbers;
+  private final int[] leaders;
+  private final BrokerIds[] replicas;
+  private final BrokerIds[] isr;
+
+  private CompactTopicDescription(String name,
+                                  boolean internal,
+                                  Uuid topicId,
+                                  @Nullable Set<AclOperation> authorizedOperations,
+                                  @Nullable int[] partitionNumbers,
+                                  int[] leaders,
+                                  BrokerIds[] replicas,
+                                  BrokerIds[] isr) {
+    this.name = name;
+    this.internal = internal;
+    this.topicId = topicId;
+    this.authorizedOperations = authorizedOperations;
+    this.partitionNumbers = partitionNumbers;
+    this.leaders = leaders;
+    this.replicas = replicas;
+    this.isr = isr;
+  }
+
+  public static CompactTopicDescription from(TopicDescription description) {
+    List<TopicPartitionInfo> partitions = new ArrayList<>(description.partitions());
+    partitions.sort(Comparator.comparingInt(TopicPartitionInfo::partition));
+    int count = partitions.size();
+    int[] partitionNumbers = new int[count];
+    int[] leaders = new int[count];
+    BrokerIds[] replicas = new BrokerIds[count];
+    BrokerIds[] isr = new BrokerIds[count];
+    boolean contiguous = true;
+    for (int i = 0; i < count; i++) {
+      TopicPartitionInfo partition = partitions.get(i);
+      partitionNumbers[i] = partition.partition();
+      contiguous &= partition.partition() == i;
+      leaders[i] = partition.leader() == null ? NO_LEADER : partition.leader().id();
+      replicas[i] = BrokerIds.of(partition.replicas());
+      isr[i] = BrokerIds.of(partition.isr());
+    }
+    return new CompactTopicDescription(
+        description.name(),
+        description.isInternal(),
+        description.topicId(),
+        description.authorizedOperations(),
+        contiguous ? null : partitionNumbers,
+        leaders,
+        replicas,
+        isr
+    );
+  }
+
+  /**
+   * Creates description from partitions' data arrays, that should be ordered by partition numbers.
+   */
+  public static CompactTopicDescription of(String name,
+                                           boolean internal,
+                                           Uuid topicId,
+                                           @Nullable Set<AclOperation> authorizedOperations,
+                                           int[] partitionNumbers,
+                                           int[] leaders,
+                                           BrokerIds[] replicas,
+                                           BrokerIds[] isr) {
+    boolean contiguous = true;
+    for (int i = 0; i < partitionNumbers.length; i++) {
+      contiguous &= partitionNumbers[i] == i;
+    }
+    return new CompactTopicDescription(
+        name, internal, topicId, authorizedOperations, contiguous ? null : partitionNumbers, leaders, replicas, isr);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public boolean isInternal() {
+    return internal;
+  }
+
+  public Uuid topicId() {
+    return topicId;
+  }
+
+  @Nullable
+  public Set<AclOperation> authorizedOperations() {
+    return authorizedOperations;
+  }
+
+  public int partitionCount() {
+    return leaders.length;
+  }
+
+  // partitions are ordered by their numbers, all methods below take partition's index in that order
+
+  public int partition(int idx) {
+    return partitionNumbers == null ? idx : partitionNumbers[idx];
+  }
+
+  public boolean hasLeader(int idx) {
+    return leaders[idx] != NO_LEADER;
+  }
+
+  public int leader(int idx) {
+    return leaders[idx];
+  }
+
+  public BrokerIds replicas(int idx) {
+    return replicas[idx];
+  }
+
+  public BrokerIds isr(int idx) {
+    return isr[idx];
+  }
+
+  // replication factor is the same for all partitions, unless reassignment is in progress
+  public int replicationFactor() {
+    return replicas.length == 0 ? 0 : replicas[0].size();
+  }
+}
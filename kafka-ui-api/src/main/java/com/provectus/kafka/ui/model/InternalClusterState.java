@@ -27,6 +27,7 @@ public class InternalClusterState {
   private BigDecimal bytesInPerSec;
   private BigDecimal bytesOutPerSec;
   private Boolean readOnly;
+  private boolean stale;
 
   public InternalClusterState(KafkaCluster cluster, Statistics statistics) {
     name = cluster.getName();
@@ -42,6 +43,7 @@ public class InternalClusterState {
         .map(Node::id)
         .orElse(null);
     version = statistics.getVersion();
+    stale = statistics.isStale();
 
     if (statistics.getLogDirInfo() != null) {
       diskUsage = statistics.getLogDirInfo().getBrokerStats().entrySet().stream()
@@ -27,6 +27,11 @@ public class InternalLogDirStats {
       segmentSize = s.getSum();
       segmentsCount = (int) s.getCount();
     }
+
+    public SegmentStats(long segmentSize, int segmentsCount) {
+      this.segmentSize = segmentSize;
+      this.segmentsCount = segmentsCount;
+    }
   }
 
   Map<TopicPartition, SegmentStats> partitionsStats;
@@ -37,6 +42,14 @@ public class InternalLogDirStats {
     return new InternalLogDirStats(Map.of());
   }
 
+  public InternalLogDirStats(Map<TopicPartition, SegmentStats> partitionsStats,
+                             Map<String, SegmentStats> topicStats,
+                             Map<Integer, SegmentStats> brokerStats) {
+    this.partitionsStats = partitionsStats;
+    this.topicStats = topicStats;
+    this.brokerStats = brokerStats;
+  }
+
   public InternalLogDirStats(Map<Integer, Map<String, DescribeLogDirsResponse.LogDirInfo>> log) {
     final List<Tuple3<Integer, TopicPartition, Long>> topicPartitions =
         log.entrySet().stream().flatMap(b ->
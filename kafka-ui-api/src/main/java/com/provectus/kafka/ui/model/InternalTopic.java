@@ -5,11 +5,11 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import lombok.Builder;
 import lombok.Data;
 import org.apache.kafka.clients.admin.ConfigEntry;
-import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.TopicPartition;
 
 @Data
@@ -40,7 +40,7 @@ public class InternalTopic {
   private final long segmentSize;
   private final long segmentCount;
 
-  public static InternalTopic from(TopicDescription topicDescription,
+  public static InternalTopic from(CompactTopicDescription topicDescription,
                                    List<ConfigEntry> configs,
                                    InternalPartitionsOffsets partitionsOffsets,
                                    Metrics metrics,
@@ -57,25 +57,30 @@ public class InternalTopic {
     );
     topic.name(topicDescription.name());
 
-    List<InternalPartition> partitions = topicDescription.partitions().stream()
-        .map(partition -> {
+    List<InternalPartition> partitions = IntStream.range(0, topicDescription.partitionCount())
+        .mapToObj(idx -> {
           var partitionDto = InternalPartition.builder();
-
-          partitionDto.leader(partition.leader() != null ? partition.leader().id() : null);
-          partitionDto.partition(partition.partition());
-          partitionDto.inSyncReplicasCount(partition.isr().size());
-          partitionDto.replicasCount(partition.replicas().size());
-          List<InternalReplica> replicas = partition.replicas().stream()
-              .map(r ->
+          int partition = topicDescription.partition(idx);
+          BrokerIds replicaIds = topicDescription.replicas(idx);
+          BrokerIds isr = topicDescription.isr(idx);
+          boolean hasLeader = topicDescription.hasLeader(idx);
+
+          partitionDto.leader(hasLeader ? topicDescription.leader(idx) : null);
+          partitionDto.partition(partition);
+          partitionDto.inSyncReplicasCount(isr.size());
+          partitionDto.replicasCount(replicaIds.size());
+          List<InternalReplica> replicas = IntStream.range(0, replicaIds.size())
+              .map(replicaIds::get)
+              .mapToObj(r ->
                   InternalReplica.builder()
-                      .broker(r.id())
-                      .inSync(partition.isr().contains(r))
-                      .leader(partition.leader() != null && partition.leader().id() == r.id())
+                      .broker(r)
+                      .inSync(isr.contains(r))
+                      .leader(hasLeader && topicDescription.leader(idx) == r)
                       .build())
               .collect(Collectors.toList());
           partitionDto.replicas(replicas);
 
-          partitionsOffsets.get(topicDescription.name(), partition.partition())
+          partitionsOffsets.get(topicDescription.name(), partition)
               .ifPresent(offsets -> {
                 partitionDto.offsetMin(offsets.getEarliest());
                 partitionDto.offsetMax(offsets.getLatest());
@@ -83,7 +88,7 @@ public class InternalTopic {
 
           var segmentStats =
               logDirInfo.getPartitionsStats().get(
-                  new TopicPartition(topicDescription.name(), partition.partition()));
+                  new TopicPartition(topicDescription.name(), partition));
           if (segmentStats != null) {
             partitionDto.segmentCount(segmentStats.getSegmentsCount());
             partitionDto.segmentSize(segmentStats.getSegmentSize());
@@ -102,11 +107,7 @@ public class InternalTopic {
     topic.inSyncReplicas(partitionsStats.getInSyncReplicasCount());
     topic.underReplicatedPartitions(partitionsStats.getUnderReplicatedPartitionCount());
 
-    topic.replicationFactor(
-        topicDescription.partitions().isEmpty()
-            ? 0
-            : topicDescription.partitions().get(0).replicas().size()
-    );
+    topic.replicationFactor(topicDescription.replicationFactor());
 
     var segmentStats = logDirInfo.getTopicStats().get(topicDescription.name());
     if (segmentStats != null) {
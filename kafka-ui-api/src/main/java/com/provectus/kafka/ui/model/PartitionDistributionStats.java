@@ -9,9 +9,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.Node;
-import org.apache.kafka.common.TopicPartitionInfo;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
@@ -33,20 +31,26 @@ public class PartitionDistributionStats {
   }
 
   static PartitionDistributionStats create(Statistics stats, int minPartitionsForSkewCalculation) {
-    var partitionLeaders = new HashMap<Node, Integer>();
-    var partitionsReplicated = new HashMap<Node, Integer>();
-    var isr = new HashMap<Node, Integer>();
+    // counting by broker ids, nodes are resolved from cluster description in the end
+    var leadersByBroker = new HashMap<Integer, Integer>();
+    var replicasByBroker = new HashMap<Integer, Integer>();
+    var isrByBroker = new HashMap<Integer, Integer>();
     int partitionsCnt = 0;
-    for (TopicDescription td : stats.getTopicDescriptions().values()) {
-      for (TopicPartitionInfo tp : td.partitions()) {
+    for (CompactTopicDescription td : stats.getTopicDescriptions().values()) {
+      for (int i = 0; i < td.partitionCount(); i++) {
         partitionsCnt++;
-        tp.replicas().forEach(r -> incr(partitionsReplicated, r));
-        tp.isr().forEach(r -> incr(isr, r));
-        if (tp.leader() != null) {
-          incr(partitionLeaders, tp.leader());
+        incr(replicasByBroker, td.replicas(i));
+        incr(isrByBroker, td.isr(i));
+        if (td.hasLeader(i)) {
+          leadersByBroker.merge(td.leader(i), 1, Integer::sum);
         }
       }
     }
+    Map<Integer, Node> nodes = new HashMap<>();
+    stats.getClusterDescription().getNodes().forEach(n -> nodes.put(n.id(), n));
+    var partitionLeaders = byNode(leadersByBroker, nodes);
+    var partitionsReplicated = byNode(replicasByBroker, nodes);
+    var isr = byNode(isrByBroker, nodes);
     int nodesWithPartitions = partitionsReplicated.size();
     int partitionReplications = partitionsReplicated.values().stream().mapToInt(i -> i).sum();
     var avgPartitionsPerBroker = nodesWithPartitions == 0 ? 0 : ((double) partitionReplications) / nodesWithPartitions;
@@ -65,8 +69,17 @@ public class PartitionDistributionStats {
     );
   }
 
-  private static void incr(Map<Node, Integer> map, Node n) {
-    map.compute(n, (k, c) -> c == null ? 1 : ++c);
+  private static void incr(Map<Integer, Integer> map, BrokerIds brokers) {
+    for (int i = 0; i < brokers.size(); i++) {
+      map.merge(brokers.get(i), 1, Integer::sum);
+    }
+  }
+
+  // brokers that are not in cluster description (offline) are represented the same way admin client does it
+  private static Map<Node, Integer> byNode(Map<Integer, Integer> byBrokerId, Map<Integer, Node> nodes) {
+    Map<Node, Integer> result = new HashMap<>();
+    byBrokerId.forEach((id, cnt) -> result.put(nodes.getOrDefault(id, new Node(id, "", -1)), cnt));
+    return result;
   }
 
   @Nullable
@@ -3,7 +3,6 @@ package com.provectus.kafka.ui.model;
 import java.util.Collection;
 import java.util.List;
 import lombok.Data;
-import org.apache.kafka.clients.admin.TopicDescription;
 
 @Data
 public class PartitionsStats {
@@ -16,23 +15,25 @@ public class PartitionsStats {
   private int outOfSyncReplicasCount;
   private int underReplicatedPartitionCount;
 
-  public PartitionsStats(TopicDescription description) {
+  public PartitionsStats(CompactTopicDescription description) {
     this(List.of(description));
   }
 
-  public PartitionsStats(Collection<TopicDescription> topicDescriptions) {
-    topicDescriptions.stream()
-        .flatMap(t -> t.partitions().stream())
-        .forEach(p -> {
-          partitionsCount++;
-          replicasCount += p.replicas().size();
-          onlinePartitionCount += p.leader() != null ? 1 : 0;
-          offlinePartitionCount += p.leader() == null ? 1 : 0;
-          inSyncReplicasCount += p.isr().size();
-          outOfSyncReplicasCount += (p.replicas().size() - p.isr().size());
-          if (p.replicas().size() > p.isr().size()) {
-            underReplicatedPartitionCount++;
-          }
-        });
+  public PartitionsStats(Collection<CompactTopicDescription> topicDescriptions) {
+    for (CompactTopicDescription td : topicDescriptions) {
+      for (int i = 0; i < td.partitionCount(); i++) {
+        partitionsCount++;
+        onlinePartitionCount += td.hasLeader(i) ? 1 : 0;
+        offlinePartitionCount += td.hasLeader(i) ? 0 : 1;
+        int replicas = td.replicas(i).size();
+        int isr = td.isr(i).size();
+        replicasCount += replicas;
+        inSyncReplicasCount += isr;
+        outOfSyncReplicasCount += (replicas - isr);
+        if (replicas > isr) {
+          underReplicatedPartitionCount++;
+        }
+      }
+    }
   }
 }
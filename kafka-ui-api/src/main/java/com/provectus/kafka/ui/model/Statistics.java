@@ -1,13 +1,12 @@
 package com.provectus.kafka.ui.model;
 
 import com.provectus.kafka.ui.service.ReactiveAdminClient;
+import com.provectus.kafka.ui.util.PersistentMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import lombok.Builder;
 import lombok.Value;
-import org.apache.kafka.clients.admin.ConfigEntry;
-import org.apache.kafka.clients.admin.TopicDescription;
 
 @Value
 @Builder(toBuilder = true)
@@ -19,8 +18,10 @@ public class Statistics {
   ReactiveAdminClient.ClusterDescription clusterDescription;
   Metrics metrics;
   InternalLogDirStats logDirInfo;
-  Map<String, TopicDescription> topicDescriptions;
-  Map<String, List<ConfigEntry>> topicConfigs;
+  Map<String, CompactTopicDescription> topicDescriptions;
+  TopicConfigs topicConfigs;
+  // true if statistics were restored from snapshot and were not refreshed yet
+  boolean stale;
 
   public static Statistics empty() {
     return builder()
@@ -31,8 +32,8 @@ public class Statistics {
             new ReactiveAdminClient.ClusterDescription(null, null, List.of(), Set.of()))
         .metrics(Metrics.empty())
         .logDirInfo(InternalLogDirStats.empty())
-        .topicDescriptions(Map.of())
-        .topicConfigs(Map.of())
+        .topicDescriptions(PersistentMap.empty())
+        .topicConfigs(TopicConfigs.empty())
         .build();
   }
 }
@@ -0,0 +1,195 @@
+package com.provectus.kafka.ui.model;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.provectus.kafka.ui.util.PersistentMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.admin.ConfigEntry;
+
+/**
+ * Immutable topics' configs storage for cached {@link Statistics}. Most of topic config entries are the same
+ * for all topics (broker or default values, with the same synonyms), so such entries are stored once in shared
+ * dictionary, and only entries that differ from dictionary's ones (mostly topic-level overrides) are stored per
+ * topic. Entries lists are restored (in the original order) on access.
+ */
+public final class TopicConfigs {
+
+  private static final TopicConfigs EMPTY = new TopicConfigs(List.of(), Map.of(), PersistentMap.empty());
+
+  private static final int[] NO_OVERRIDES = new int[0];
+  private static final ConfigEntry[] NO_OVERRIDE_ENTRIES = new ConfigEntry[0];
+
+  // entries shared by topics, by config name id; null if only topic-specific entries were seen for the name
+  private final List<ConfigEntry> dictionary;
+  private final Map<String, Integer> nameIds;
+  private final PersistentMap<String, TopicEntries> topics;
+
+  /**
+   * Topic's config names (as dictionary ids, usually the same list for all topics), and entries that differ
+   * from dictionary's ones, by their positions in names list.
+   */
+  private record TopicEntries(NameIds names, int[] overridden, ConfigEntry[] overrides) {
+  }
+
+  private static final class NameIds {
+    private static final Interner<NameIds> INTERNER = Interners.newWeakInterner();
+
+    private final int[] ids;
+
+    private NameIds(int[] ids) {
+      this.ids = ids;
+    }
+
+    static NameIds of(int[] ids) {
+      return INTERNER.intern(new NameIds(ids));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || (o instanceof NameIds other && Arrays.equals(ids, other.ids));
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(ids);
+    }
+  }
+
+  private TopicConfigs(List<ConfigEntry> dictionary,
+                       Map<String, Integer> nameIds,
+                       PersistentMap<String, TopicEntries> topics) {
+    this.dictionary = dictionary;
+    this.nameIds = nameIds;
+    this.topics = topics;
+  }
+
+  public static TopicConfigs empty() {
+    return EMPTY;
+  }
+
+  public static TopicConfigs of(Map<String, List<ConfigEntry>> configs) {
+    return EMPTY.withTopics(configs);
+  }
+
+  /**
+   * Returns copy with added (or replaced) topics' configs.
+   */
+  public TopicConfigs withTopics(Map<String, List<ConfigEntry>> configs) {
+    if (configs.isEmpty()) {
+      return this;
+    }
+    // dictionary can only be appended (or its empty slots filled), so entries of existing topics stay valid
+    var dictionaryUpdate = new DictionaryUpdate(dictionary, nameIds);
+    PersistentMap<String, TopicEntries> newTopics = topics;
+    for (Map.Entry<String, List<ConfigEntry>> e : configs.entrySet()) {
+      newTopics = newTopics.plus(e.getKey(), compact(e.getValue(), dictionaryUpdate));
+    }
+    return new TopicConfigs(dictionaryUpdate.dictionary, dictionaryUpdate.nameIds, newTopics);
+  }
+
+  /**
+   * Returns copy without specified topics' configs.
+   */
+  public TopicConfigs withoutTopics(Collection<String> topicsToRemove) {
+    PersistentMap<String, TopicEntries> newTopics = topics.minusAll(topicsToRemove);
+    return newTopics == topics ? this : new TopicConfigs(dictionary, nameIds, newTopics);
+  }
+
+  @Nullable
+  public List<ConfigEntry> get(String topic) {
+    TopicEntries entries = topics.get(topic);
+    if (entries == null) {
+      return null;
+    }
+    int[] names = entries.names().ids;
+    ConfigEntry[] result = new ConfigEntry[names.length];
+    for (int i = 0; i < names.length; i++) {
+      result[i] = dictionary.get(names[i]);
+    }
+    for (int i = 0; i < entries.overridden().length; i++) {
+      result[entries.overridden()[i]] = entries.overrides()[i];
+    }
+    return Collections.unmodifiableList(Arrays.asList(result));
+  }
+
+  public List<ConfigEntry> getOrDefault(String topic, List<ConfigEntry> defaultValue) {
+    List<ConfigEntry> entries = get(topic);
+    return entries == null ? defaultValue : entries;
+  }
+
+  public Set<String> topics() {
+    return topics.keySet();
+  }
+
+  public int size() {
+    return topics.size();
+  }
+
+  private static TopicEntries compact(List<ConfigEntry> entries, DictionaryUpdate dictionaryUpdate) {
+    int[] names = new int[entries.size()];
+    int[] overridden = NO_OVERRIDES;
+    ConfigEntry[] overrides = NO_OVERRIDE_ENTRIES;
+    for (int i = 0; i < names.length; i++) {
+      ConfigEntry entry = entries.get(i);
+      int id = dictionaryUpdate.nameId(entry.name());
+      names[i] = id;
+      ConfigEntry shared = dictionaryUpdate.dictionary.get(id);
+      if (shared == null && entry.source() != ConfigEntry.ConfigSource.DYNAMIC_TOPIC_CONFIG) {
+        dictionaryUpdate.fill(id, entry);
+      } else if (!entry.equals(shared)) {
+        overridden = Arrays.copyOf(overridden, overridden.length + 1);
+        overridden[overridden.length - 1] = i;
+        overrides = Arrays.copyOf(overrides, overrides.length + 1);
+        overrides[overrides.length - 1] = entry;
+      }
+    }
+    return new TopicEntries(NameIds.of(names), overridden, overrides);
+  }
+
+  /**
+   * Copy-on-write dictionary: it is only copied when new config names or shared entries appear, which almost
+   * never happens after initial load.
+   */
+  private static final class DictionaryUpdate {
+    private List<ConfigEntry> dictionary;
+    private Map<String, Integer> nameIds;
+    private boolean copied;
+
+    DictionaryUpdate(List<ConfigEntry> dictionary, Map<String, Integer> nameIds) {
+      this.dictionary = dictionary;
+      this.nameIds = nameIds;
+    }
+
+    int nameId(String name) {
+      Integer id = nameIds.get(name);
+      if (id == null) {
+        copyIfNeeded();
+        id = dictionary.size();
+        nameIds.put(name, id);
+        dictionary.add(null);
+      }
+      return id;
+    }
+
+    void fill(int id, ConfigEntry entry) {
+      copyIfNeeded();
+      dictionary.set(id, entry);
+    }
+
+    private void copyIfNeeded() {
+      if (!copied) {
+        dictionary = new ArrayList<>(dictionary);
+        nameIds = new HashMap<>(nameIds);
+        copied = true;
+      }
+    }
+  }
+}
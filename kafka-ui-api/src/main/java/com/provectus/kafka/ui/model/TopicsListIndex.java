@@ -0,0 +1,195 @@
+package com.provectus.kafka.ui.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable materialized view of topics list, used for topics list pagination. Contains lightweight rows with
+ * values of sortable columns, rows' orders pre-sorted by each of {@link TopicColumnsToSortDTO} columns and
+ * names' trigrams index for search. Page request is an index walk instead of building and sorting all topics.
+ */
+public final class TopicsListIndex {
+
+  private static final int NGRAM_LENGTH = 3;
+
+  public record Row(String name,
+                    boolean internal,
+                    int partitions,
+                    int outOfSyncReplicas,
+                    int replicationFactor,
+                    long segmentSize) {
+  }
+
+  public record Page(List<String> topics, int totalMatched) {
+  }
+
+  private final Row[] rows;
+  // row ids sorted by columns values (and by names for equal values), ascending
+  private final Map<TopicColumnsToSortDTO, int[]> orders = new EnumMap<>(TopicColumnsToSortDTO.class);
+  // case-folded name trigram -> ascending ids of rows containing it
+  private final Map<String, int[]> ngrams;
+
+  private TopicsListIndex(Row[] rows) {
+    this.rows = rows;
+    for (TopicColumnsToSortDTO column : TopicColumnsToSortDTO.values()) {
+      orders.put(column, sortedBy(rows, column));
+    }
+    this.ngrams = buildNgrams(rows);
+  }
+
+  public static TopicsListIndex create(Statistics stats, @Nullable String internalTopicPrefix) {
+    String prefix = internalTopicPrefix == null || internalTopicPrefix.isEmpty() ? "_" : internalTopicPrefix;
+    List<Row> rows = new ArrayList<>(stats.getTopicDescriptions().size());
+    for (CompactTopicDescription td : stats.getTopicDescriptions().values()) {
+      var partitionsStats = new PartitionsStats(td);
+      var segmentStats = stats.getLogDirInfo().getTopicStats().get(td.name());
+      rows.add(
+          new Row(
+              td.name(),
+              td.isInternal() || td.name().startsWith(prefix),
+              partitionsStats.getPartitionsCount(),
+              partitionsStats.getReplicasCount() - partitionsStats.getInSyncReplicasCount(),
+              td.replicationFactor(),
+              segmentStats == null ? 0 : segmentStats.getSegmentSize()
+          )
+      );
+    }
+    return create(rows);
+  }
+
+  public static TopicsListIndex create(Collection<Row> rows) {
+    return new TopicsListIndex(rows.toArray(Row[]::new));
+  }
+
+  public int size() {
+    return rows.length;
+  }
+
+  public boolean contains(String topic) {
+    int[] byName = orders.get(TopicColumnsToSortDTO.NAME);
+    int low = 0;
+    int high = byName.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = rows[byName[mid]].name().compareTo(topic);
+      if (cmp == 0) {
+        return true;
+      } else if (cmp < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Walks rows in requested order, returning names of matched rows within [skip, skip + limit) range and total
+   * number of matched rows. {@code viewable} predicate is only applied to rows that passed other filters.
+   */
+  public Page page(boolean showInternal,
+                   @Nullable String search,
+                   @Nullable TopicColumnsToSortDTO orderBy,
+                   boolean descending,
+                   Predicate<String> viewable,
+                   int skip,
+                   int limit) {
+    BitSet candidates = search == null ? null : searchCandidates(search);
+    int[] order = orders.get(orderBy == null ? TopicColumnsToSortDTO.NAME : orderBy);
+    List<String> topics = new ArrayList<>(Math.min(limit, rows.length));
+    int matched = 0;
+    for (int i = 0; i < order.length; i++) {
+      int rowId = order[descending ? order.length - 1 - i : i];
+      Row row = rows[rowId];
+      if ((row.internal() && !showInternal)
+          || (candidates != null && !candidates.get(rowId))
+          || (search != null && !StringUtils.containsIgnoreCase(row.name(), search))
+          || !viewable.test(row.name())) {
+        continue;
+      }
+      if (matched >= skip && topics.size() < limit) {
+        topics.add(row.name());
+      }
+      matched++;
+    }
+    return new Page(topics, matched);
+  }
+
+  // returns null if search string is too short to use index (all rows are candidates)
+  @Nullable
+  private BitSet searchCandidates(String search) {
+    String folded = fold(search);
+    if (folded.length() < NGRAM_LENGTH) {
+      return null;
+    }
+    BitSet candidates = null;
+    for (int i = 0; i + NGRAM_LENGTH <= folded.length(); i++) {
+      int[] rowIds = ngrams.get(folded.substring(i, i + NGRAM_LENGTH));
+      if (rowIds == null) {
+        return new BitSet();
+      }
+      BitSet containing = new BitSet(rows.length);
+      for (int id : rowIds) {
+        containing.set(id);
+      }
+      if (candidates == null) {
+        candidates = containing;
+      } else {
+        candidates.and(containing);
+      }
+    }
+    return candidates;
+  }
+
+  private static int[] sortedBy(Row[] rows, TopicColumnsToSortDTO column) {
+    Comparator<Row> byName = Comparator.comparing(Row::name);
+    Comparator<Row> comparator = switch (column) {
+      case TOTAL_PARTITIONS -> Comparator.comparingInt(Row::partitions).thenComparing(byName);
+      case OUT_OF_SYNC_REPLICAS -> Comparator.comparingInt(Row::outOfSyncReplicas).thenComparing(byName);
+      case REPLICATION_FACTOR -> Comparator.comparingInt(Row::replicationFactor).thenComparing(byName);
+      case SIZE -> Comparator.comparingLong(Row::segmentSize).thenComparing(byName);
+      default -> byName;
+    };
+    return IntStream.range(0, rows.length)
+        .boxed()
+        .sorted((i1, i2) -> comparator.compare(rows[i1], rows[i2]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private static Map<String, int[]> buildNgrams(Row[] rows) {
+    Map<String, List<Integer>> postings = new HashMap<>();
+    for (int id = 0; id < rows.length; id++) {
+      String folded = fold(rows[id].name());
+      for (int i = 0; i + NGRAM_LENGTH <= folded.length(); i++) {
+        List<Integer> ids = postings.computeIfAbsent(folded.substring(i, i + NGRAM_LENGTH), k -> new ArrayList<>());
+        // same trigram can appear in name more than once
+        if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+          ids.add(id);
+        }
+      }
+    }
+    Map<String, int[]> result = new HashMap<>(postings.size());
+    postings.forEach((ngram, ids) -> result.put(ngram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    return result;
+  }
+
+  // per-char folding, consistent with String.regionMatches(ignoreCase) used by search
+  private static String fold(String str) {
+    char[] chars = str.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+}
@@ -1,20 +1,21 @@
 package com.provectus.kafka.ui.serdes;
 
+import com.google.common.base.Utf8;
 import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageDTO.TimestampTypeEnum;
 import com.provectus.kafka.ui.serde.api.Serde;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.UnaryOperator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
-import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.common.utils.Bytes;
 
@@ -36,25 +37,46 @@ public class ConsumerRecordDeserializer {
 
   private final UnaryOperator<TopicMessageDTO> masker;
 
-  public TopicMessageDTO deserialize(ConsumerRecord<Bytes, Bytes> rec) {
-    var message = new TopicMessageDTO();
-    fillKey(message, rec);
-    fillValue(message, rec);
-    fillHeaders(message, rec);
+  // true if deserialized key (value) is the raw bytes decoded as UTF-8 string without masking,
+  // so searching string in deserialized key (value) is equal to searching its UTF-8 bytes in raw data
+  @Getter
+  private boolean rawKeyUtf8Text = false;
+  @Getter
+  private boolean rawValueUtf8Text = false;
+
+  // values larger than this are not fully deserialized for sending (see fillValuePreview), filters still
+  // get full values
+  private int valuePreviewLimit = Integer.MAX_VALUE;
+
+  public ConsumerRecordDeserializer withRawUtf8Text(boolean key, boolean value) {
+    this.rawKeyUtf8Text = key;
+    this.rawValueUtf8Text = value;
+    return this;
+  }
+
+  public ConsumerRecordDeserializer withValuePreviewLimit(int bytes) {
+    this.valuePreviewLimit = bytes;
+    return this;
+  }
 
-    message.setPartition(rec.partition());
-    message.setOffset(rec.offset());
-    message.setTimestampType(mapToTimestampType(rec.timestampType()));
-    message.setTimestamp(OffsetDateTime.ofInstant(Instant.ofEpochMilli(rec.timestamp()), UTC_ZONE_ID));
+  public TopicMessageDTO deserialize(ConsumerRecord<Bytes, Bytes> rec) {
+    return deserializeLazily(rec).materialize();
+  }
 
-    message.setKeySize(getKeySize(rec));
-    message.setValueSize(getValueSize(rec));
-    message.setHeadersSize(getHeadersSize(rec));
+  /**
+   * Returns message with only record's metadata (partition, offset, key and value sizes) filled eagerly. Key,
+   * value, headers and timestamp are deserialized on first access, so filters that don't use them don't pay
+   * for their deserialization.
+   */
+  public LazyTopicMessage deserializeLazily(ConsumerRecord<Bytes, Bytes> rec) {
+    return new LazyTopicMessage(this, rec);
+  }
 
+  TopicMessageDTO mask(TopicMessageDTO message) {
     return masker.apply(message);
   }
 
-  private static TimestampTypeEnum mapToTimestampType(TimestampType timestampType) {
+  static TimestampTypeEnum mapToTimestampType(TimestampType timestampType) {
     return switch (timestampType) {
       case CREATE_TIME -> TimestampTypeEnum.CREATE_TIME;
       case LOG_APPEND_TIME -> TimestampTypeEnum.LOG_APPEND_TIME;
@@ -62,18 +84,22 @@ public class ConsumerRecordDeserializer {
     };
   }
 
-  private void fillHeaders(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
+  static OffsetDateTime timestamp(ConsumerRecord<Bytes, Bytes> rec) {
+    return OffsetDateTime.ofInstant(Instant.ofEpochMilli(rec.timestamp()), UTC_ZONE_ID);
+  }
+
+  static Map<String, String> headers(ConsumerRecord<Bytes, Bytes> rec) {
     Map<String, String> headers = new HashMap<>();
-    rec.headers().iterator()
-        .forEachRemaining(header ->
-            headers.put(
-                header.key(),
-                header.value() != null ? new String(header.value()) : null
-            ));
-    message.setHeaders(headers);
+    for (Header header : rec.headers()) {
+      headers.put(
+          header.key(),
+          header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null
+      );
+    }
+    return headers;
   }
 
-  private void fillKey(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
+  void fillKey(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
     if (rec.key() == null) {
       return;
     }
@@ -91,7 +117,20 @@ public class ConsumerRecordDeserializer {
     }
   }
 
-  private void fillValue(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
+  boolean isValueTruncatedForPreview(ConsumerRecord<Bytes, Bytes> rec) {
+    return rec.value() != null && rec.value().get().length > valuePreviewLimit;
+  }
+
+  // fills value as it should be sent to client: truncated if it is larger than preview limit
+  void fillValuePreview(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
+    if (isValueTruncatedForPreview(rec)) {
+      fillTruncatedValue(message, rec.value().get());
+    } else {
+      fillValue(message, rec);
+    }
+  }
+
+  void fillValue(TopicMessageDTO message, ConsumerRecord<Bytes, Bytes> rec) {
     if (rec.value() == null) {
       return;
     }
@@ -111,28 +150,60 @@ public class ConsumerRecordDeserializer {
     }
   }
 
-  private static Long getHeadersSize(ConsumerRecord<Bytes, Bytes> consumerRecord) {
-    Headers headers = consumerRecord.headers();
-    if (headers != null) {
-      return Arrays.stream(headers.toArray())
-          .mapToLong(ConsumerRecordDeserializer::headerSize)
-          .sum();
+  /**
+   * Applies value preview limit to already deserialized full message, the same way as {@link LazyTopicMessage}
+   * does on materialization. Used when full messages are shared by several subscribers, that filter them by full
+   * values before sending.
+   */
+  public TopicMessageDTO preview(TopicMessageDTO message) {
+    if (message.getValueSize() == null || message.getValueSize() <= valuePreviewLimit) {
+      return message;
     }
-    return 0L;
+    var preview = new TopicMessageDTO()
+        .partition(message.getPartition())
+        .offset(message.getOffset())
+        .timestamp(message.getTimestamp())
+        .timestampType(message.getTimestampType())
+        .headers(message.getHeaders())
+        .headersSize(message.getHeadersSize())
+        .keySize(message.getKeySize())
+        .valueSize(message.getValueSize())
+        .key(message.getKey())
+        .keySerde(message.getKeySerde())
+        .keyDeserializeProperties(message.getKeyDeserializeProperties());
+    String content = message.getContent();
+    fillTruncatedValue(preview, content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8));
+    return preview;
   }
 
-  private static Long getKeySize(ConsumerRecord<Bytes, Bytes> consumerRecord) {
-    return consumerRecord.key() != null ? (long) consumerRecord.serializedKeySize() : null;
+  // text values are previewed by their prefix, other formats can't be deserialized partially
+  private void fillTruncatedValue(TopicMessageDTO message, byte[] value) {
+    message.setValueTruncated(true);
+    if (rawValueUtf8Text) {
+      int end = Math.min(valuePreviewLimit, value.length);
+      while (end > 0 && end < value.length && (value[end] & 0xC0) == 0x80) { // not cutting multibyte char
+        end--;
+      }
+      message.setContent(new String(value, 0, end, StandardCharsets.UTF_8));
+      message.setValueSerde(valueSerdeName);
+    }
   }
 
-  private static Long getValueSize(ConsumerRecord<Bytes, Bytes> consumerRecord) {
-    return consumerRecord.value() != null ? (long) consumerRecord.serializedValueSize() : null;
+  static long headersSize(ConsumerRecord<Bytes, Bytes> rec) {
+    long size = 0;
+    for (Header header : rec.headers()) {
+      size += header.key() != null ? Utf8.encodedLength(header.key()) : 0;
+      size += header.value() != null ? header.value().length : 0;
+    }
+    return size;
+  }
+
+  static Long keySize(ConsumerRecord<Bytes, Bytes> consumerRecord) {
+    return consumerRecord.key() != null ? (long) consumerRecord.serializedKeySize() : null;
   }
 
-  private static int headerSize(Header header) {
-    int key = header.key() != null ? header.key().getBytes().length : 0;
-    int val = header.value() != null ? header.value().length : 0;
-    return key + val;
+  static Long valueSize(ConsumerRecord<Bytes, Bytes> consumerRecord) {
+    return consumerRecord.value() != null ? (long) consumerRecord.serializedValueSize() : null;
   }
 
 }
@@ -0,0 +1,155 @@
+package com.provectus.kafka.ui.serdes;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+
+/**
+ * Message that deserializes record's key, value, headers and timestamp on first access of corresponding
+ * getters. Key and value are masked separately (masks are defined per target), so accessing one of them does
+ * not trigger deserialization of another. Getters always return full value (so filters are applied to it),
+ * while {@link #materialize()}, that should be used before sending, truncates values larger than
+ * deserializer's preview limit. Not thread-safe.
+ */
+public final class LazyTopicMessage extends TopicMessageDTO {
+
+  private final ConsumerRecordDeserializer deserializer;
+  private final ConsumerRecord<Bytes, Bytes> rec;
+
+  private boolean keyDeserialized;
+  private boolean valueDeserialized;
+  private boolean headersDeserialized;
+  private boolean timestampDeserialized;
+
+  LazyTopicMessage(ConsumerRecordDeserializer deserializer, ConsumerRecord<Bytes, Bytes> rec) {
+    this.deserializer = deserializer;
+    this.rec = rec;
+    setPartition(rec.partition());
+    setOffset(rec.offset());
+    setTimestampType(ConsumerRecordDeserializer.mapToTimestampType(rec.timestampType()));
+    setKeySize(ConsumerRecordDeserializer.keySize(rec));
+    setValueSize(ConsumerRecordDeserializer.valueSize(rec));
+  }
+
+  /**
+   * Returns fully deserialized (and masked) message, that is not bound to the record.
+   */
+  public TopicMessageDTO materialize() {
+    var message = new TopicMessageDTO()
+        .partition(getPartition())
+        .offset(getOffset())
+        .timestamp(getTimestamp())
+        .timestampType(getTimestampType())
+        .headers(getHeaders())
+        .headersSize(getHeadersSize())
+        .keySize(getKeySize())
+        .valueSize(getValueSize());
+    if (!keyDeserialized && !valueDeserialized) {
+      // masker is applied once to the whole message, as it was before lazy deserialization
+      deserializer.fillKey(message, rec);
+      deserializer.fillValuePreview(message, rec);
+      return deserializer.mask(message);
+    }
+    message
+        .key(getKey())
+        .keySerde(getKeySerde())
+        .keyDeserializeProperties(getKeyDeserializeProperties());
+    if (deserializer.isValueTruncatedForPreview(rec)) {
+      deserializer.fillValuePreview(message, rec);
+      return message.content(deserializer.mask(new TopicMessageDTO().content(message.getContent())).getContent());
+    }
+    return message
+        .content(getContent())
+        .valueSerde(getValueSerde())
+        .valueDeserializeProperties(getValueDeserializeProperties());
+  }
+
+  @Override
+  public String getKey() {
+    deserializeKey();
+    return super.getKey();
+  }
+
+  @Override
+  public String getKeySerde() {
+    deserializeKey();
+    return super.getKeySerde();
+  }
+
+  @Override
+  public Map<String, Object> getKeyDeserializeProperties() {
+    deserializeKey();
+    return super.getKeyDeserializeProperties();
+  }
+
+  @Override
+  public String getContent() {
+    deserializeValue();
+    return super.getContent();
+  }
+
+  @Override
+  public String getValueSerde() {
+    deserializeValue();
+    return super.getValueSerde();
+  }
+
+  @Override
+  public Map<String, Object> getValueDeserializeProperties() {
+    deserializeValue();
+    return super.getValueDeserializeProperties();
+  }
+
+  @Override
+  public Boolean getValueTruncated() {
+    deserializeValue();
+    return super.getValueTruncated();
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    deserializeHeaders();
+    return super.getHeaders();
+  }
+
+  @Override
+  public Long getHeadersSize() {
+    deserializeHeaders();
+    return super.getHeadersSize();
+  }
+
+  @Override
+  public OffsetDateTime getTimestamp() {
+    if (!timestampDeserialized) {
+      timestampDeserialized = true;
+      setTimestamp(ConsumerRecordDeserializer.timestamp(rec));
+    }
+    return super.getTimestamp();
+  }
+
+  private void deserializeKey() {
+    if (!keyDeserialized) {
+      keyDeserialized = true;
+      deserializer.fillKey(this, rec);
+      setKey(deserializer.mask(new TopicMessageDTO().key(super.getKey())).getKey());
+    }
+  }
+
+  private void deserializeValue() {
+    if (!valueDeserialized) {
+      valueDeserialized = true;
+      deserializer.fillValue(this, rec);
+      setContent(deserializer.mask(new TopicMessageDTO().content(super.getContent())).getContent());
+    }
+  }
+
+  private void deserializeHeaders() {
+    if (!headersDeserialized) {
+      headersDeserialized = true;
+      setHeaders(ConsumerRecordDeserializer.headers(rec));
+      setHeadersSize(ConsumerRecordDeserializer.headersSize(rec));
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.provectus.kafka.ui.serdes;
 
 import com.provectus.kafka.ui.serde.api.SchemaDescription;
 import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
 import java.io.Closeable;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -50,6 +51,10 @@ public class SerdeInstance implements Closeable {
     }
   }
 
+  public boolean deserializesToUtf8String() {
+    return serde instanceof StringSerde stringSerde && stringSerde.isUtf8();
+  }
+
   public Optional<String> description() {
     try {
       return wrapWithClassloader(serde::getDescription);
@@ -26,6 +26,11 @@ public class StringSerde implements BuiltInSerde {
         .ifPresent(e -> StringSerde.this.encoding = e);
   }
 
+  // deserialized string is raw bytes decoded as UTF-8, so it can be searched in raw bytes
+  public boolean isUtf8() {
+    return StandardCharsets.UTF_8.equals(encoding);
+  }
+
   @Override
   public Optional<String> getDescription() {
     return Optional.empty();
@@ -3,6 +3,7 @@ package com.provectus.kafka.ui.service;
 import com.google.common.collect.Streams;
 import com.google.common.collect.Table;
 import com.provectus.kafka.ui.emitter.EnhancedConsumer;
+import com.provectus.kafka.ui.emitter.EnhancedConsumerPool;
 import com.provectus.kafka.ui.model.ConsumerGroupOrderingDTO;
 import com.provectus.kafka.ui.model.InternalConsumerGroup;
 import com.provectus.kafka.ui.model.InternalTopicConsumerGroup;
@@ -11,6 +12,7 @@ import com.provectus.kafka.ui.model.SortOrderDTO;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
 import com.provectus.kafka.ui.util.ApplicationMetrics;
 import com.provectus.kafka.ui.util.SslPropertiesUtil;
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -18,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,11 +38,14 @@ import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
-public class ConsumerGroupService {
+public class ConsumerGroupService implements Closeable {
 
   private final AdminClientService adminClientService;
   private final AccessControlService accessControlService;
 
+  // cluster name -> pool (shared by all consumer configurations, so pool size is bounded per cluster)
+  private final Map<String, EnhancedConsumerPool> consumerPools = new ConcurrentHashMap<>();
+
   private Mono<List<InternalConsumerGroup>> getConsumerGroups(
       ReactiveAdminClient ac,
       List<ConsumerGroupDescription> descriptions) {
@@ -270,4 +276,29 @@ public class ConsumerGroupService {
     );
   }
 
+  /**
+   * Returns pooled (already connected) consumer. Consumer should be closed after usage, which returns it to pool.
+   */
+  public EnhancedConsumer borrowConsumer(KafkaCluster cluster) {
+    return borrowConsumer(cluster, Map.of());
+  }
+
+  public EnhancedConsumer borrowConsumer(KafkaCluster cluster,
+                                         Map<String, Object> properties) {
+    return consumerPools
+        .computeIfAbsent(
+            cluster.getName(),
+            name -> new EnhancedConsumerPool(
+                props -> createConsumer(cluster, props),
+                cluster.getPollingSettings(),
+                ApplicationMetrics.forCluster(cluster)
+            ))
+        .borrow(properties);
+  }
+
+  @Override
+  public void close() {
+    consumerPools.values().forEach(EnhancedConsumerPool::close);
+  }
+
 }
@@ -88,6 +88,20 @@ public class DeserializationService implements Closeable {
     );
   }
 
+  /**
+   * Serializes key with the given serde (or with suggested one if serde not set), so it can be compared with
+   * records' raw keys.
+   */
+  public byte[] serializeKey(KafkaCluster cluster,
+                             String topic,
+                             @Nullable String keySerdeName,
+                             String key) {
+    var serializer = keySerdeName != null
+        ? getSerializer(cluster, topic, Serde.Target.KEY, keySerdeName)
+        : getSerdesFor(cluster).suggestSerdeForSerialize(topic, Serde.Target.KEY).serializer(topic, Serde.Target.KEY);
+    return serializer.serialize(key);
+  }
+
   public ConsumerRecordDeserializer deserializerFor(KafkaCluster cluster,
                                                     String topic,
                                                     @Nullable String keySerdeName,
@@ -104,6 +118,9 @@ public class DeserializationService implements Closeable {
         fallbackSerde.deserializer(topic, Serde.Target.KEY),
         fallbackSerde.deserializer(topic, Serde.Target.VALUE),
         cluster.getMasking().getMaskerForTopic(topic)
+    ).withRawUtf8Text(
+        keySerde.deserializesToUtf8String() && !cluster.getMasking().hasMasksForTopic(topic, Serde.Target.KEY),
+        valueSerde.deserializesToUtf8String() && !cluster.getMasking().hasMasksForTopic(topic, Serde.Target.VALUE)
     );
   }
 
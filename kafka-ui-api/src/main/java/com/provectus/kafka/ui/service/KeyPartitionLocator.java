@@ -0,0 +1,132 @@
+package com.provectus.kafka.ui.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+
+/**
+ * Finds partition that producers write records with specified key to. Kafka's default (murmur2-based)
+ * partitioning is used, unless custom partitioner class is configured for cluster (keyPartitioner property).
+ * Custom partitioner is called with serialized key only (key object is null), so only partitioners that
+ * use key bytes are supported.
+ */
+@Slf4j
+final class KeyPartitionLocator {
+
+  // configured partitioner per cluster config (weak identity keys - entries are dropped after config reload),
+  // empty if partitioner can't be created
+  private static final Cache<ClustersProperties.Cluster, Optional<Partitioner>> PARTITIONERS = CacheBuilder.newBuilder()
+      .weakKeys()
+      .removalListener(KeyPartitionLocator::closePartitioner)
+      .build();
+
+  private KeyPartitionLocator() {
+  }
+
+  // empty result means that partition can't be determined and all partitions should be scanned
+  static Optional<Integer> partitionForKey(KafkaCluster cluster,
+                                           TopicDescription topic,
+                                           byte[] keyBytes) {
+    int partitions = topic.partitions().size();
+    if (cluster.getOriginalProperties().getKeyPartitioner() == null) {
+      // same as producer's built-in partitioning of keyed records
+      return Optional.of(Utils.toPositive(Utils.murmur2(keyBytes)) % partitions);
+    }
+    return partitioner(cluster).flatMap(partitioner -> {
+      try {
+        int partition = partitioner.partition(topic.name(), null, keyBytes, null, null, metadataSnapshot(topic));
+        return partition >= 0 && partition < partitions ? Optional.of(partition) : Optional.empty();
+      } catch (Exception e) {
+        log.warn("Error calculating key partition, all partitions will be scanned", e);
+        return Optional.empty();
+      }
+    });
+  }
+
+  private static Optional<Partitioner> partitioner(KafkaCluster cluster) {
+    try {
+      return PARTITIONERS.get(cluster.getOriginalProperties(), () -> createPartitioner(cluster));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static Optional<Partitioner> createPartitioner(KafkaCluster cluster) {
+    String partitionerClass = cluster.getOriginalProperties().getKeyPartitioner();
+    try {
+      Partitioner partitioner = Utils.newInstance(partitionerClass, Partitioner.class);
+      Map<String, Object> configs = new HashMap<>();
+      cluster.getProperties().forEach((k, v) -> configs.put((String) k, v));
+      partitioner.configure(configs);
+      return Optional.of(partitioner);
+    } catch (Exception e) {
+      log.warn("Error creating key partitioner {}, all partitions will be scanned for key lookups",
+          partitionerClass, e);
+      return Optional.empty();
+    }
+  }
+
+  private static void closePartitioner(
+      RemovalNotification<ClustersProperties.Cluster, Optional<Partitioner>> notification) {
+    Optional.ofNullable(notification.getValue())
+        .flatMap(p -> p)
+        .ifPresent(partitioner -> {
+          try {
+            partitioner.close();
+          } catch (Exception e) {
+            log.warn("Error closing key partitioner", e);
+          }
+        });
+  }
+
+  // positions only the given partition (empty if position has explicit offsets, but not for this partition)
+  static ConsumerPosition restrictToPartition(ConsumerPosition position, int partition) {
+    var tp = new TopicPartition(position.getTopic(), partition);
+    Map<TopicPartition, Long> seekTo;
+    if (position.getSeekTo() == null) {
+      seekTo = Map.of(tp, 0L); // offset is not used for BEGINNING / LATEST seek types
+    } else if (position.getSeekTo().containsKey(tp)) {
+      seekTo = Map.of(tp, position.getSeekTo().get(tp));
+    } else {
+      seekTo = Map.of();
+    }
+    return new ConsumerPosition(position.getSeekType(), position.getTopic(), seekTo);
+  }
+
+  // partitioners get partitions info from producer's metadata, here it is built from topic description
+  private static Cluster metadataSnapshot(TopicDescription topic) {
+    List<PartitionInfo> partitions = topic.partitions().stream()
+        .map(p -> new PartitionInfo(
+            topic.name(),
+            p.partition(),
+            p.leader(),
+            p.replicas().toArray(Node[]::new),
+            p.isr().toArray(Node[]::new)))
+        .toList();
+    List<Node> nodes = topic.partitions().stream()
+        .flatMap(p -> Stream.concat(Stream.ofNullable(p.leader()), p.replicas().stream()))
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+    return new Cluster(null, nodes, partitions, Set.of(), Set.of());
+  }
+}
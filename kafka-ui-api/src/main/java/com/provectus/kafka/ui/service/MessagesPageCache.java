@@ -0,0 +1,138 @@
+package com.provectus.kafka.ui.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.provectus.kafka.ui.emitter.ResultSizeLimiter;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.util.ApplicationMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.apache.kafka.common.TopicPartition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches events of completed (not cancelled or failed) message pages, so repeated page requests (paging back and
+ * forth, same link opened by several users) are replayed without polling. Cache is bounded by estimated size of
+ * cached messages and entries expire after TTL.
+ * Pages that can change when new records are appended (forward pages that reached partitions' end, backward pages
+ * from the latest offsets) are stored with topic's end offsets and replayed only if end offsets did not change.
+ */
+final class MessagesPageCache {
+
+  // rough size of non-message (phase, consuming stats) events
+  private static final int EVENT_BYTES = 256;
+
+  record PageKey(String cluster,
+                 String topic,
+                 ConsumerPosition position,
+                 SeekDirectionDTO direction,
+                 @Nullable String query,
+                 @Nullable MessageFilterTypeDTO filterType,
+                 @Nullable String keySerde,
+                 @Nullable String valueSerde,
+                 int pageSize) {
+  }
+
+  // endOffsets is null if page does not depend on end offsets
+  private record Page(List<TopicMessageEventDTO> events, @Nullable Map<TopicPartition, Long> endOffsets) {
+  }
+
+  @Nullable
+  private final Cache<PageKey, Page> cache;
+
+  MessagesPageCache(long maxBytes, Duration ttl) {
+    this.cache = maxBytes <= 0 || ttl.isZero()
+        ? null
+        : CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((PageKey k, Page p) -> weight(p))
+            .expireAfterWrite(ttl)
+            .build();
+  }
+
+  /**
+   * Replays cached page, or subscribes to loader and caches its events if it completes.
+   *
+   * @param endOffsets topic's current end offsets, only requested for pages that depend on them
+   */
+  Flux<TopicMessageEventDTO> getOrLoad(KafkaCluster cluster,
+                                       PageKey key,
+                                       Mono<Map<TopicPartition, Long>> endOffsets,
+                                       Supplier<Flux<TopicMessageEventDTO>> loader) {
+    if (cache == null) {
+      return loader.get();
+    }
+    var metrics = ApplicationMetrics.forCluster(cluster);
+    Page cached = cache.getIfPresent(key);
+    if (cached != null && cached.endOffsets() == null) {
+      metrics.meterMessagesPageCacheLookup(true);
+      return Flux.fromIterable(cached.events());
+    }
+    if (cached == null && !mayDependOnEndOffsets(key)) {
+      metrics.meterMessagesPageCacheLookup(false);
+      return loadAndCache(key, loader, null);
+    }
+    // end offsets are requested before loading, so records appended during loading invalidate the page
+    return endOffsets.flatMapMany(currentEnds -> {
+      if (cached != null && cached.endOffsets().equals(currentEnds)) {
+        metrics.meterMessagesPageCacheLookup(true);
+        return Flux.fromIterable(cached.events());
+      }
+      metrics.meterMessagesPageCacheLookup(false);
+      return loadAndCache(key, loader, currentEnds);
+    });
+  }
+
+  private Flux<TopicMessageEventDTO> loadAndCache(PageKey key,
+                                                  Supplier<Flux<TopicMessageEventDTO>> loader,
+                                                  @Nullable Map<TopicPartition, Long> endOffsets) {
+    return Flux.defer(() -> {
+      List<TopicMessageEventDTO> events = new ArrayList<>();
+      return loader.get()
+          .doOnNext(events::add)
+          .doOnComplete(() -> {
+            // interrupted emitters complete without finish event, such pages are not cached
+            if (!events.isEmpty() && events.get(events.size() - 1).getType() == TopicMessageEventDTO.TypeEnum.DONE) {
+              cache.put(key, new Page(List.copyOf(events), dependsOnEndOffsets(key, events) ? endOffsets : null));
+            }
+          });
+    });
+  }
+
+  private static boolean mayDependOnEndOffsets(PageKey key) {
+    return key.direction() == SeekDirectionDTO.FORWARD
+        || (key.position().getSeekType() != SeekTypeDTO.OFFSET
+        && key.position().getSeekType() != SeekTypeDTO.TIMESTAMP);
+  }
+
+  // forward page that has less messages than requested was stopped by partitions' end
+  private static boolean dependsOnEndOffsets(PageKey key, List<TopicMessageEventDTO> events) {
+    if (!mayDependOnEndOffsets(key)) {
+      return false;
+    }
+    if (key.direction() == SeekDirectionDTO.FORWARD) {
+      return events.stream().filter(e -> e.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE).count()
+          < key.pageSize();
+    }
+    return true;
+  }
+
+  private static int weight(Page page) {
+    long bytes = 0;
+    for (TopicMessageEventDTO event : page.events()) {
+      // strings take 2 bytes per char
+      bytes += event.getMessage() != null ? ResultSizeLimiter.estimateSize(event.getMessage()) * 2 : EVENT_BYTES;
+    }
+    return (int) Math.min(bytes, Integer.MAX_VALUE);
+  }
+}
@@ -1,73 +1,140 @@
 package com.provectus.kafka.ui.service;
 
-import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.base.Stopwatch;
 import com.provectus.kafka.ui.config.ClustersProperties;
 import com.provectus.kafka.ui.emitter.BackwardEmitter;
+import com.provectus.kafka.ui.emitter.EnhancedConsumer;
+import com.provectus.kafka.ui.emitter.FilterMatchSampler;
 import com.provectus.kafka.ui.emitter.ForwardEmitter;
 import com.provectus.kafka.ui.emitter.MessageFilters;
 import com.provectus.kafka.ui.emitter.TailingEmitter;
+import com.provectus.kafka.ui.emitter.TailingEventsSampler;
+import com.provectus.kafka.ui.emitter.TailingHub;
+import com.provectus.kafka.ui.exception.NotFoundException;
 import com.provectus.kafka.ui.exception.TopicNotFoundException;
 import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
+import com.provectus.kafka.ui.model.ProduceCompressionTypeDTO;
 import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
 import com.provectus.kafka.ui.model.SmartFilterTestExecutionDTO;
 import com.provectus.kafka.ui.model.SmartFilterTestExecutionResultDTO;
 import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessageProduceErrorDTO;
+import com.provectus.kafka.ui.model.TopicMessagesBulkProduceResultDTO;
+import com.provectus.kafka.ui.model.TopicMessagesMatchEstimateDTO;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
 import com.provectus.kafka.ui.serdes.ProducerRecordCreator;
+import com.provectus.kafka.ui.service.export.MessagesExportWriter;
+import com.provectus.kafka.ui.service.keyindex.KeyIndexService;
 import com.provectus.kafka.ui.util.SslPropertiesUtil;
+import java.io.Closeable;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.utils.Bytes;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 @Service
 @Slf4j
-public class MessagesService {
+public class MessagesService implements Closeable {
 
   private static final int DEFAULT_MAX_PAGE_SIZE = 500;
   private static final int DEFAULT_PAGE_SIZE = 100;
-  // limiting UI messages rate to 20/sec in tailing mode
-  private static final int TAILING_UI_MESSAGE_THROTTLE_RATE = 20;
+  private static final long DEFAULT_PAGE_CACHE_MAX_BYTES = 32 * 1024 * 1024;
+  private static final long DEFAULT_PAGE_CACHE_TTL_MS = 30_000;
+  private static final int DEFAULT_MAX_MESSAGE_PREVIEW_BYTES = 128 * 1024;
+  private static final long DEFAULT_MAX_PAGE_BYTES = 8 * 1024 * 1024;
+  // limiting UI messages rate to 20/sec in tailing mode (2 latest messages per 100ms window)
+  private static final Duration TAILING_UI_WINDOW = Duration.ofMillis(100);
+  private static final int TAILING_UI_MESSAGES_PER_WINDOW = 2;
+
+  // match estimation is expected to take seconds, not to be a (slow) full scan
+  private static final int DEFAULT_ESTIMATE_SAMPLE_SIZE = 1_000;
+  private static final int MAX_ESTIMATE_SAMPLE_SIZE = 10_000;
+  private static final long ESTIMATE_MAX_BYTES = 16 * 1024 * 1024;
+  private static final Duration ESTIMATE_TIMEOUT = Duration.ofSeconds(10);
+  // max time spent polling for a single record at given offset (by-key lookup and single message view)
+  private static final Duration POLL_RECORD_TIMEOUT = Duration.ofSeconds(10);
+
+  private static final int DEFAULT_BULK_IN_FLIGHT = 256;
+  private static final int MAX_BULK_IN_FLIGHT = 10_000;
+  private static final int MAX_REPORTED_BULK_ERRORS = 100;
+  // bulk sending does not wait for acks one-by-one, so it is worth to give producer time to fill batches
+  private static final Map<String, Object> BULK_PRODUCER_PROPERTIES = Map.of(
+      ProducerConfig.LINGER_MS_CONFIG, 20,
+      ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024
+  );
 
   private final AdminClientService adminClientService;
   private final DeserializationService deserializationService;
   private final ConsumerGroupService consumerGroupService;
+  private final KeyIndexService keyIndexService;
   private final int maxPageSize;
   private final int defaultPageSize;
+  private final int maxMessagePreviewBytes;
+  private final long maxPageBytes;
+  private final MessagesPageCache pageCache;
+
+  // long-living producers shared by all message sending requests (producer is thread-safe)
+  private final Map<ProducerKey, KafkaProducer<byte[], byte[]>> producers = new ConcurrentHashMap<>();
+
+  // live-mode (tailing from latest offsets) viewers of same topic share single consumer
+  private final TailingHub<TailingKey> tailingHub = new TailingHub<>();
+
+  private record ProducerKey(String clusterName, Map<String, Object> properties) {
+  }
+
+  private record TailingKey(String clusterName, String topic, @Nullable String keySerde, @Nullable String valueSerde) {
+  }
 
   public MessagesService(AdminClientService adminClientService,
                          DeserializationService deserializationService,
                          ConsumerGroupService consumerGroupService,
+                         KeyIndexService keyIndexService,
                          ClustersProperties properties) {
     this.adminClientService = adminClientService;
     this.deserializationService = deserializationService;
     this.consumerGroupService = consumerGroupService;
+    this.keyIndexService = keyIndexService;
 
     var pollingProps = Optional.ofNullable(properties.getPolling())
         .orElseGet(ClustersProperties.PollingProperties::new);
@@ -75,6 +142,14 @@ public class MessagesService {
         .orElse(DEFAULT_MAX_PAGE_SIZE);
     this.defaultPageSize = Optional.ofNullable(pollingProps.getDefaultPageSize())
         .orElse(DEFAULT_PAGE_SIZE);
+    this.maxMessagePreviewBytes = Optional.ofNullable(pollingProps.getMaxMessagePreviewBytes())
+        .orElse(DEFAULT_MAX_MESSAGE_PREVIEW_BYTES);
+    this.maxPageBytes = Optional.ofNullable(pollingProps.getMaxPageBytes())
+        .orElse(DEFAULT_MAX_PAGE_BYTES);
+    this.pageCache = new MessagesPageCache(
+        Optional.ofNullable(pollingProps.getPageCacheMaxBytes()).orElse(DEFAULT_PAGE_CACHE_MAX_BYTES),
+        Duration.ofMillis(Optional.ofNullable(pollingProps.getPageCacheTtlMs()).orElse(DEFAULT_PAGE_CACHE_TTL_MS))
+    );
   }
 
   private Mono<TopicDescription> withExistingTopic(KafkaCluster cluster, String topicName) {
@@ -88,7 +163,7 @@ public class MessagesService {
     try {
       predicate = MessageFilters.createMsgFilter(
           execData.getFilterCode(),
-          MessageFilterTypeDTO.GROOVY_SCRIPT
+          Optional.ofNullable(execData.getFilterQueryType()).orElse(MessageFilterTypeDTO.GROOVY_SCRIPT)
       );
     } catch (Exception e) {
       log.info("Smart filter '{}' compilation error", execData.getFilterCode(), e);
@@ -151,8 +226,7 @@ public class MessagesService {
   private Mono<RecordMetadata> sendMessageImpl(KafkaCluster cluster,
                                                TopicDescription topicDescription,
                                                CreateTopicMessageDTO msg) {
-    if (msg.getPartition() != null
-        && msg.getPartition() > topicDescription.partitions().size() - 1) {
+    if (!isPartitionValid(topicDescription, msg)) {
       return Mono.error(new ValidationException("Invalid partition"));
     }
     ProducerRecordCreator producerRecordCreator =
@@ -163,28 +237,136 @@ public class MessagesService {
             msg.getValueSerde().get()
         );
 
-    try (KafkaProducer<byte[], byte[]> producer = createProducer(cluster, Map.of())) {
-      ProducerRecord<byte[], byte[]> producerRecord = producerRecordCreator.create(
-          topicDescription.name(),
-          msg.getPartition(),
-          msg.getKey().orElse(null),
-          msg.getContent().orElse(null),
-          msg.getHeaders()
+    try {
+      return send(
+          getProducer(cluster, Map.of()),
+          createRecord(topicDescription, producerRecordCreator, msg)
       );
-      CompletableFuture<RecordMetadata> cf = new CompletableFuture<>();
-      producer.send(producerRecord, (metadata, exception) -> {
-        if (exception != null) {
-          cf.completeExceptionally(exception);
-        } else {
-          cf.complete(metadata);
-        }
-      });
-      return Mono.fromFuture(cf);
     } catch (Throwable e) {
       return Mono.error(e);
     }
   }
 
+  public Mono<TopicMessagesBulkProduceResultDTO> sendMessages(KafkaCluster cluster,
+                                                              String topic,
+                                                              Flux<CreateTopicMessageDTO> messages,
+                                                              @Nullable Integer maxInFlight,
+                                                              @Nullable ProduceCompressionTypeDTO compression) {
+    int concurrency = Optional.ofNullable(maxInFlight)
+        .filter(m -> m > 0)
+        .map(m -> Math.min(m, MAX_BULK_IN_FLIGHT))
+        .orElse(DEFAULT_BULK_IN_FLIGHT);
+    return withExistingTopic(cluster, topic)
+        .flatMap(desc -> {
+          var producer = getProducer(cluster, bulkProducerProperties(compression));
+          // record creators are cached per serdes pair, accessed sequentially from flatMap
+          Map<List<String>, ProducerRecordCreator> recordCreators = new HashMap<>();
+          return messages
+              .index()
+              .publishOn(Schedulers.boundedElastic())
+              .flatMap(
+                  indexed -> Mono.defer(() -> sendBulkMessage(cluster, desc, producer, recordCreators, indexed.getT2()))
+                      .map(metadata -> ProduceOutcome.sent(indexed.getT1()))
+                      .onErrorResume(th -> Mono.just(ProduceOutcome.failed(indexed.getT1(), th))),
+                  concurrency
+              )
+              .reduceWith(
+                  () -> new TopicMessagesBulkProduceResultDTO().total(0L).sent(0L).failed(0L).errors(new ArrayList<>()),
+                  MessagesService::addProduceOutcome
+              );
+        });
+  }
+
+  private Mono<RecordMetadata> sendBulkMessage(KafkaCluster cluster,
+                                               TopicDescription topicDescription,
+                                               KafkaProducer<byte[], byte[]> producer,
+                                               Map<List<String>, ProducerRecordCreator> recordCreators,
+                                               CreateTopicMessageDTO msg) {
+    if (!isPartitionValid(topicDescription, msg)) {
+      return Mono.error(new ValidationException("Invalid partition"));
+    }
+    var keySerde = msg.getKeySerde().orElse(null);
+    var valueSerde = msg.getValueSerde().orElse(null);
+    if (keySerde == null || valueSerde == null) {
+      return Mono.error(new ValidationException("keySerde and valueSerde should be set"));
+    }
+    var recordCreator = recordCreators.computeIfAbsent(
+        List.of(keySerde, valueSerde),
+        k -> deserializationService.producerRecordCreator(cluster, topicDescription.name(), keySerde, valueSerde)
+    );
+    return send(producer, createRecord(topicDescription, recordCreator, msg));
+  }
+
+  private record ProduceOutcome(long index, boolean failed, @Nullable String error) {
+
+    static ProduceOutcome sent(long index) {
+      return new ProduceOutcome(index, false, null);
+    }
+
+    static ProduceOutcome failed(long index, Throwable th) {
+      // some exceptions (like NPE) have no message
+      return new ProduceOutcome(index, true, Optional.ofNullable(th.getMessage()).orElse(th.toString()));
+    }
+  }
+
+  private static TopicMessagesBulkProduceResultDTO addProduceOutcome(TopicMessagesBulkProduceResultDTO result,
+                                                                     ProduceOutcome outcome) {
+    result.setTotal(result.getTotal() + 1);
+    if (!outcome.failed()) {
+      result.setSent(result.getSent() + 1);
+    } else {
+      result.setFailed(result.getFailed() + 1);
+      if (result.getErrors().size() < MAX_REPORTED_BULK_ERRORS) {
+        result.getErrors().add(new TopicMessageProduceErrorDTO().index(outcome.index()).error(outcome.error()));
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, Object> bulkProducerProperties(@Nullable ProduceCompressionTypeDTO compression) {
+    Map<String, Object> props = new HashMap<>(BULK_PRODUCER_PROPERTIES);
+    if (compression != null) {
+      props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression.getValue().toLowerCase());
+    }
+    return props;
+  }
+
+  private static boolean isPartitionValid(TopicDescription topicDescription, CreateTopicMessageDTO msg) {
+    return msg.getPartition() == null || msg.getPartition() <= topicDescription.partitions().size() - 1;
+  }
+
+  private static ProducerRecord<byte[], byte[]> createRecord(TopicDescription topicDescription,
+                                                             ProducerRecordCreator producerRecordCreator,
+                                                             CreateTopicMessageDTO msg) {
+    return producerRecordCreator.create(
+        topicDescription.name(),
+        msg.getPartition(),
+        msg.getKey().orElse(null),
+        msg.getContent().orElse(null),
+        msg.getHeaders()
+    );
+  }
+
+  private static Mono<RecordMetadata> send(KafkaProducer<byte[], byte[]> producer,
+                                           ProducerRecord<byte[], byte[]> producerRecord) {
+    CompletableFuture<RecordMetadata> cf = new CompletableFuture<>();
+    producer.send(producerRecord, (metadata, exception) -> {
+      if (exception != null) {
+        cf.completeExceptionally(exception);
+      } else {
+        cf.complete(metadata);
+      }
+    });
+    return Mono.fromFuture(cf);
+  }
+
+  private KafkaProducer<byte[], byte[]> getProducer(KafkaCluster cluster, Map<String, Object> additionalProps) {
+    return producers.computeIfAbsent(
+        new ProducerKey(cluster.getName(), additionalProps),
+        key -> createProducer(cluster, additionalProps)
+    );
+  }
+
   public static KafkaProducer<byte[], byte[]> createProducer(KafkaCluster cluster,
                                                              Map<String, Object> additionalProps) {
     Properties properties = new Properties();
@@ -208,8 +390,242 @@ public class MessagesService {
     return withExistingTopic(cluster, topic)
         .flux()
         .publishOn(Schedulers.boundedElastic())
-        .flatMap(td -> loadMessagesImpl(cluster, topic, consumerPosition, query,
-            filterQueryType, fixPageSize(pageSize), seekDirection, keySerde, valueSerde));
+        .flatMap(td -> {
+          int limit = fixPageSize(pageSize);
+          Supplier<Flux<TopicMessageEventDTO>> loader = () -> {
+            if (filterQueryType == MessageFilterTypeDTO.KEY_EQUALS && StringUtils.isNotEmpty(query)) {
+              return loadByKey(cluster, td, consumerPosition, query, limit, seekDirection, keySerde, valueSerde);
+            }
+            return loadMessagesImpl(cluster, topic, consumerPosition, getMsgFilter(query, filterQueryType),
+                scanParallelism(cluster, query), limit, seekDirection, keySerde, valueSerde);
+          };
+          if (seekDirection == SeekDirectionDTO.TAILING) {
+            return loader.get();
+          }
+          var cacheKey = new MessagesPageCache.PageKey(cluster.getName(), topic, consumerPosition, seekDirection,
+              StringUtils.isEmpty(query) ? null : query, filterQueryType, keySerde, valueSerde, limit);
+          return pageCache.getOrLoad(cluster, cacheKey, endOffsets(cluster, td), loader);
+        });
+  }
+
+  /**
+   * Estimates number of records matching the filter by sampling records from offsets range between
+   * consumer position and partitions' end (see {@link FilterMatchSampler}).
+   */
+  public Mono<TopicMessagesMatchEstimateDTO> estimateMatches(KafkaCluster cluster,
+                                                             String topic,
+                                                             ConsumerPosition consumerPosition,
+                                                             @Nullable String query,
+                                                             MessageFilterTypeDTO filterQueryType,
+                                                             @Nullable Integer sampleSize,
+                                                             @Nullable String keySerde,
+                                                             @Nullable String valueSerde) {
+    return withExistingTopic(cluster, topic)
+        .publishOn(Schedulers.boundedElastic())
+        .map(td -> {
+          Predicate<TopicMessageDTO> filter =
+              filterQueryType == MessageFilterTypeDTO.KEY_EQUALS && StringUtils.isNotEmpty(query)
+                  ? new MessageFilters.KeyEqualsFilter(
+                      Bytes.wrap(deserializationService.serializeKey(cluster, topic, keySerde, query)))
+                  : getMsgFilter(query, filterQueryType);
+          var sampler = new FilterMatchSampler(
+              consumerPosition,
+              deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde)
+                  .withValuePreviewLimit(maxMessagePreviewBytes),
+              filter,
+              Optional.ofNullable(sampleSize)
+                  .filter(s -> s > 0 && s <= MAX_ESTIMATE_SAMPLE_SIZE)
+                  .orElse(DEFAULT_ESTIMATE_SAMPLE_SIZE),
+              ESTIMATE_MAX_BYTES,
+              ESTIMATE_TIMEOUT,
+              cluster.getPollingSettings().getPollTimeout(),
+              ThreadLocalRandom.current()
+          );
+          try (var consumer = consumerGroupService.borrowConsumer(cluster, FilterMatchSampler.CONSUMER_PROPERTIES)) {
+            return sampler.sample(consumer);
+          }
+        });
+  }
+
+  private Mono<Map<TopicPartition, Long>> endOffsets(KafkaCluster cluster, TopicDescription td) {
+    return adminClientService.get(cluster)
+        .flatMap(client -> client.listOffsets(List.of(td), OffsetSpec.latest()));
+  }
+
+  /**
+   * Key is serialized with key serde and compared with records' raw keys, only key's partition is scanned
+   * (if it can be determined).
+   */
+  private Flux<TopicMessageEventDTO> loadByKey(KafkaCluster cluster,
+                                               TopicDescription topic,
+                                               ConsumerPosition consumerPosition,
+                                               String key,
+                                               int limit,
+                                               SeekDirectionDTO seekDirection,
+                                               @Nullable String keySerde,
+                                               @Nullable String valueSerde) {
+    byte[] keyBytes = deserializationService.serializeKey(cluster, topic.name(), keySerde, key);
+    var position = KeyPartitionLocator.partitionForKey(cluster, topic, keyBytes)
+        .map(partition -> KeyPartitionLocator.restrictToPartition(consumerPosition, partition))
+        .orElse(consumerPosition);
+    return loadMessagesImpl(cluster, topic.name(), position, new MessageFilters.KeyEqualsFilter(Bytes.wrap(keyBytes)),
+        cluster.getPollingSettings().getMaxParallelScanConsumers(), limit, seekDirection, keySerde, valueSerde);
+  }
+
+  /**
+   * Returns the latest record with the key. For indexed topics key's offset is taken from the index (and records
+   * that are not indexed yet are checked separately), otherwise key's partition is scanned backward from the end.
+   */
+  public Mono<TopicMessageDTO> findLatestByKey(KafkaCluster cluster,
+                                               String topic,
+                                               String key,
+                                               @Nullable String keySerde,
+                                               @Nullable String valueSerde) {
+    return withExistingTopic(cluster, topic)
+        .publishOn(Schedulers.boundedElastic())
+        .flatMap(td -> {
+          byte[] keyBytes = deserializationService.serializeKey(cluster, topic, keySerde, key);
+          var deserializer = deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde);
+          List<Integer> partitions = KeyPartitionLocator.partitionForKey(cluster, td, keyBytes)
+              .map(List::of)
+              .orElseGet(() -> td.partitions().stream().map(TopicPartitionInfo::partition).toList());
+          return Flux.fromIterable(partitions)
+              .concatMap(p -> findLatestByKey(cluster, new TopicPartition(topic, p), keyBytes, deserializer))
+              .reduce((m1, m2) -> m1.getTimestamp().isBefore(m2.getTimestamp()) ? m2 : m1);
+        })
+        .switchIfEmpty(Mono.error(() -> new NotFoundException("No records found for key")));
+  }
+
+  private Mono<TopicMessageDTO> findLatestByKey(KafkaCluster cluster,
+                                                TopicPartition tp,
+                                                byte[] keyBytes,
+                                                ConsumerRecordDeserializer deserializer) {
+    var filter = new MessageFilters.KeyEqualsFilter(Bytes.wrap(keyBytes));
+    Supplier<EnhancedConsumer> consumerSupplier = () -> consumerGroupService.borrowConsumer(cluster);
+    var lookup = keyIndexService.lookup(cluster, tp, keyBytes).orElse(null);
+    if (lookup == null || (!lookup.found() && lookup.full())) {
+      // latest record is the first one found when scanning backward
+      var emitter = new BackwardEmitter(consumerSupplier, new ConsumerPosition(SeekTypeDTO.LATEST, tp.topic(),
+          Map.of(tp, 0L)), 1, deserializer, filter, cluster.getPollingSettings());
+      return messages(emitter).next();
+    }
+    // records that are not indexed yet are newer than indexed one
+    var notIndexedYet = new ForwardEmitter(consumerSupplier, new ConsumerPosition(SeekTypeDTO.OFFSET, tp.topic(),
+        Map.of(tp, lookup.indexedUpTo())), maxPageSize, null, 1, deserializer, filter, cluster.getPollingSettings());
+    Mono<TopicMessageDTO> indexed = !lookup.found()
+        ? Mono.empty()
+        : Mono.fromCallable(() -> pollRecordAt(cluster, tp, lookup.offset()))
+            .flatMap(Mono::justOrEmpty)
+            .filter(filter::matches) // can only differ on key hash collision
+            .map(deserializer::deserialize);
+    return messages(notIndexedYet)
+        .reduce((prev, next) -> next)
+        .switchIfEmpty(indexed);
+  }
+
+  /**
+   * Returns record at the specified offset with full (not truncated) value.
+   */
+  public Mono<TopicMessageDTO> getMessage(KafkaCluster cluster,
+                                          String topic,
+                                          int partition,
+                                          long offset,
+                                          @Nullable String keySerde,
+                                          @Nullable String valueSerde) {
+    return withExistingTopic(cluster, topic)
+        .publishOn(Schedulers.boundedElastic())
+        .flatMap(td -> {
+          if (partition < 0 || partition >= td.partitions().size()) {
+            return Mono.error(new ValidationException("Partition %d does not exist".formatted(partition)));
+          }
+          var deserializer = deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde);
+          return Mono.justOrEmpty(pollRecordAt(cluster, new TopicPartition(topic, partition), offset))
+              .map(deserializer::deserialize);
+        })
+        .switchIfEmpty(Mono.error(() -> new NotFoundException("No record found at offset " + offset)));
+  }
+
+  private static Flux<TopicMessageDTO> messages(Consumer<FluxSink<TopicMessageEventDTO>> emitter) {
+    return Flux.create(emitter)
+        .filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .map(TopicMessageEventDTO::getMessage);
+  }
+
+  // empty if there is no record with such offset (it was compacted or deleted by retention)
+  // or if it was not polled within POLL_RECORD_TIMEOUT
+  private Optional<ConsumerRecord<Bytes, Bytes>> pollRecordAt(KafkaCluster cluster, TopicPartition tp, long offset) {
+    try (var consumer = consumerGroupService.borrowConsumer(cluster)) {
+      consumer.assign(List.of(tp));
+      consumer.seek(tp, offset);
+      long endOffset = consumer.endOffsets(List.of(tp)).get(tp);
+      var stopwatch = Stopwatch.createStarted();
+      while (consumer.position(tp) <= offset && offset < endOffset) {
+        if (stopwatch.elapsed().compareTo(POLL_RECORD_TIMEOUT) >= 0) {
+          log.warn("Record at offset {} of {} was not polled within {}", offset, tp, POLL_RECORD_TIMEOUT);
+          return Optional.empty();
+        }
+        var polled = consumer.pollEnhanced(cluster.getPollingSettings().getPollTimeout());
+        var found = polled.records(tp).stream().filter(r -> r.offset() >= offset).findFirst();
+        if (found.isPresent()) {
+          return found.filter(r -> r.offset() == offset);
+        }
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Streams all messages from consumer position to topic's end offsets (taken at start) or until limit is reached.
+   * Topic is polled by ranges of max page size, next range is polled only when previously polled messages
+   * were requested by downstream, so memory footprint does not depend on number of exported messages.
+   */
+  public Flux<byte[]> exportMessages(KafkaCluster cluster, String topic,
+                                     ConsumerPosition consumerPosition,
+                                     @Nullable String query,
+                                     MessageFilterTypeDTO filterQueryType,
+                                     @Nullable Long limit,
+                                     @Nullable String keySerde,
+                                     @Nullable String valueSerde,
+                                     MessagesExportFormatDTO format,
+                                     MessagesExportCompressionDTO compression) {
+    if (limit != null && limit <= 0) {
+      throw new ValidationException("Export limit should be positive");
+    }
+    return withExistingTopic(cluster, topic)
+        .flux()
+        .publishOn(Schedulers.boundedElastic())
+        .flatMap(td -> {
+          var emitter = new ForwardEmitter(
+              () -> consumerGroupService.borrowConsumer(cluster),
+              consumerPosition,
+              maxPageSize,
+              limit == null || limit > Integer.MAX_VALUE ? null : limit.intValue(),
+              scanParallelism(cluster, query),
+              deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde),
+              getMsgFilter(query, filterQueryType),
+              cluster.getPollingSettings()
+          );
+          emitter.pollOnDownstreamDemand();
+          Flux<TopicMessageDTO> messages = Flux.create(emitter)
+              .filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+              .map(TopicMessageEventDTO::getMessage);
+          return Flux.using(
+              () -> new MessagesExportWriter(format, compression),
+              writer -> encodeMessages(messages, writer),
+              MessagesExportWriter::close
+          );
+        });
+  }
+
+  private static Flux<byte[]> encodeMessages(Flux<TopicMessageDTO> messages, MessagesExportWriter writer) {
+    return messages
+        .<byte[]>handle((msg, sink) -> {
+          byte[] chunk = writer.write(msg);
+          if (chunk != null) {
+            sink.next(chunk);
+          }
+        })
+        .concatWith(Mono.fromSupplier(writer::finish));
   }
 
   private int fixPageSize(@Nullable Integer pageSize) {
@@ -221,31 +637,76 @@ public class MessagesService {
   private Flux<TopicMessageEventDTO> loadMessagesImpl(KafkaCluster cluster,
                                                       String topic,
                                                       ConsumerPosition consumerPosition,
-                                                      @Nullable String query,
-                                                      MessageFilterTypeDTO filterQueryType,
+                                                      Predicate<TopicMessageDTO> filter,
+                                                      int scanParallelism,
                                                       int limit,
                                                       SeekDirectionDTO seekDirection,
                                                       @Nullable String keySerde,
                                                       @Nullable String valueSerde) {
-
-    var deserializer = deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde);
-    var filter = getMsgFilter(query, filterQueryType);
-    var emitter = switch (seekDirection) {
-      case FORWARD -> new ForwardEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
-          consumerPosition, limit, deserializer, filter, cluster.getPollingSettings()
-      );
-      case BACKWARD -> new BackwardEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
-          consumerPosition, limit, deserializer, filter, cluster.getPollingSettings()
-      );
+    // key filter is applied to raw records, so it can't be used as hub subscriber's filter
+    if (seekDirection == SeekDirectionDTO.TAILING
+        && consumerPosition.getSeekType() == SeekTypeDTO.LATEST
+        && !(filter instanceof MessageFilters.KeyEqualsFilter)) {
+      return loadTailingFromHub(cluster, topic, filter, keySerde, valueSerde);
+    }
+    var deserializer = deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde)
+        .withValuePreviewLimit(maxMessagePreviewBytes);
+    Consumer<FluxSink<TopicMessageEventDTO>> emitter = switch (seekDirection) {
+      case FORWARD -> {
+        var forwardEmitter = new ForwardEmitter(
+            () -> consumerGroupService.borrowConsumer(cluster),
+            consumerPosition, limit, limit, scanParallelism,
+            deserializer, filter, cluster.getPollingSettings()
+        );
+        forwardEmitter.limitSentBytes(maxPageBytes);
+        yield forwardEmitter;
+      }
+      case BACKWARD -> {
+        var backwardEmitter = new BackwardEmitter(
+            () -> consumerGroupService.borrowConsumer(cluster),
+            consumerPosition, limit, scanParallelism,
+            deserializer, filter, cluster.getPollingSettings()
+        );
+        backwardEmitter.limitSentBytes(maxPageBytes);
+        yield backwardEmitter;
+      }
       case TAILING -> new TailingEmitter(
-          () -> consumerGroupService.createConsumer(cluster),
+          () -> consumerGroupService.borrowConsumer(cluster),
           consumerPosition, deserializer, filter, cluster.getPollingSettings()
       );
     };
     return Flux.create(emitter)
-        .map(throttleUiPublish(seekDirection));
+        .transform(throttleUiPublish(seekDirection));
+  }
+
+  // tailing from the latest offsets is the same for all subscribers, so single consumer is shared between them
+  private Flux<TopicMessageEventDTO> loadTailingFromHub(KafkaCluster cluster,
+                                                        String topic,
+                                                        Predicate<TopicMessageDTO> filter,
+                                                        @Nullable String keySerde,
+                                                        @Nullable String valueSerde) {
+    var key = new TailingKey(cluster.getName(), topic, keySerde, valueSerde);
+    var previewDeserializer = deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde)
+        .withValuePreviewLimit(maxMessagePreviewBytes);
+    return tailingHub.subscribe(
+            key,
+            () -> new TailingEmitter(
+                () -> consumerGroupService.borrowConsumer(cluster),
+                new ConsumerPosition(SeekTypeDTO.LATEST, topic, null),
+                // full messages are shared, so subscribers' filters are applied to full values
+                deserializationService.deserializerFor(cluster, topic, keySerde, valueSerde),
+                msg -> true,
+                cluster.getPollingSettings()
+            ),
+            filter,
+            previewDeserializer::preview
+        )
+        .transform(throttleUiPublish(SeekDirectionDTO.TAILING));
+  }
+
+  // parallel scan only makes sense for filtered searches, where most of polled messages are skipped
+  private static int scanParallelism(KafkaCluster cluster, @Nullable String query) {
+    return StringUtils.isEmpty(query) ? 1 : cluster.getPollingSettings().getMaxParallelScanConsumers();
   }
 
   private Predicate<TopicMessageDTO> getMsgFilter(String query,
@@ -256,17 +717,20 @@ public class MessagesService {
     return MessageFilters.createMsgFilter(query, filterQueryType);
   }
 
-  private <T> UnaryOperator<T> throttleUiPublish(SeekDirectionDTO seekDirection) {
+  private Function<Flux<TopicMessageEventDTO>, Flux<TopicMessageEventDTO>> throttleUiPublish(
+      SeekDirectionDTO seekDirection) {
     if (seekDirection == SeekDirectionDTO.TAILING) {
-      RateLimiter rateLimiter = RateLimiter.create(TAILING_UI_MESSAGE_THROTTLE_RATE);
-      return m -> {
-        rateLimiter.acquire(1);
-        return m;
-      };
+      // sampling messages instead of delaying them, so emitter keeps polling without blocking
+      return TailingEventsSampler.sample(TAILING_UI_WINDOW, TAILING_UI_MESSAGES_PER_WINDOW);
     }
     // there is no need to throttle UI production rate for non-tailing modes, since max number of produced
     // messages is limited for them (with page size)
-    return UnaryOperator.identity();
+    return Function.identity();
+  }
+
+  @Override
+  public void close() {
+    producers.values().forEach(KafkaProducer::close);
   }
 
 }
@@ -1,64 +1,97 @@
 package com.provectus.kafka.ui.service;
 
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.ServerStatusDTO;
 import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicsListIndex;
+import com.provectus.kafka.ui.util.PersistentMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.springframework.stereotype.Component;
 
+/**
+ * Per-cluster statistics snapshots. Snapshots are immutable and their topics maps are persistent, so partial
+ * updates (done on every topics page load) are applied as lock-free CAS of new snapshot, that shares all untouched
+ * topics with previous one. Readers always see consistent snapshot without any locking.
+ */
 @Component
 public class StatisticsCache {
 
-  private final Map<String, Statistics> cache = new ConcurrentHashMap<>();
+  // topics list index is built lazily from statistics snapshot, and dropped on refresh or topics set change
+  private record CachedState(Statistics statistics, @Nullable TopicsListIndex topicsListIndex) {
+  }
+
+  private final Map<String, AtomicReference<CachedState>> cache = new HashMap<>();
 
-  public StatisticsCache(ClustersStorage clustersStorage) {
+  public StatisticsCache(ClustersStorage clustersStorage, StatisticsSnapshotStore snapshotStore) {
     var initializing = Statistics.empty().toBuilder().status(ServerStatusDTO.INITIALIZING).build();
-    clustersStorage.getKafkaClusters().forEach(c -> cache.put(c.getName(), initializing));
+    clustersStorage.getKafkaClusters().forEach(c -> {
+      // last saved (stale) statistics are shown until first refresh completes
+      Statistics initial = snapshotStore.load(c).orElse(initializing);
+      cache.put(c.getName(), new AtomicReference<>(new CachedState(initial, null)));
+    });
   }
 
-  public synchronized void replace(KafkaCluster c, Statistics stats) {
-    cache.put(c.getName(), stats);
+  public void replace(KafkaCluster c, Statistics stats) {
+    var persistentStats = stats.toBuilder()
+        .topicDescriptions(PersistentMap.copyOf(stats.getTopicDescriptions()))
+        .build();
+    ref(c).set(new CachedState(persistentStats, null));
   }
 
-  public synchronized void update(KafkaCluster c,
-                                  Map<String, TopicDescription> descriptions,
-                                  Map<String, List<ConfigEntry>> configs) {
-    var metrics = get(c);
-    var updatedDescriptions = new HashMap<>(metrics.getTopicDescriptions());
-    updatedDescriptions.putAll(descriptions);
-    var updatedConfigs = new HashMap<>(metrics.getTopicConfigs());
-    updatedConfigs.putAll(configs);
-    replace(
-        c,
-        metrics.toBuilder()
-            .topicDescriptions(updatedDescriptions)
-            .topicConfigs(updatedConfigs)
-            .build()
-    );
+  public void update(KafkaCluster c,
+                     Map<String, TopicDescription> descriptions,
+                     Map<String, List<ConfigEntry>> configs) {
+    var compactDescriptions = new HashMap<String, CompactTopicDescription>(descriptions.size());
+    descriptions.forEach((topic, td) -> compactDescriptions.put(topic, CompactTopicDescription.from(td)));
+    ref(c).updateAndGet(state -> {
+      var stats = state.statistics();
+      var updated = stats.toBuilder()
+          .topicDescriptions(PersistentMap.copyOf(stats.getTopicDescriptions()).plusAll(compactDescriptions))
+          .topicConfigs(stats.getTopicConfigs().withTopics(configs))
+          .build();
+      // index is kept until next refresh if topics set is the same (it is not updated for changed topics)
+      var index = state.topicsListIndex();
+      boolean indexValid = index != null && descriptions.keySet().stream().allMatch(index::contains);
+      return new CachedState(updated, indexValid ? index : null);
+    });
   }
 
-  public synchronized void onTopicDelete(KafkaCluster c, String topic) {
-    var metrics = get(c);
-    var updatedDescriptions = new HashMap<>(metrics.getTopicDescriptions());
-    updatedDescriptions.remove(topic);
-    var updatedConfigs = new HashMap<>(metrics.getTopicConfigs());
-    updatedConfigs.remove(topic);
-    replace(
-        c,
-        metrics.toBuilder()
-            .topicDescriptions(updatedDescriptions)
-            .topicConfigs(updatedConfigs)
-            .build()
-    );
+  public void onTopicDelete(KafkaCluster c, String topic) {
+    ref(c).updateAndGet(state -> {
+      var stats = state.statistics();
+      var updated = stats.toBuilder()
+          .topicDescriptions(PersistentMap.copyOf(stats.getTopicDescriptions()).minus(topic))
+          .topicConfigs(stats.getTopicConfigs().withoutTopics(List.of(topic)))
+          .build();
+      return new CachedState(updated, null);
+    });
   }
 
   public Statistics get(KafkaCluster c) {
+    return ref(c).get().statistics();
+  }
+
+  public TopicsListIndex getTopicsListIndex(KafkaCluster c, @Nullable String internalTopicPrefix) {
+    var ref = ref(c);
+    CachedState state = ref.get();
+    if (state.topicsListIndex() != null) {
+      return state.topicsListIndex();
+    }
+    var index = TopicsListIndex.create(state.statistics(), internalTopicPrefix);
+    // if statistics were changed meanwhile, index will be rebuilt from newer snapshot by next request
+    ref.compareAndSet(state, new CachedState(state.statistics(), index));
+    return index;
+  }
+
+  private AtomicReference<CachedState> ref(KafkaCluster c) {
     return Objects.requireNonNull(cache.get(c.getName()), "Unknown cluster metrics requested");
   }
 
@@ -2,49 +2,115 @@ package com.provectus.kafka.ui.service;
 
 import static com.provectus.kafka.ui.service.ReactiveAdminClient.ClusterDescription;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.provectus.kafka.ui.config.ClustersProperties;
 import com.provectus.kafka.ui.model.ClusterFeature;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.InternalLogDirStats;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.Metrics;
 import com.provectus.kafka.ui.model.ServerStatusDTO;
 import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicConfigs;
 import com.provectus.kafka.ui.service.metrics.MetricsCollector;
+import com.provectus.kafka.ui.util.PersistentMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.Node;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class StatisticsService {
 
+  private static final int DEFAULT_INCREMENTAL_REFRESH_TOPICS_BATCH = 1_000;
+
   private final MetricsCollector metricsCollector;
   private final AdminClientService adminClientService;
   private final FeatureService featureService;
   private final StatisticsCache cache;
+  private final StatisticsSnapshotStore snapshotStore;
+
+  // null if every refresh is a full one
+  @Nullable
+  private final Duration fullRefreshInterval;
+  private final int incrementalRefreshTopicsBatch;
+
+  private final Map<String, RefreshState> refreshStates = new ConcurrentHashMap<>();
+
+  private static final class RefreshState {
+    @Nullable
+    volatile Instant lastFullRefresh;
+    // position of the next known topics slice to re-describe (in topics' names order)
+    volatile int nextSliceStart;
+  }
+
+  private record TopicsInfo(Map<String, CompactTopicDescription> descriptions, TopicConfigs configs) {
+  }
+
+  @VisibleForTesting
+  record IncrementalRefreshPlan(Set<String> toDescribe, Set<String> removed, int nextSliceStart) {
+  }
+
+  public StatisticsService(MetricsCollector metricsCollector,
+                           AdminClientService adminClientService,
+                           FeatureService featureService,
+                           StatisticsCache cache,
+                           StatisticsSnapshotStore snapshotStore,
+                           ClustersProperties clustersProperties) {
+    this.metricsCollector = metricsCollector;
+    this.adminClientService = adminClientService;
+    this.featureService = featureService;
+    this.cache = cache;
+    this.snapshotStore = snapshotStore;
+    var props = Optional.ofNullable(clustersProperties.getStatistics())
+        .orElseGet(ClustersProperties.StatisticsProperties::new);
+    this.fullRefreshInterval = Optional.ofNullable(props.getFullRefreshIntervalMs())
+        .filter(ms -> ms > 0)
+        .map(Duration::ofMillis)
+        .orElse(null);
+    this.incrementalRefreshTopicsBatch = Optional.ofNullable(props.getIncrementalRefreshTopicsBatch())
+        .filter(b -> b > 0)
+        .orElse(DEFAULT_INCREMENTAL_REFRESH_TOPICS_BATCH);
+  }
 
   public Mono<Statistics> updateCache(KafkaCluster c) {
-    return getStatistics(c).doOnSuccess(m -> cache.replace(c, m));
+    return getStatistics(c).doOnSuccess(m -> {
+      cache.replace(c, m);
+      if (m.getStatus() == ServerStatusDTO.ONLINE) {
+        snapshotStore.saveAsync(c, m);
+      }
+    });
   }
 
   private Mono<Statistics> getStatistics(KafkaCluster cluster) {
+    var state = refreshStates.computeIfAbsent(cluster.getName(), n -> new RefreshState());
+    Statistics previous = cache.get(cluster);
+    boolean full = isFullRefreshDue(state, previous);
+    Instant started = Instant.now();
     return adminClientService.get(cluster).flatMap(ac ->
             ac.describeCluster().flatMap(description ->
                 ac.updateInternalStats(description.getController()).then(
                     Mono.zip(
                         List.of(
                             metricsCollector.getBrokerMetrics(cluster, description.getNodes()),
-                            getLogDirInfo(description, ac),
+                            full ? getLogDirInfo(description, ac) : Mono.just(previous.getLogDirInfo()),
                             featureService.getAvailableFeatures(ac, cluster, description),
-                            loadTopicConfigs(cluster),
-                            describeTopics(cluster)),
+                            full ? loadTopics(ac) : loadTopicsIncrementally(ac, state, previous)),
                         results ->
                             Statistics.builder()
                                 .status(ServerStatusDTO.ONLINE)
@@ -53,27 +119,111 @@ public class StatisticsService {
                                 .metrics((Metrics) results[0])
                                 .logDirInfo((InternalLogDirStats) results[1])
                                 .features((List<ClusterFeature>) results[2])
-                                .topicConfigs((Map<String, List<ConfigEntry>>) results[3])
-                                .topicDescriptions((Map<String, TopicDescription>) results[4])
+                                .topicConfigs(((TopicsInfo) results[3]).configs())
+                                .topicDescriptions(((TopicsInfo) results[3]).descriptions())
                                 .build()
                     ))))
+        .doOnSuccess(s -> {
+          if (full) {
+            state.lastFullRefresh = started;
+          }
+        })
         .doOnError(e ->
             log.error("Failed to collect cluster {} info", cluster.getName(), e))
         .onErrorResume(
             e -> Mono.just(Statistics.empty().toBuilder().lastKafkaException(e).build()));
   }
 
+  // incremental refresh can only be applied to statistics collected from online cluster
+  private boolean isFullRefreshDue(RefreshState state, Statistics previous) {
+    return fullRefreshInterval == null
+        || previous.getStatus() != ServerStatusDTO.ONLINE
+        || state.lastFullRefresh == null
+        || state.lastFullRefresh.plus(fullRefreshInterval).isBefore(Instant.now());
+  }
+
   private Mono<InternalLogDirStats> getLogDirInfo(ClusterDescription desc, ReactiveAdminClient ac) {
     var brokerIds = desc.getNodes().stream().map(Node::id).collect(Collectors.toSet());
     return ac.describeLogDirs(brokerIds).map(InternalLogDirStats::new);
   }
 
-  private Mono<Map<String, TopicDescription>> describeTopics(KafkaCluster c) {
-    return adminClientService.get(c).flatMap(ReactiveAdminClient::describeTopics);
+  private Mono<TopicsInfo> loadTopics(ReactiveAdminClient ac) {
+    return Mono.zip(ac.describeTopics(), ac.getTopicsConfig())
+        .map(t -> new TopicsInfo(compact(t.getT1()), TopicConfigs.of(t.getT2())));
+  }
+
+  /**
+   * Describes (and loads configs of) new topics and of the next slice of known topics only, and merges them
+   * into previously collected topics info. Log dirs are not reloaded, since it is the most expensive call for
+   * large clusters - they (and topics that are not in current slice) are refreshed by full refreshes.
+   * Known topics can't be selected by their configs (or partitions) changes: admin API provides no change
+   * signal for them, so changes made outside of UI are picked up by rotating slices (within
+   * {@code known / batch} refreshes) or by the next full refresh. Changes made via UI update cache directly.
+   */
+  private Mono<TopicsInfo> loadTopicsIncrementally(ReactiveAdminClient ac, RefreshState state, Statistics previous) {
+    return ac.listTopics(true).flatMap(listed -> {
+      var plan = planIncrementalRefresh(
+          listed, previous.getTopicDescriptions().keySet(), state.nextSliceStart, incrementalRefreshTopicsBatch);
+      return Mono.zip(ac.describeTopics(plan.toDescribe()), ac.getTopicsConfig(plan.toDescribe(), false))
+          .map(t -> {
+            state.nextSliceStart = plan.nextSliceStart();
+            return new TopicsInfo(
+                merge(previous.getTopicDescriptions(), compact(t.getT1()), plan),
+                previous.getTopicConfigs()
+                    .withoutTopics(plan.removed())
+                    .withoutTopics(plan.toDescribe())
+                    .withTopics(t.getT2())
+            );
+          });
+    });
+  }
+
+  /**
+   * New topics are always described, known topics are described by slices of {@code batch} size, rotating over
+   * topics sorted by name, so every topic is re-described once per {@code known / batch} refreshes.
+   */
+  @VisibleForTesting
+  static IncrementalRefreshPlan planIncrementalRefresh(Set<String> listed,
+                                                       Set<String> known,
+                                                       int sliceStart,
+                                                       int batch) {
+    Set<String> toDescribe = new HashSet<>();
+    List<String> existing = new ArrayList<>();
+    for (String topic : new TreeSet<>(listed)) {
+      if (known.contains(topic)) {
+        existing.add(topic);
+      } else {
+        toDescribe.add(topic);
+      }
+    }
+    Set<String> removed = new HashSet<>(known);
+    removed.removeAll(listed);
+
+    int nextSliceStart = 0;
+    if (!existing.isEmpty()) {
+      int start = sliceStart < existing.size() ? sliceStart : 0;
+      int sliceSize = Math.min(batch, existing.size());
+      for (int i = 0; i < sliceSize; i++) {
+        toDescribe.add(existing.get((start + i) % existing.size()));
+      }
+      nextSliceStart = (start + sliceSize) % existing.size();
+    }
+    return new IncrementalRefreshPlan(toDescribe, removed, nextSliceStart);
+  }
+
+  private static Map<String, CompactTopicDescription> compact(Map<String, TopicDescription> descriptions) {
+    Map<String, CompactTopicDescription> result = new HashMap<>(descriptions.size());
+    descriptions.forEach((topic, td) -> result.put(topic, CompactTopicDescription.from(td)));
+    return result;
   }
 
-  private Mono<Map<String, List<ConfigEntry>>> loadTopicConfigs(KafkaCluster c) {
-    return adminClientService.get(c).flatMap(ReactiveAdminClient::getTopicsConfig);
+  // described topics that were not returned by describe call were deleted after they were listed
+  @VisibleForTesting
+  static <V> Map<String, V> merge(Map<String, V> previous, Map<String, V> loaded, IncrementalRefreshPlan plan) {
+    return PersistentMap.copyOf(previous)
+        .minusAll(plan.removed())
+        .minusAll(plan.toDescribe())
+        .plusAll(loaded);
   }
 
 }
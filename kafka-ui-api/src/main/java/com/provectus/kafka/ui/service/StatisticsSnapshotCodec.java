@@ -0,0 +1,524 @@
+package com.provectus.kafka.ui.service;
+
+import com.provectus.kafka.ui.model.BrokerIds;
+import com.provectus.kafka.ui.model.ClusterFeature;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
+import com.provectus.kafka.ui.model.InternalLogDirStats;
+import com.provectus.kafka.ui.model.InternalLogDirStats.SegmentStats;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.Metrics;
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicConfigs;
+import com.provectus.kafka.ui.service.metrics.RawMetric;
+import com.provectus.kafka.ui.util.PersistentMap;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.acl.AclOperation;
+
+/**
+ * Binary format of {@link Statistics} snapshots. Numbers are written as varints, and each distinct string is
+ * written once - all next occurrences are written as references to it (config names, values, hosts and metric
+ * names are mostly the same for all topics / brokers). Lists and maps are written as size followed by elements.
+ * Topic config entries are restored without synonyms: cached configs are only used for their values and sources,
+ * while synonyms (and default values derived from them) are always taken from live describeConfigs calls.
+ */
+final class StatisticsSnapshotCodec {
+
+  private static final int MAGIC = 0x4B554953;
+  private static final int FORMAT_VERSION = 2;
+
+  // string refs: 0 - null, 1 - new string follows, N - previously written string #(N - 2)
+  private static final int NULL_STRING = 0;
+  private static final int NEW_STRING = 1;
+
+  private StatisticsSnapshotCodec() {
+  }
+
+  static void write(KafkaCluster cluster, Statistics stats, DataOutputStream out) throws IOException {
+    new Writer(out).write(cluster, stats);
+  }
+
+  /**
+   * Returns empty optional if snapshot was saved for cluster with different name or bootstrap servers.
+   */
+  static Optional<Statistics> read(KafkaCluster cluster, DataInputStream in) throws IOException {
+    return new Reader(in).read(cluster);
+  }
+
+  private static final class Writer {
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    Writer(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void write(KafkaCluster cluster, Statistics stats) throws IOException {
+      out.writeInt(MAGIC);
+      varInt(FORMAT_VERSION);
+      string(cluster.getName());
+      string(cluster.getBootstrapServers());
+
+      string(stats.getVersion());
+      varInt(stats.getFeatures().size());
+      for (ClusterFeature feature : stats.getFeatures()) {
+        string(feature.name());
+      }
+      clusterDescription(stats.getClusterDescription());
+      metrics(stats.getMetrics());
+      logDirs(stats.getLogDirInfo());
+
+      varInt(stats.getTopicDescriptions().size());
+      for (CompactTopicDescription td : stats.getTopicDescriptions().values()) {
+        topicDescription(td);
+      }
+      varInt(stats.getTopicConfigs().size());
+      for (String topic : stats.getTopicConfigs().topics()) {
+        string(topic);
+        List<ConfigEntry> entries = stats.getTopicConfigs().get(topic);
+        varInt(entries.size());
+        for (ConfigEntry entry : entries) {
+          configEntry(entry);
+        }
+      }
+    }
+
+    private void clusterDescription(ReactiveAdminClient.ClusterDescription description) throws IOException {
+      out.writeBoolean(description.getController() != null);
+      if (description.getController() != null) {
+        node(description.getController());
+      }
+      string(description.getClusterId());
+      varInt(description.getNodes().size());
+      for (Node node : description.getNodes()) {
+        node(node);
+      }
+      aclOperations(description.getAuthorizedOperations());
+    }
+
+    private void node(Node node) throws IOException {
+      signedVarInt(node.id());
+      string(node.host());
+      signedVarInt(node.port());
+      string(node.rack());
+    }
+
+    private void aclOperations(@Nullable Set<AclOperation> operations) throws IOException {
+      out.writeBoolean(operations != null);
+      if (operations != null) {
+        varInt(operations.size());
+        for (AclOperation operation : operations) {
+          string(operation.name());
+        }
+      }
+    }
+
+    private void metrics(Metrics metrics) throws IOException {
+      brokerValues(metrics.getBrokerBytesInPerSec());
+      brokerValues(metrics.getBrokerBytesOutPerSec());
+      topicValues(metrics.getTopicBytesInPerSec());
+      topicValues(metrics.getTopicBytesOutPerSec());
+      Map<Integer, List<RawMetric>> perBroker = orEmpty(metrics.getPerBrokerMetrics());
+      varInt(perBroker.size());
+      for (var e : perBroker.entrySet()) {
+        signedVarInt(e.getKey());
+        varInt(e.getValue().size());
+        for (RawMetric metric : e.getValue()) {
+          string(metric.name());
+          varInt(metric.labels().size());
+          for (var label : metric.labels().entrySet()) {
+            string(label.getKey());
+            string(label.getValue());
+          }
+          decimal(metric.value());
+        }
+      }
+    }
+
+    private void brokerValues(@Nullable Map<Integer, BigDecimal> values) throws IOException {
+      values = orEmpty(values);
+      varInt(values.size());
+      for (var e : values.entrySet()) {
+        signedVarInt(e.getKey());
+        decimal(e.getValue());
+      }
+    }
+
+    private void topicValues(@Nullable Map<String, BigDecimal> values) throws IOException {
+      values = orEmpty(values);
+      varInt(values.size());
+      for (var e : values.entrySet()) {
+        string(e.getKey());
+        decimal(e.getValue());
+      }
+    }
+
+    private void logDirs(InternalLogDirStats logDirs) throws IOException {
+      varInt(logDirs.getPartitionsStats().size());
+      for (var e : logDirs.getPartitionsStats().entrySet()) {
+        string(e.getKey().topic());
+        varInt(e.getKey().partition());
+        segmentStats(e.getValue());
+      }
+      varInt(logDirs.getTopicStats().size());
+      for (var e : logDirs.getTopicStats().entrySet()) {
+        string(e.getKey());
+        segmentStats(e.getValue());
+      }
+      varInt(logDirs.getBrokerStats().size());
+      for (var e : logDirs.getBrokerStats().entrySet()) {
+        signedVarInt(e.getKey());
+        segmentStats(e.getValue());
+      }
+    }
+
+    private void segmentStats(SegmentStats stats) throws IOException {
+      varLong(stats.getSegmentSize());
+      varInt(stats.getSegmentsCount());
+    }
+
+    private void topicDescription(CompactTopicDescription td) throws IOException {
+      string(td.name());
+      out.writeBoolean(td.isInternal());
+      out.writeBoolean(td.topicId() != null);
+      if (td.topicId() != null) {
+        out.writeLong(td.topicId().getMostSignificantBits());
+        out.writeLong(td.topicId().getLeastSignificantBits());
+      }
+      aclOperations(td.authorizedOperations());
+      varInt(td.partitionCount());
+      for (int i = 0; i < td.partitionCount(); i++) {
+        varInt(td.partition(i));
+        signedVarInt(td.leader(i));
+        brokerIds(td.replicas(i));
+        brokerIds(td.isr(i));
+      }
+    }
+
+    private void brokerIds(BrokerIds ids) throws IOException {
+      varInt(ids.size());
+      for (int i = 0; i < ids.size(); i++) {
+        signedVarInt(ids.get(i));
+      }
+    }
+
+    private void configEntry(ConfigEntry entry) throws IOException {
+      string(entry.name());
+      string(entry.value());
+      string(entry.source().name());
+      out.writeBoolean(entry.isSensitive());
+      out.writeBoolean(entry.isReadOnly());
+      string(entry.type().name());
+      string(entry.documentation());
+    }
+
+    private void decimal(BigDecimal value) throws IOException {
+      string(value.toString());
+    }
+
+    private void string(@Nullable String str) throws IOException {
+      if (str == null) {
+        varInt(NULL_STRING);
+        return;
+      }
+      Integer idx = strings.get(str);
+      if (idx != null) {
+        varInt(idx + 2);
+        return;
+      }
+      strings.put(str, strings.size());
+      varInt(NEW_STRING);
+      byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+      varInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private void signedVarInt(int value) throws IOException {
+      varInt((value << 1) ^ (value >> 31));
+    }
+
+    private void varInt(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        out.writeByte((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.writeByte(value);
+    }
+
+    private void varLong(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        out.writeByte((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      out.writeByte((int) value);
+    }
+
+    private static <K, V> Map<K, V> orEmpty(@Nullable Map<K, V> map) {
+      return map == null ? Map.of() : map;
+    }
+  }
+
+  private static final class Reader {
+
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+
+    Reader(DataInputStream in) {
+      this.in = in;
+    }
+
+    Optional<Statistics> read(KafkaCluster cluster) throws IOException {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a statistics snapshot");
+      }
+      int formatVersion = varInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("Unsupported snapshot format version " + formatVersion);
+      }
+      if (!Objects.equals(string(), cluster.getName())
+          || !Objects.equals(string(), cluster.getBootstrapServers())) {
+        return Optional.empty();
+      }
+
+      var stats = Statistics.builder()
+          .status(ServerStatusDTO.ONLINE)
+          .stale(true)
+          .version(string());
+      int featuresCount = varInt();
+      List<ClusterFeature> features = new ArrayList<>(featuresCount);
+      for (int i = 0; i < featuresCount; i++) {
+        features.add(ClusterFeature.valueOf(string()));
+      }
+      stats.features(features)
+          .clusterDescription(clusterDescription())
+          .metrics(metrics())
+          .logDirInfo(logDirs());
+
+      int topicsCount = varInt();
+      Map<String, CompactTopicDescription> descriptions = new HashMap<>(topicsCount);
+      for (int i = 0; i < topicsCount; i++) {
+        var td = topicDescription();
+        descriptions.put(td.name(), td);
+      }
+      int configsCount = varInt();
+      Map<String, List<ConfigEntry>> configs = new HashMap<>(configsCount);
+      for (int i = 0; i < configsCount; i++) {
+        String topic = string();
+        int entriesCount = varInt();
+        List<ConfigEntry> entries = new ArrayList<>(entriesCount);
+        for (int j = 0; j < entriesCount; j++) {
+          entries.add(configEntry());
+        }
+        configs.put(topic, entries);
+      }
+      return Optional.of(
+          stats.topicDescriptions(PersistentMap.copyOf(descriptions))
+              .topicConfigs(TopicConfigs.of(configs))
+              .build()
+      );
+    }
+
+    private ReactiveAdminClient.ClusterDescription clusterDescription() throws IOException {
+      Node controller = in.readBoolean() ? node() : null;
+      String clusterId = string();
+      int nodesCount = varInt();
+      List<Node> nodes = new ArrayList<>(nodesCount);
+      for (int i = 0; i < nodesCount; i++) {
+        nodes.add(node());
+      }
+      return new ReactiveAdminClient.ClusterDescription(controller, clusterId, nodes, aclOperations());
+    }
+
+    private Node node() throws IOException {
+      return new Node(signedVarInt(), string(), signedVarInt(), string());
+    }
+
+    @Nullable
+    private Set<AclOperation> aclOperations() throws IOException {
+      if (!in.readBoolean()) {
+        return null;
+      }
+      int count = varInt();
+      Set<AclOperation> operations = new HashSet<>(count);
+      for (int i = 0; i < count; i++) {
+        operations.add(AclOperation.valueOf(string()));
+      }
+      return operations;
+    }
+
+    private Metrics metrics() throws IOException {
+      var metrics = Metrics.builder()
+          .brokerBytesInPerSec(brokerValues())
+          .brokerBytesOutPerSec(brokerValues())
+          .topicBytesInPerSec(topicValues())
+          .topicBytesOutPerSec(topicValues());
+      int brokersCount = varInt();
+      Map<Integer, List<RawMetric>> perBroker = new HashMap<>(brokersCount);
+      for (int i = 0; i < brokersCount; i++) {
+        int broker = signedVarInt();
+        int metricsCount = varInt();
+        List<RawMetric> brokerMetrics = new ArrayList<>(metricsCount);
+        for (int j = 0; j < metricsCount; j++) {
+          String name = string();
+          int labelsCount = varInt();
+          Map<String, String> labels = new HashMap<>(labelsCount);
+          for (int k = 0; k < labelsCount; k++) {
+            labels.put(string(), string());
+          }
+          brokerMetrics.add(RawMetric.create(name, labels, decimal()));
+        }
+        perBroker.put(broker, brokerMetrics);
+      }
+      return metrics.perBrokerMetrics(perBroker).build();
+    }
+
+    private Map<Integer, BigDecimal> brokerValues() throws IOException {
+      int count = varInt();
+      Map<Integer, BigDecimal> values = new HashMap<>(count);
+      for (int i = 0; i < count; i++) {
+        values.put(signedVarInt(), decimal());
+      }
+      return values;
+    }
+
+    private Map<String, BigDecimal> topicValues() throws IOException {
+      int count = varInt();
+      Map<String, BigDecimal> values = new HashMap<>(count);
+      for (int i = 0; i < count; i++) {
+        values.put(string(), decimal());
+      }
+      return values;
+    }
+
+    private InternalLogDirStats logDirs() throws IOException {
+      int partitionsCount = varInt();
+      Map<TopicPartition, SegmentStats> partitions = new HashMap<>(partitionsCount);
+      for (int i = 0; i < partitionsCount; i++) {
+        partitions.put(new TopicPartition(string(), varInt()), segmentStats());
+      }
+      int topicsCount = varInt();
+      Map<String, SegmentStats> topics = new HashMap<>(topicsCount);
+      for (int i = 0; i < topicsCount; i++) {
+        topics.put(string(), segmentStats());
+      }
+      int brokersCount = varInt();
+      Map<Integer, SegmentStats> brokers = new HashMap<>(brokersCount);
+      for (int i = 0; i < brokersCount; i++) {
+        brokers.put(signedVarInt(), segmentStats());
+      }
+      return new InternalLogDirStats(partitions, topics, brokers);
+    }
+
+    private SegmentStats segmentStats() throws IOException {
+      return new SegmentStats(varLong(), varInt());
+    }
+
+    private CompactTopicDescription topicDescription() throws IOException {
+      String name = string();
+      boolean internal = in.readBoolean();
+      Uuid topicId = in.readBoolean() ? new Uuid(in.readLong(), in.readLong()) : null;
+      Set<AclOperation> authorizedOperations = aclOperations();
+      int partitionsCount = varInt();
+      int[] partitions = new int[partitionsCount];
+      int[] leaders = new int[partitionsCount];
+      BrokerIds[] replicas = new BrokerIds[partitionsCount];
+      BrokerIds[] isr = new BrokerIds[partitionsCount];
+      for (int i = 0; i < partitionsCount; i++) {
+        partitions[i] = varInt();
+        leaders[i] = signedVarInt();
+        replicas[i] = brokerIds();
+        isr[i] = brokerIds();
+      }
+      return CompactTopicDescription.of(
+          name, internal, topicId, authorizedOperations, partitions, leaders, replicas, isr);
+    }
+
+    private BrokerIds brokerIds() throws IOException {
+      int[] ids = new int[varInt()];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = signedVarInt();
+      }
+      return BrokerIds.of(ids);
+    }
+
+    private ConfigEntry configEntry() throws IOException {
+      String name = string();
+      String value = string();
+      var source = ConfigEntry.ConfigSource.valueOf(string());
+      boolean sensitive = in.readBoolean();
+      boolean readOnly = in.readBoolean();
+      var type = ConfigEntry.ConfigType.valueOf(string());
+      return new ConfigEntry(name, value, source, sensitive, readOnly, List.of(), type, string());
+    }
+
+    private BigDecimal decimal() throws IOException {
+      return new BigDecimal(string());
+    }
+
+    @Nullable
+    private String string() throws IOException {
+      int ref = varInt();
+      if (ref == NULL_STRING) {
+        return null;
+      }
+      if (ref != NEW_STRING) {
+        if (ref - 2 >= strings.size()) {
+          throw new IOException("Invalid string reference " + ref);
+        }
+        return strings.get(ref - 2);
+      }
+      byte[] bytes = new byte[varInt()];
+      in.readFully(bytes);
+      String str = new String(bytes, StandardCharsets.UTF_8);
+      strings.add(str);
+      return str;
+    }
+
+    private int signedVarInt() throws IOException {
+      int value = varInt();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int varInt() throws IOException {
+      int result = 0;
+      for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+        int b = in.readUnsignedByte();
+        result |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IOException("Malformed varint");
+    }
+
+    private long varLong() throws IOException {
+      long result = 0;
+      for (int shift = 0; shift < Long.SIZE; shift += 7) {
+        int b = in.readUnsignedByte();
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IOException("Malformed varlong");
+    }
+  }
+}
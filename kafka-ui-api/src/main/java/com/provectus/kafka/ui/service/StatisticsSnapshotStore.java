@@ -0,0 +1,111 @@
+package com.provectus.kafka.ui.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.Statistics;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps last collected statistics of each cluster in local snapshot files (if snapshots dir is configured), so
+ * after restart clusters' data can be shown right away (marked as stale) instead of waiting for the first
+ * statistics collection, which can take minutes for large clusters.
+ */
+@Slf4j
+@Component
+public class StatisticsSnapshotStore {
+
+  private static final String FILE_SUFFIX = ".stats";
+
+  @Nullable
+  private final Path dir;
+
+  // names of clusters, which snapshots are being saved now
+  private final Set<String> savesInProgress = ConcurrentHashMap.newKeySet();
+
+  public StatisticsSnapshotStore(ClustersProperties clustersProperties) {
+    this.dir = Optional.ofNullable(clustersProperties.getStatistics())
+        .map(ClustersProperties.StatisticsProperties::getSnapshotDir)
+        .filter(StringUtils::hasText)
+        .map(Path::of)
+        .orElse(null);
+  }
+
+  public Optional<Statistics> load(KafkaCluster cluster) {
+    if (dir == null) {
+      return Optional.empty();
+    }
+    Path file = snapshotFile(cluster);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try (var in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+      var stats = StatisticsSnapshotCodec.read(cluster, in);
+      if (stats.isEmpty()) {
+        log.info("Statistics snapshot {} was saved for different cluster config, ignoring it", file);
+      }
+      return stats;
+    } catch (Exception e) {
+      log.warn("Error reading statistics snapshot {}, ignoring it", file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Saves snapshot in background. Skipped if previous snapshot of the cluster is still being saved.
+   */
+  public void saveAsync(KafkaCluster cluster, Statistics stats) {
+    if (dir == null || !savesInProgress.add(cluster.getName())) {
+      return;
+    }
+    Mono.fromCallable(() -> {
+      save(cluster, stats);
+      return cluster;
+    })
+        .subscribeOn(Schedulers.boundedElastic())
+        .doFinally(s -> savesInProgress.remove(cluster.getName()))
+        .subscribe(
+            c -> log.debug("Statistics snapshot saved for cluster {}", c.getName()),
+            e -> log.warn("Error saving statistics snapshot for cluster {}", cluster.getName(), e)
+        );
+  }
+
+  @VisibleForTesting
+  void save(KafkaCluster cluster, Statistics stats) throws IOException {
+    Files.createDirectories(dir);
+    // writing to temp file first, so readers never see partially written snapshot
+    Path tmp = Files.createTempFile(dir, "snapshot", ".tmp");
+    try {
+      try (var out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp))))) {
+        StatisticsSnapshotCodec.write(cluster, stats, out);
+      }
+      Files.move(tmp, snapshotFile(cluster), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  private Path snapshotFile(KafkaCluster cluster) {
+    return dir.resolve(URLEncoder.encode(cluster.getName(), StandardCharsets.UTF_8) + FILE_SUFFIX);
+  }
+}
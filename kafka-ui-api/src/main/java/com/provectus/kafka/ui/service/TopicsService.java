@@ -10,6 +10,7 @@ import com.provectus.kafka.ui.exception.TopicNotFoundException;
 import com.provectus.kafka.ui.exception.TopicRecreationException;
 import com.provectus.kafka.ui.exception.ValidationException;
 import com.provectus.kafka.ui.model.ClusterFeature;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.InternalLogDirStats;
 import com.provectus.kafka.ui.model.InternalPartition;
 import com.provectus.kafka.ui.model.InternalPartitionsOffsets;
@@ -22,11 +23,10 @@ import com.provectus.kafka.ui.model.PartitionsIncreaseDTO;
 import com.provectus.kafka.ui.model.PartitionsIncreaseResponseDTO;
 import com.provectus.kafka.ui.model.ReplicationFactorChangeDTO;
 import com.provectus.kafka.ui.model.ReplicationFactorChangeResponseDTO;
-import com.provectus.kafka.ui.model.Statistics;
 import com.provectus.kafka.ui.model.TopicCreationDTO;
 import com.provectus.kafka.ui.model.TopicUpdateDTO;
+import com.provectus.kafka.ui.model.TopicsListIndex;
 import java.time.Duration;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -127,7 +127,7 @@ public class TopicsService {
     return orderedNames.stream()
         .filter(descriptions::containsKey)
         .map(t -> InternalTopic.from(
-            descriptions.get(t),
+            CompactTopicDescription.from(descriptions.get(t)),
             configs.getOrDefault(t, List.of()),
             partitionsOffsets,
             metrics,
@@ -443,21 +443,8 @@ public class TopicsService {
     );
   }
 
-  public Mono<List<InternalTopic>> getTopicsForPagination(KafkaCluster cluster) {
-    Statistics stats = statisticsCache.get(cluster);
-    return filterExisting(cluster, stats.getTopicDescriptions().keySet())
-        .map(lst -> lst.stream()
-            .map(topicName ->
-                InternalTopic.from(
-                    stats.getTopicDescriptions().get(topicName),
-                    stats.getTopicConfigs().getOrDefault(topicName, List.of()),
-                    InternalPartitionsOffsets.empty(),
-                    stats.getMetrics(),
-                    stats.getLogDirInfo(),
-                    clustersProperties.getInternalTopicPrefix()
-                    ))
-            .collect(toList())
-        );
+  public TopicsListIndex getTopicsListIndex(KafkaCluster cluster) {
+    return statisticsCache.getTopicsListIndex(cluster, clustersProperties.getInternalTopicPrefix());
   }
 
   public Mono<Map<TopicPartition, List<ProducerState>>> getActiveProducersState(KafkaCluster cluster, String topic) {
@@ -465,13 +452,4 @@ public class TopicsService {
         .flatMap(ac -> ac.getActiveProducersState(topic));
   }
 
-  private Mono<List<String>> filterExisting(KafkaCluster cluster, Collection<String> topics) {
-    return adminClientService.get(cluster)
-        .flatMap(ac -> ac.listTopics(true))
-        .map(existing -> existing
-            .stream()
-            .filter(topics::contains)
-            .collect(toList()));
-  }
-
 }
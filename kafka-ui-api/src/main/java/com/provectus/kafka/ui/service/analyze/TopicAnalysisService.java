@@ -82,7 +82,7 @@ public class TopicAnalysisService {
 
     AnalysisTask(KafkaCluster cluster, TopicIdentity topicId) {
       this.topicId = topicId;
-      this.consumer = consumerGroupService.createConsumer(
+      this.consumer = consumerGroupService.borrowConsumer(
           cluster,
           // to improve polling throughput
           Map.of(
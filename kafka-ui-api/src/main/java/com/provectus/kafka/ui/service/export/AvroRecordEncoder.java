@@ -0,0 +1,59 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Writes messages as Avro object container file. Writer accumulates records into blocks (of ~64Kb by default)
+ * that are written to output when filled.
+ */
+class AvroRecordEncoder implements ExportRecordEncoder {
+
+  private static final Schema TIMESTAMP_SCHEMA =
+      LogicalTypes.timestampMillis().addToSchema(Schema.create(Schema.Type.LONG));
+
+  private static final Schema SCHEMA = SchemaBuilder.record("KafkaMessage")
+      .namespace("com.provectus.kafka.ui.export")
+      .fields()
+      .requiredInt("partition")
+      .requiredLong("offset")
+      .name("timestamp").type(TIMESTAMP_SCHEMA).noDefault()
+      .requiredString("timestampType")
+      .optionalString("key")
+      .optionalString("value")
+      .name("headers").type().map().values().nullable().stringType().noDefault()
+      .endRecord();
+
+  private final DataFileWriter<GenericRecord> writer;
+
+  AvroRecordEncoder(OutputStream out) throws IOException {
+    this.writer = new DataFileWriter<GenericRecord>(new GenericDatumWriter<>(SCHEMA))
+        .create(SCHEMA, out);
+  }
+
+  @Override
+  public void write(TopicMessageDTO msg) throws IOException {
+    GenericRecord rec = new GenericData.Record(SCHEMA);
+    rec.put("partition", msg.getPartition());
+    rec.put("offset", msg.getOffset());
+    rec.put("timestamp", msg.getTimestamp().toInstant().toEpochMilli());
+    rec.put("timestampType", msg.getTimestampType().getValue());
+    rec.put("key", msg.getKey());
+    rec.put("value", msg.getContent());
+    rec.put("headers", msg.getHeaders());
+    writer.append(rec);
+  }
+
+  @Override
+  public void finish() throws IOException {
+    writer.flush();
+  }
+}
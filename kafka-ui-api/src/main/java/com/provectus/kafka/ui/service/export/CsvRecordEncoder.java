@@ -0,0 +1,73 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * RFC 4180 CSV with header line. Headers are written as json object in a single column.
+ */
+class CsvRecordEncoder implements ExportRecordEncoder {
+
+  private static final JsonMapper MAPPER = new JsonMapper();
+  private static final String HEADER_LINE = "partition,offset,timestamp,timestampType,key,value,headers\r\n";
+
+  private final Writer writer;
+
+  CsvRecordEncoder(OutputStream out) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    this.writer.write(HEADER_LINE);
+  }
+
+  @Override
+  public void write(TopicMessageDTO msg) throws IOException {
+    writer.write(String.valueOf(msg.getPartition()));
+    writer.write(',');
+    writer.write(String.valueOf(msg.getOffset()));
+    writer.write(',');
+    writer.write(msg.getTimestamp().toString());
+    writer.write(',');
+    writer.write(msg.getTimestampType().getValue());
+    writer.write(',');
+    writeField(msg.getKey());
+    writer.write(',');
+    writeField(msg.getContent());
+    writer.write(',');
+    writeField(msg.getHeaders().isEmpty() ? null : MAPPER.writeValueAsString(msg.getHeaders()));
+    writer.write("\r\n");
+  }
+
+  private void writeField(@Nullable String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (needsQuoting(value)) {
+      writer.write('"');
+      writer.write(value.replace("\"", "\"\""));
+      writer.write('"');
+    } else {
+      writer.write(value);
+    }
+  }
+
+  private static boolean needsQuoting(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void finish() throws IOException {
+    writer.flush();
+  }
+}
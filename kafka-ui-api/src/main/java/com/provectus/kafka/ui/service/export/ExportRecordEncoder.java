@@ -0,0 +1,16 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.IOException;
+
+/**
+ * Encodes messages into export format. Implementations can buffer data, all buffered data should be
+ * written to output on finish.
+ */
+interface ExportRecordEncoder {
+
+  void write(TopicMessageDTO msg) throws IOException;
+
+  void finish() throws IOException;
+
+}
@@ -0,0 +1,120 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.utils.ByteBufferOutputStream;
+
+/**
+ * Encodes (and optionally compresses) exported messages into byte chunks of ~CHUNK_SIZE size.
+ * Encoded data is kept in reusable buffer until chunk is taken, so memory footprint does not depend on
+ * number of exported messages. Not thread-safe.
+ */
+@Slf4j
+public class MessagesExportWriter implements Closeable {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final ByteBufferOutputStream buffer = new ByteBufferOutputStream(CHUNK_SIZE * 2);
+  private final OutputStream out;
+  private final ExportRecordEncoder encoder;
+  private boolean finished = false;
+
+  public MessagesExportWriter(MessagesExportFormatDTO format, MessagesExportCompressionDTO compression) {
+    this.out = wrapForCompression(buffer, compression);
+    this.encoder = createEncoder(format, out);
+  }
+
+  private static ExportRecordEncoder createEncoder(MessagesExportFormatDTO format, OutputStream out) {
+    try {
+      return switch (format) {
+        case NDJSON -> new NdjsonRecordEncoder(out);
+        case CSV -> new CsvRecordEncoder(out);
+        case AVRO -> new AvroRecordEncoder(out);
+      };
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static OutputStream wrapForCompression(ByteBufferOutputStream buffer,
+                                                 MessagesExportCompressionDTO compression) {
+    return switch (compression) {
+      case NONE -> buffer;
+      case GZIP -> CompressionType.GZIP.wrapForOutput(buffer, RecordBatch.CURRENT_MAGIC_VALUE);
+      case ZSTD -> CompressionType.ZSTD.wrapForOutput(buffer, RecordBatch.CURRENT_MAGIC_VALUE);
+    };
+  }
+
+  public static String fileName(String topic,
+                                MessagesExportFormatDTO format,
+                                MessagesExportCompressionDTO compression) {
+    String ext = switch (format) {
+      case NDJSON -> ".ndjson";
+      case CSV -> ".csv";
+      case AVRO -> ".avro";
+    };
+    String compressionExt = switch (compression) {
+      case NONE -> "";
+      case GZIP -> ".gz";
+      case ZSTD -> ".zst";
+    };
+    return topic + ext + compressionExt;
+  }
+
+  /**
+   * Returns encoded chunk if enough data was accumulated, null otherwise.
+   */
+  @Nullable
+  public byte[] write(TopicMessageDTO msg) {
+    try {
+      encoder.write(msg);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.position() >= CHUNK_SIZE ? takeChunk() : null;
+  }
+
+  /**
+   * Writes format's trailing data, flushes compression stream and returns all remaining data.
+   */
+  public byte[] finish() {
+    try {
+      encoder.finish();
+      out.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    finished = true;
+    return takeChunk();
+  }
+
+  private byte[] takeChunk() {
+    ByteBuffer buf = buffer.buffer();
+    byte[] chunk = Arrays.copyOf(buf.array(), buf.position());
+    buffer.position(0);
+    return chunk;
+  }
+
+  @Override
+  public void close() {
+    if (!finished) {
+      // releasing compressor's resources if export was cancelled or failed
+      try {
+        out.close();
+      } catch (IOException e) {
+        log.debug("Error closing export stream", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.provectus.kafka.ui.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+class NdjsonRecordEncoder implements ExportRecordEncoder {
+
+  private static final JsonMapper MAPPER = new JsonMapper();
+
+  private final JsonGenerator generator;
+
+  NdjsonRecordEncoder(OutputStream out) throws IOException {
+    this.generator = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    // records are separated with new lines explicitly
+    this.generator.setRootValueSeparator(null);
+  }
+
+  @Override
+  public void write(TopicMessageDTO msg) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("partition", msg.getPartition());
+    generator.writeNumberField("offset", msg.getOffset());
+    generator.writeStringField("timestamp", msg.getTimestamp().toString());
+    generator.writeStringField("timestampType", msg.getTimestampType().getValue());
+    generator.writeStringField("key", msg.getKey());
+    generator.writeStringField("value", msg.getContent());
+    generator.writeObjectFieldStart("headers");
+    for (Map.Entry<String, String> header : msg.getHeaders().entrySet()) {
+      generator.writeStringField(header.getKey(), header.getValue());
+    }
+    generator.writeEndObject();
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+
+  @Override
+  public void finish() throws IOException {
+    generator.flush();
+  }
+}
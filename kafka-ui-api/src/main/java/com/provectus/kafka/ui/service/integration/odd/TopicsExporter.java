@@ -1,6 +1,7 @@
 package com.provectus.kafka.ui.service.integration.odd;
 
 import com.google.common.collect.ImmutableMap;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.Statistics;
 import com.provectus.kafka.ui.service.StatisticsCache;
@@ -14,7 +15,6 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.ConfigEntry;
-import org.apache.kafka.clients.admin.TopicDescription;
 import org.opendatadiscovery.client.model.DataEntity;
 import org.opendatadiscovery.client.model.DataEntityList;
 import org.opendatadiscovery.client.model.DataEntityType;
@@ -86,10 +86,10 @@ class TopicsExporter {
   }
 
   private Map<String, Object> getTopicMetadata(String topic, Statistics stats) {
-    TopicDescription topicDescription = stats.getTopicDescriptions().get(topic);
+    CompactTopicDescription topicDescription = stats.getTopicDescriptions().get(topic);
     return ImmutableMap.<String, Object>builder()
-        .put("partitions", topicDescription.partitions().size())
-        .put("replication_factor", topicDescription.partitions().get(0).replicas().size())
+        .put("partitions", topicDescription.partitionCount())
+        .put("replication_factor", topicDescription.replicationFactor())
         .putAll(getNonDefaultConfigs(topic, stats))
         .build();
   }
@@ -0,0 +1,16 @@
+package com.provectus.kafka.ui.service.keyindex;
+
+/**
+ * Result of key lookup in partition's index.
+ *
+ * @param offset      latest indexed offset of key, -1 if key is not found in index
+ * @param indexedUpTo first offset that is not indexed yet, records starting from it should be checked separately
+ * @param full        true if index reached its size limit, so key's absence in index does not mean that there is
+ *                    no such key in partition
+ */
+public record KeyIndexLookup(long offset, long indexedUpTo, boolean full) {
+
+  public boolean found() {
+    return offset >= 0;
+  }
+}
@@ -0,0 +1,167 @@
+package com.provectus.kafka.ui.service.keyindex;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.service.ClustersStorage;
+import com.provectus.kafka.ui.service.ConsumerGroupService;
+import com.provectus.kafka.ui.service.StatisticsCache;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains key -> latest offset indexes for topics that match cluster's keyIndex.topicsPattern. Indexed
+ * topics list is synced with topics statistics: indexers are started for new topics, and stopped (with index
+ * files removal) for deleted ones, so disk usage is bounded by maxBytesPerPartition * indexed partitions.
+ */
+@Slf4j
+@Service
+public class KeyIndexService implements Closeable {
+
+  private static final long DEFAULT_MAX_BYTES_PER_PARTITION = 64 * 1024 * 1024;
+  private static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"), "kafka-ui-key-index");
+
+  private final StatisticsCache statisticsCache;
+  private final ConsumerGroupService consumerGroupService;
+  private final Map<String, KafkaCluster> indexedClusters = new HashMap<>();
+  // cluster name -> topic -> indexer
+  private final Map<String, Map<String, TopicKeyIndexer>> indexers = new ConcurrentHashMap<>();
+
+  public KeyIndexService(ClustersStorage clustersStorage,
+                         StatisticsCache statisticsCache,
+                         ConsumerGroupService consumerGroupService) {
+    this.statisticsCache = statisticsCache;
+    this.consumerGroupService = consumerGroupService;
+    for (KafkaCluster cluster : clustersStorage.getKafkaClusters()) {
+      var props = cluster.getOriginalProperties().getKeyIndex();
+      if (props != null && props.getTopicsPattern() != null) {
+        if (props.getMaxBytesPerPartition() != null
+            && props.getMaxBytesPerPartition() < PartitionKeyIndex.MIN_FILE_BYTES) {
+          throw new IllegalStateException(
+              "Application config isn't valid. keyIndex.maxBytesPerPartition of cluster '%s' should be at least %d"
+                  .formatted(cluster.getName(), PartitionKeyIndex.MIN_FILE_BYTES));
+        }
+        indexedClusters.put(cluster.getName(), cluster);
+        indexers.put(cluster.getName(), new ConcurrentHashMap<>());
+      }
+    }
+  }
+
+  /**
+   * Returns empty result if topic's partition is not indexed.
+   */
+  public Optional<KeyIndexLookup> lookup(KafkaCluster cluster, TopicPartition tp, byte[] key) {
+    return Optional.ofNullable(indexers.get(cluster.getName()))
+        .map(topicIndexers -> topicIndexers.get(tp.topic()))
+        .flatMap(indexer -> indexer.lookup(tp.partition(), key));
+  }
+
+  @Scheduled(fixedRateString = "${kafka.update-metrics-rate-millis:30000}")
+  public void syncIndexedTopics() {
+    indexedClusters.values().forEach(cluster -> {
+      var stats = statisticsCache.get(cluster);
+      // topics list is not reliable until statistics are successfully loaded
+      if (stats.getStatus() == ServerStatusDTO.ONLINE) {
+        syncIndexedTopics(cluster, stats.getTopicDescriptions());
+      }
+    });
+  }
+
+  private void syncIndexedTopics(KafkaCluster cluster, Map<String, CompactTopicDescription> topics) {
+    var props = cluster.getOriginalProperties().getKeyIndex();
+    var pattern = Pattern.compile(props.getTopicsPattern());
+    Path clusterDir = clusterDirectory(cluster, props);
+    Map<String, Integer> toIndex = topics.values().stream()
+        .filter(td -> pattern.matcher(td.name()).matches())
+        .collect(Collectors.toMap(CompactTopicDescription::name, CompactTopicDescription::partitionCount));
+
+    var topicIndexers = indexers.get(cluster.getName());
+    topicIndexers.entrySet().removeIf(e -> {
+      boolean obsolete = !Integer.valueOf(e.getValue().partitions()).equals(toIndex.get(e.getKey()));
+      if (obsolete) {
+        e.getValue().close();
+      }
+      return obsolete;
+    });
+    removeObsoleteIndexFiles(clusterDir, toIndex);
+    toIndex.forEach((topic, partitions) -> {
+      if (!topicIndexers.containsKey(topic)) {
+        try {
+          var indexer = new TopicKeyIndexer(
+              topic,
+              partitions,
+              clusterDir.resolve(topic),
+              Optional.ofNullable(props.getMaxBytesPerPartition()).orElse(DEFAULT_MAX_BYTES_PER_PARTITION),
+              () -> consumerGroupService.createConsumer(cluster)
+          );
+          topicIndexers.put(topic, indexer);
+          indexer.start();
+          log.info("Started key indexing for topic '{}' of cluster '{}'", topic, cluster.getName());
+        } catch (IOException e) {
+          log.error("Error opening key index for topic '{}' of cluster '{}'", topic, cluster.getName(), e);
+        }
+      }
+    });
+  }
+
+  // removes indexes of deleted / not matching topics and of topics which partitions count changed
+  private void removeObsoleteIndexFiles(Path clusterDir, Map<String, Integer> toIndex) {
+    if (!Files.isDirectory(clusterDir)) {
+      return;
+    }
+    try (Stream<Path> topicDirs = Files.list(clusterDir)) {
+      topicDirs.forEach(topicDir -> {
+        Integer partitions = toIndex.get(topicDir.getFileName().toString());
+        if (partitions == null) {
+          deleteRecursively(topicDir);
+        } else {
+          deletePartitionFilesAbove(topicDir, partitions);
+        }
+      });
+    } catch (IOException e) {
+      log.warn("Error cleaning up key index directory {}", clusterDir, e);
+    }
+  }
+
+  private static void deletePartitionFilesAbove(Path topicDir, int partitions) {
+    for (int p = partitions; Files.exists(topicDir.resolve(p + ".idx")); p++) {
+      deleteRecursively(topicDir.resolve(p + ".idx"));
+    }
+  }
+
+  private static void deleteRecursively(Path path) {
+    try (Stream<Path> files = Files.walk(path)) {
+      files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+    } catch (IOException e) {
+      log.warn("Error deleting {}", path, e);
+    }
+  }
+
+  private static Path clusterDirectory(KafkaCluster cluster, ClustersProperties.KeyIndexProperties props) {
+    Path root = Optional.ofNullable(props.getDirectory()).map(Paths::get).orElse(DEFAULT_DIRECTORY);
+    return root.resolve(URLEncoder.encode(cluster.getName(), StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void close() {
+    indexers.values().forEach(topicIndexers -> topicIndexers.values().forEach(TopicKeyIndexer::close));
+  }
+}
@@ -0,0 +1,207 @@
+package com.provectus.kafka.ui.service.keyindex;
+
+import com.google.common.hash.Hashing;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Key hash -> latest offset index of a single partition, stored in memory-mapped file as open-addressing
+ * (linear probing) hash table. File layout: header (magic, capacity, size, full flag, next offset to index),
+ * followed by slots of (key hash, offset) pairs, where zero hash marks empty slot.
+ * Table grows (by rewriting file) until max file size is reached, after that only existing keys are updated and
+ * index is marked as "full", meaning that absence of key in index does not mean absence of key in partition.
+ * Next offset to index is stored in header, so indexing can be resumed after restart.
+ */
+final class PartitionKeyIndex implements Closeable {
+
+  private static final int MAGIC = 0x4B55494B; // "KUIK"
+  private static final int HEADER_SIZE = 32;
+  private static final int SLOT_SIZE = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final double MAX_LOAD_FACTOR = 0.7;
+  // file size of empty index, smaller max file size limits can't be satisfied
+  static final long MIN_FILE_BYTES = fileSize(INITIAL_CAPACITY);
+
+  private static final int MAGIC_POS = 0;
+  private static final int CAPACITY_POS = 4;
+  private static final int SIZE_POS = 8;
+  private static final int FULL_POS = 12;
+  private static final int NEXT_OFFSET_POS = 16;
+
+  private final Path file;
+  private final int maxCapacity;
+  private MappedByteBuffer buffer;
+  private int capacity;
+  private int size;
+
+  private PartitionKeyIndex(Path file, int maxCapacity) {
+    this.file = file;
+    this.maxCapacity = maxCapacity;
+  }
+
+  /**
+   * Opens existing index file or creates new one. Invalid (not index) files are recreated.
+   *
+   * @param maxFileBytes index file size limit, should be at least {@link #MIN_FILE_BYTES}
+   */
+  static PartitionKeyIndex open(Path file, long maxFileBytes) throws IOException {
+    if (maxFileBytes < MIN_FILE_BYTES) {
+      throw new IllegalArgumentException(
+          "Key index max file size should be at least %d bytes, got %d".formatted(MIN_FILE_BYTES, maxFileBytes));
+    }
+    long maxSlots = Math.min(maxFileBytes, Integer.MAX_VALUE) / SLOT_SIZE - HEADER_SIZE / SLOT_SIZE;
+    var index = new PartitionKeyIndex(file, Integer.highestOneBit((int) maxSlots));
+    if (Files.exists(file) && Files.size(file) >= HEADER_SIZE) {
+      index.buffer = map(file, Files.size(file));
+      if (index.buffer.getInt(MAGIC_POS) == MAGIC
+          && Files.size(file) == fileSize(index.buffer.getInt(CAPACITY_POS))) {
+        index.capacity = index.buffer.getInt(CAPACITY_POS);
+        index.size = index.buffer.getInt(SIZE_POS);
+        return index;
+      }
+    }
+    Files.deleteIfExists(file);
+    index.create(0);
+    return index;
+  }
+
+  // first offset that is not indexed yet
+  synchronized long nextOffset() {
+    return buffer.getLong(NEXT_OFFSET_POS);
+  }
+
+  synchronized void setNextOffset(long nextOffset) {
+    buffer.putLong(NEXT_OFFSET_POS, nextOffset);
+  }
+
+  // true if some keys could not be added due to file size limit
+  synchronized boolean isFull() {
+    return buffer.getInt(FULL_POS) != 0;
+  }
+
+  synchronized void put(byte[] key, long offset) throws IOException {
+    long hash = hash(key);
+    int slot = findSlot(hash);
+    if (buffer.getLong(slotPos(slot)) == hash) {
+      buffer.putLong(slotPos(slot) + 8, offset);
+      return;
+    }
+    if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+      if (capacity >= maxCapacity) {
+        buffer.putInt(FULL_POS, 1);
+        return;
+      }
+      grow();
+      slot = findSlot(hash);
+    }
+    buffer.putLong(slotPos(slot), hash);
+    buffer.putLong(slotPos(slot) + 8, offset);
+    buffer.putInt(SIZE_POS, ++size);
+  }
+
+  // returns latest indexed offset for key, or -1 if key is not in index
+  synchronized long get(byte[] key) {
+    long hash = hash(key);
+    int slot = findSlot(hash);
+    return buffer.getLong(slotPos(slot)) == hash ? buffer.getLong(slotPos(slot) + 8) : -1;
+  }
+
+  // removes all entries, indexing should be restarted from the given offset
+  synchronized void reset(long nextOffset) throws IOException {
+    create(nextOffset);
+  }
+
+  // flushes index content to disk
+  synchronized void checkpoint() {
+    buffer.force();
+  }
+
+  @Override
+  public synchronized void close() {
+    buffer.force();
+  }
+
+  private int findSlot(long hash) {
+    int mask = capacity - 1;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while (true) {
+      long slotHash = buffer.getLong(slotPos(slot));
+      if (slotHash == 0 || slotHash == hash) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void create(long nextOffset) throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.deleteIfExists(tmp);
+    var newBuffer = map(tmp, fileSize(INITIAL_CAPACITY));
+    writeHeader(newBuffer, INITIAL_CAPACITY, 0, nextOffset);
+    replaceFile(tmp, newBuffer, INITIAL_CAPACITY, 0);
+  }
+
+  private void grow() throws IOException {
+    int newCapacity = capacity * 2;
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.deleteIfExists(tmp);
+    var newBuffer = map(tmp, fileSize(newCapacity));
+    writeHeader(newBuffer, newCapacity, size, nextOffset());
+    int mask = newCapacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      long hash = buffer.getLong(slotPos(i));
+      if (hash != 0) {
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (newBuffer.getLong(slotPos(slot)) != 0) {
+          slot = (slot + 1) & mask;
+        }
+        newBuffer.putLong(slotPos(slot), hash);
+        newBuffer.putLong(slotPos(slot) + 8, buffer.getLong(slotPos(i) + 8));
+      }
+    }
+    replaceFile(tmp, newBuffer, newCapacity, size);
+  }
+
+  private void replaceFile(Path tmp, MappedByteBuffer newBuffer, int newCapacity, int newSize) throws IOException {
+    newBuffer.force();
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    buffer = newBuffer;
+    capacity = newCapacity;
+    size = newSize;
+  }
+
+  private static void writeHeader(MappedByteBuffer buf, int capacity, int size, long nextOffset) {
+    buf.putInt(MAGIC_POS, MAGIC);
+    buf.putInt(CAPACITY_POS, capacity);
+    buf.putInt(SIZE_POS, size);
+    buf.putInt(FULL_POS, 0);
+    buf.putLong(NEXT_OFFSET_POS, nextOffset);
+  }
+
+  private static MappedByteBuffer map(Path path, long size) throws IOException {
+    try (var channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // mapping stays valid after channel is closed
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private static long fileSize(int capacity) {
+    return HEADER_SIZE + (long) capacity * SLOT_SIZE;
+  }
+
+  private static int slotPos(int slot) {
+    return HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+  private static long hash(byte[] key) {
+    long hash = Hashing.murmur3_128().hashBytes(key).asLong();
+    return hash == 0 ? 1 : hash; // zero hash marks empty slot
+  }
+}
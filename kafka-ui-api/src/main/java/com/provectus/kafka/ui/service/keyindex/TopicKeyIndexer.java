@@ -0,0 +1,145 @@
+package com.provectus.kafka.ui.service.keyindex;
+
+import com.provectus.kafka.ui.emitter.EnhancedConsumer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+/**
+ * Tails all topic's partitions (in dedicated thread) and puts records' keys into partitions' indexes.
+ * Indexing is resumed from indexes' checkpointed offsets. On errors consumer is recreated after delay.
+ */
+@Slf4j
+final class TopicKeyIndexer implements Closeable {
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+  private static final Duration CHECKPOINT_INTERVAL = Duration.ofSeconds(10);
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+  private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+  private final String topic;
+  private final int partitions;
+  private final Map<Integer, PartitionKeyIndex> indexes = new HashMap<>();
+  private final Supplier<EnhancedConsumer> consumerSupplier;
+  private final Thread thread;
+
+  private volatile boolean running = true;
+  private volatile EnhancedConsumer consumer;
+
+  TopicKeyIndexer(String topic,
+                  int partitions,
+                  Path directory,
+                  long maxBytesPerPartition,
+                  Supplier<EnhancedConsumer> consumerSupplier) throws IOException {
+    this.topic = topic;
+    this.partitions = partitions;
+    this.consumerSupplier = consumerSupplier;
+    Files.createDirectories(directory);
+    try {
+      for (int p = 0; p < partitions; p++) {
+        indexes.put(p, PartitionKeyIndex.open(directory.resolve(p + ".idx"), maxBytesPerPartition));
+      }
+    } catch (IOException e) {
+      indexes.values().forEach(PartitionKeyIndex::close);
+      throw e;
+    }
+    this.thread = new Thread(this::run, "kafka-ui-key-indexer-" + topic);
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  int partitions() {
+    return partitions;
+  }
+
+  Optional<KeyIndexLookup> lookup(int partition, byte[] key) {
+    return Optional.ofNullable(indexes.get(partition))
+        .map(idx -> {
+          // reading next offset first: key's offset can only be updated with offset < next offset
+          long indexedUpTo = idx.nextOffset();
+          return new KeyIndexLookup(idx.get(key), indexedUpTo, idx.isFull());
+        });
+  }
+
+  private void run() {
+    while (running) {
+      try (var c = consumerSupplier.get()) {
+        consumer = c;
+        index(c);
+      } catch (WakeupException e) {
+        log.debug("Key indexer for topic '{}' stopped", topic);
+      } catch (Exception e) {
+        log.warn("Error indexing topic '{}' keys, will retry in {}", topic, RETRY_DELAY, e);
+        sleep(RETRY_DELAY);
+      }
+    }
+  }
+
+  private void index(EnhancedConsumer c) throws IOException {
+    List<TopicPartition> tps = IntStream.range(0, partitions).mapToObj(p -> new TopicPartition(topic, p)).toList();
+    c.assign(tps);
+    var beginOffsets = c.beginningOffsets(tps);
+    var endOffsets = c.endOffsets(tps);
+    for (TopicPartition tp : tps) {
+      var index = indexes.get(tp.partition());
+      if (index.nextOffset() > endOffsets.get(tp)) {
+        log.info("Partition {} was truncated or recreated, rebuilding its key index", tp);
+        index.reset(beginOffsets.get(tp));
+      }
+      c.seek(tp, Math.max(index.nextOffset(), beginOffsets.get(tp)));
+    }
+    long lastCheckpoint = System.currentTimeMillis();
+    while (running) {
+      for (var rec : c.pollEnhanced(POLL_TIMEOUT)) {
+        if (rec.key() != null) {
+          indexes.get(rec.partition()).put(rec.key().get(), rec.offset());
+        }
+      }
+      for (TopicPartition tp : tps) {
+        indexes.get(tp.partition()).setNextOffset(c.position(tp));
+      }
+      if (System.currentTimeMillis() - lastCheckpoint >= CHECKPOINT_INTERVAL.toMillis()) {
+        indexes.values().forEach(PartitionKeyIndex::checkpoint);
+        lastCheckpoint = System.currentTimeMillis();
+      }
+    }
+  }
+
+  private void sleep(Duration duration) {
+    long until = System.currentTimeMillis() + duration.toMillis();
+    while (running && System.currentTimeMillis() < until) {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    Optional.ofNullable(consumer).ifPresent(EnhancedConsumer::wakeup);
+    try {
+      thread.join(STOP_TIMEOUT.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    indexes.values().forEach(PartitionKeyIndex::close);
+  }
+}
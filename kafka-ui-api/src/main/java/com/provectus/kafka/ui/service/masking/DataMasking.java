@@ -70,6 +70,10 @@ public class DataMasking {
         .content(valMasker.apply(msg.getContent()));
   }
 
+  public boolean hasMasksForTopic(String topic, Serde.Target target) {
+    return masks.stream().anyMatch(m -> m.shouldBeApplied(topic, target));
+  }
+
   @VisibleForTesting
   UnaryOperator<String> getMaskingFunction(String topic, Serde.Target target) {
     var targetMasks = masks.stream().filter(m -> m.shouldBeApplied(topic, target)).toList();
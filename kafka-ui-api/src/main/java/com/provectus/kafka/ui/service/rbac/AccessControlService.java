@@ -7,7 +7,6 @@ import com.provectus.kafka.ui.config.auth.RbacUser;
 import com.provectus.kafka.ui.config.auth.RoleBasedAccessControlProperties;
 import com.provectus.kafka.ui.model.ClusterDTO;
 import com.provectus.kafka.ui.model.ConnectDTO;
-import com.provectus.kafka.ui.model.InternalTopic;
 import com.provectus.kafka.ui.model.rbac.AccessContext;
 import com.provectus.kafka.ui.model.rbac.Permission;
 import com.provectus.kafka.ui.model.rbac.Resource;
@@ -217,23 +216,21 @@ public class AccessControlService {
     return isAccessible(Resource.TOPIC, context.getTopic(), user, context, requiredActions);
   }
 
-  public Mono<List<InternalTopic>> filterViewableTopics(List<InternalTopic> topics, String clusterName) {
+  public Mono<Predicate<String>> getViewableTopicsFilter(String clusterName) {
     if (!rbacEnabled) {
-      return Mono.just(topics);
+      return Mono.just(topic -> true);
     }
 
     return getUser()
-        .map(user -> topics.stream()
-            .filter(topic -> {
-                  var accessContext = AccessContext
-                      .builder()
-                      .cluster(clusterName)
-                      .topic(topic.getName())
-                      .topicActions(TopicAction.VIEW)
-                      .build();
-                  return isTopicAccessible(accessContext, user);
-                }
-            ).toList());
+        .map(user -> topic -> {
+          var accessContext = AccessContext
+              .builder()
+              .cluster(clusterName)
+              .topic(topic)
+              .topicActions(TopicAction.VIEW)
+              .build();
+          return isTopicAccessible(accessContext, user);
+        });
   }
 
   private boolean isConsumerGroupAccessible(AccessContext context, AuthenticatedUser user) {
@@ -14,6 +14,7 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.pool2.KeyedObjectPool;
 
 @RequiredArgsConstructor(access = PRIVATE)
 public class ApplicationMetrics {
@@ -74,6 +75,15 @@ public class ApplicationMetrics {
         .register(registry);
   }
 
+  public void meterMessagesPageCacheLookup(boolean hit) {
+    Counter.builder(COMMON_PREFIX + "messages_page_cache_lookups")
+        .description("Number of messages page cache lookups")
+        .tag("cluster", clusterName)
+        .tag("result", hit ? "hit" : "miss")
+        .register(registry)
+        .increment();
+  }
+
   public AtomicInteger activeConsumers() {
     var count = new AtomicInteger();
     Gauge.builder(COMMON_PREFIX + "active_consumers", () -> count)
@@ -83,4 +93,16 @@ public class ApplicationMetrics {
     return count;
   }
 
+  // pool is shared by all consumer configurations of the cluster, so gauges report totals across them
+  public void registerConsumersPool(KeyedObjectPool<?, ?> pool) {
+    Gauge.builder(COMMON_PREFIX + "consumers_pool_idle", pool, KeyedObjectPool::getNumIdle)
+        .description("Number of idle consumers in pool")
+        .tag("cluster", clusterName)
+        .register(registry);
+    Gauge.builder(COMMON_PREFIX + "consumers_pool_active", pool, KeyedObjectPool::getNumActive)
+        .description("Number of consumers borrowed from pool")
+        .tag("cluster", clusterName)
+        .register(registry);
+  }
+
 }
@@ -0,0 +1,373 @@
+package com.provectus.kafka.ui.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable hash map (hash array mapped trie) with structural sharing: {@link #plus} and {@link #minus} return
+ * updated copies in O(log32 n), sharing all untouched trie nodes with original map. Nulls are not supported.
+ * Mutation methods of {@link Map} interface throw {@link UnsupportedOperationException}.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  // 7 bitmap node levels are enough to consume 32-bit hash, + collision node level
+  private static final int MAX_DEPTH = 8;
+
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+  private final TrieNode root;
+  private final int size;
+
+  private PersistentMap(TrieNode root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof PersistentMap<?, ?> persistent) {
+      return (PersistentMap<K, V>) persistent;
+    }
+    return PersistentMap.<K, V>empty().plusAll(map);
+  }
+
+  public PersistentMap<K, V> plus(K key, V value) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    var change = new SizeChange();
+    TrieNode newRoot = root.put(key, value, key.hashCode(), 0, change);
+    return newRoot == root ? this : new PersistentMap<>(newRoot, size + change.delta);
+  }
+
+  public PersistentMap<K, V> plusAll(Map<? extends K, ? extends V> entries) {
+    PersistentMap<K, V> result = this;
+    for (Map.Entry<? extends K, ? extends V> e : entries.entrySet()) {
+      result = result.plus(e.getKey(), e.getValue());
+    }
+    return result;
+  }
+
+  public PersistentMap<K, V> minus(Object key) {
+    if (key == null) {
+      return this;
+    }
+    var change = new SizeChange();
+    TrieNode newRoot = root.remove(key, key.hashCode(), 0, change);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap<>(newRoot == null ? BitmapNode.EMPTY : newRoot, size + change.delta);
+  }
+
+  public PersistentMap<K, V> minusAll(Collection<?> keys) {
+    PersistentMap<K, V> result = this;
+    for (Object key : keys) {
+      result = result.minus(key);
+    }
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    return key == null ? null : (V) root.get(key, key.hashCode(), 0);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private static final class SizeChange {
+    int delta;
+  }
+
+  private interface TrieNode {
+
+    Object get(Object key, int hash, int shift);
+
+    // returns same node if nothing changed
+    TrieNode put(Object key, Object value, int hash, int shift, SizeChange change);
+
+    // returns same node if nothing changed, null if node became empty
+    TrieNode remove(Object key, int hash, int shift, SizeChange change);
+
+    // entries and sub-nodes
+    Object[] slots();
+  }
+
+  private static final class BitmapNode implements TrieNode {
+
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    @Override
+    public Object[] slots() {
+      return slots;
+    }
+
+    @Override
+    public Object get(Object key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      Object slot = slots[index(bit)];
+      if (slot instanceof TrieNode node) {
+        return node.get(key, hash, shift + BITS);
+      }
+      var entry = (Entry<?, ?>) slot;
+      return entry.getKey().equals(key) ? entry.getValue() : null;
+    }
+
+    @Override
+    public TrieNode put(Object key, Object value, int hash, int shift, SizeChange change) {
+      int bit = bit(hash, shift);
+      int idx = index(bit);
+      if ((bitmap & bit) == 0) {
+        Object[] newSlots = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, newSlots, 0, idx);
+        newSlots[idx] = new SimpleImmutableEntry<>(key, value);
+        System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+        change.delta = 1;
+        return new BitmapNode(bitmap | bit, newSlots);
+      }
+      Object slot = slots[idx];
+      Object newSlot;
+      if (slot instanceof TrieNode node) {
+        newSlot = node.put(key, value, hash, shift + BITS, change);
+      } else {
+        var entry = (Entry<?, ?>) slot;
+        if (entry.getKey().equals(key)) {
+          newSlot = entry.getValue().equals(value) ? entry : new SimpleImmutableEntry<>(key, value);
+        } else {
+          var added = new SimpleImmutableEntry<>(key, value);
+          newSlot = split(entry, entry.getKey().hashCode(), added, hash, shift + BITS);
+          change.delta = 1;
+        }
+      }
+      return newSlot == slot ? this : withSlot(idx, newSlot);
+    }
+
+    @Override
+    public TrieNode remove(Object key, int hash, int shift, SizeChange change) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int idx = index(bit);
+      Object slot = slots[idx];
+      if (slot instanceof TrieNode node) {
+        TrieNode newNode = node.remove(key, hash, shift + BITS, change);
+        if (newNode == node) {
+          return this;
+        }
+        if (newNode == null) {
+          return withoutSlot(idx, bit);
+        }
+        // keeping trie compact: sub-node with single entry is replaced by that entry
+        Object[] newNodeSlots = newNode.slots();
+        if (newNodeSlots.length == 1 && !(newNodeSlots[0] instanceof TrieNode)) {
+          return withSlot(idx, newNodeSlots[0]);
+        }
+        return withSlot(idx, newNode);
+      }
+      if (!((Entry<?, ?>) slot).getKey().equals(key)) {
+        return this;
+      }
+      change.delta = -1;
+      return withoutSlot(idx, bit);
+    }
+
+    private TrieNode withSlot(int idx, Object slot) {
+      Object[] newSlots = slots.clone();
+      newSlots[idx] = slot;
+      return new BitmapNode(bitmap, newSlots);
+    }
+
+    private TrieNode withoutSlot(int idx, int bit) {
+      if (slots.length == 1) {
+        return null;
+      }
+      Object[] newSlots = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, newSlots, 0, idx);
+      System.arraycopy(slots, idx + 1, newSlots, idx, slots.length - idx - 1);
+      return new BitmapNode(bitmap & ~bit, newSlots);
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private static int bit(int hash, int shift) {
+      return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static TrieNode split(Entry<?, ?> e1, int hash1, Entry<?, ?> e2, int hash2, int shift) {
+      if (shift >= Integer.SIZE) {
+        return new CollisionNode(new Object[] {e1, e2});
+      }
+      int bit1 = bit(hash1, shift);
+      int bit2 = bit(hash2, shift);
+      if (bit1 == bit2) {
+        return new BitmapNode(bit1, new Object[] {split(e1, hash1, e2, hash2, shift + BITS)});
+      }
+      // slots are ordered by bit position
+      return new BitmapNode(bit1 | bit2, Integer.compareUnsigned(bit1, bit2) < 0
+          ? new Object[] {e1, e2}
+          : new Object[] {e2, e1});
+    }
+  }
+
+  // entries with fully equal hashes
+  private static final class CollisionNode implements TrieNode {
+
+    private final Object[] entries;
+
+    CollisionNode(Object[] entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    public Object[] slots() {
+      return entries;
+    }
+
+    @Override
+    public Object get(Object key, int hash, int shift) {
+      int idx = indexOf(key);
+      return idx < 0 ? null : ((Entry<?, ?>) entries[idx]).getValue();
+    }
+
+    @Override
+    public TrieNode put(Object key, Object value, int hash, int shift, SizeChange change) {
+      int idx = indexOf(key);
+      if (idx >= 0) {
+        if (((Entry<?, ?>) entries[idx]).getValue().equals(value)) {
+          return this;
+        }
+        Object[] newEntries = entries.clone();
+        newEntries[idx] = new SimpleImmutableEntry<>(key, value);
+        return new CollisionNode(newEntries);
+      }
+      Object[] newEntries = new Object[entries.length + 1];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = new SimpleImmutableEntry<>(key, value);
+      change.delta = 1;
+      return new CollisionNode(newEntries);
+    }
+
+    @Override
+    public TrieNode remove(Object key, int hash, int shift, SizeChange change) {
+      int idx = indexOf(key);
+      if (idx < 0) {
+        return this;
+      }
+      change.delta = -1;
+      if (entries.length == 1) {
+        return null;
+      }
+      Object[] newEntries = new Object[entries.length - 1];
+      System.arraycopy(entries, 0, newEntries, 0, idx);
+      System.arraycopy(entries, idx + 1, newEntries, idx, entries.length - idx - 1);
+      return new CollisionNode(newEntries);
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < entries.length; i++) {
+        if (((Entry<?, ?>) entries[i]).getKey().equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+    private final Object[][] stack = new Object[MAX_DEPTH][];
+    private final int[] positions = new int[MAX_DEPTH];
+    private int depth;
+    private Entry<K, V> next;
+
+    EntryIterator() {
+      stack[0] = root.slots();
+      advance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        if (positions[depth] == stack[depth].length) {
+          depth--;
+          continue;
+        }
+        Object slot = stack[depth][positions[depth]++];
+        if (slot instanceof TrieNode node) {
+          depth++;
+          stack[depth] = node.slots();
+          positions[depth] = 0;
+        } else {
+          next = (Entry<K, V>) slot;
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Entry<K, V> result = next;
+      advance();
+      return result;
+    }
+  }
+}
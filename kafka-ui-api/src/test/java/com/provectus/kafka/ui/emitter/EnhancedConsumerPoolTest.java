@@ -0,0 +1,96 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.util.ApplicationMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EnhancedConsumerPoolTest {
+
+  private final EnhancedConsumerPool pool = new EnhancedConsumerPool(
+      props -> createConsumer(),
+      PollingSettings.createDefault(),
+      ApplicationMetrics.noop()
+  );
+
+  @AfterEach
+  void closePool() {
+    pool.close();
+  }
+
+  @Test
+  void closedConsumerReturnedToPoolAndReusedWithResetState() {
+    var tp = new TopicPartition("test", 0);
+    EnhancedConsumer first = pool.borrow();
+    first.assign(List.of(tp));
+    first.pause(List.of(tp));
+    first.close();
+
+    EnhancedConsumer second = pool.borrow();
+    assertThat(second).isSameAs(first);
+    assertThat(second.assignment()).isEmpty();
+    assertThat(second.paused()).isEmpty();
+    second.close();
+  }
+
+  @Test
+  void concurrentlyBorrowedConsumersAreDifferent() {
+    EnhancedConsumer first = pool.borrow();
+    EnhancedConsumer second = pool.borrow();
+    assertThat(second).isNotSameAs(first);
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void consumerIsNotReusedAfterWakeup() {
+    EnhancedConsumer first = pool.borrow();
+    first.wakeup();
+    first.close();
+
+    EnhancedConsumer second = pool.borrow();
+    assertThat(second).isNotSameAs(first);
+    second.close();
+  }
+
+  @Test
+  void poolSizeIsSharedBetweenConsumersWithDifferentProperties() {
+    var clustersProperties = new ClustersProperties();
+    clustersProperties.setPolling(new ClustersProperties.PollingProperties());
+    clustersProperties.getPolling().setConsumersPoolSize(1);
+    var settings = PollingSettings.create(new ClustersProperties.Cluster(), clustersProperties);
+    Map<String, Object> otherProps = Map.of(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10);
+
+    try (var singleConsumerPool = new EnhancedConsumerPool(props -> createConsumer(), settings,
+        ApplicationMetrics.noop())) {
+      EnhancedConsumer first = singleConsumerPool.borrow();
+      first.close();
+
+      // idle consumer with default properties is evicted to make room for a new one
+      EnhancedConsumer other = singleConsumerPool.borrow(otherProps);
+      assertThat(other).isNotSameAs(first);
+      other.close();
+      assertThat(singleConsumerPool.borrow(otherProps)).isSameAs(other);
+      other.close();
+
+      EnhancedConsumer second = singleConsumerPool.borrow();
+      assertThat(second).isNotSameAs(first);
+      second.close();
+    }
+  }
+
+  private static EnhancedConsumer createConsumer() {
+    Properties props = new Properties();
+    // consumer does not connect to brokers until first request, so any address is ok
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    return new EnhancedConsumer(props, PollingThrottler.noop(), ApplicationMetrics.noop());
+  }
+
+}
@@ -0,0 +1,178 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import com.provectus.kafka.ui.serdes.PropertyResolverImpl;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FilterMatchSamplerTest {
+
+  static final String TOPIC = "test";
+  static final TopicPartition TP0 = new TopicPartition(TOPIC, 0); //offsets: start 0, end 3000
+  static final TopicPartition TP1 = new TopicPartition(TOPIC, 1); //offsets: start 100, end 2100
+  static final Map<TopicPartition, Long> BEGIN_OFFSETS = Map.of(TP0, 0L, TP1, 100L);
+  static final Map<TopicPartition, Long> END_OFFSETS = Map.of(TP0, 3000L, TP1, 2100L);
+  static final long TOTAL_OFFSETS = 5000;
+
+  // ~30% of records match, match flags are fixed for the test run
+  final Map<TopicPartition, boolean[]> matching = Map.of(
+      TP0, randomFlags(3000, new Random(1)),
+      TP1, randomFlags(2000, new Random(2))
+  );
+
+  TopicConsumer consumer;
+
+  @BeforeEach
+  void initConsumer() {
+    consumer = new TopicConsumer();
+    consumer.updatePartitions(
+        TOPIC,
+        List.of(
+            new PartitionInfo(TOPIC, 0, null, null, null, null),
+            new PartitionInfo(TOPIC, 1, null, null, null, null)));
+    consumer.updateBeginningOffsets(BEGIN_OFFSETS);
+    consumer.updateEndOffsets(END_OFFSETS);
+  }
+
+  @Test
+  void smallRangeIsScannedFullyAndExactCountReturned() {
+    var estimate = sampler(10_000, Long.MAX_VALUE).sample(consumer);
+
+    long expectedMatches = countMatching();
+    assertThat(estimate.getExact()).isTrue();
+    assertThat(estimate.getOffsetsRange()).isEqualTo(TOTAL_OFFSETS);
+    assertThat(estimate.getSampledRecords()).isEqualTo(TOTAL_OFFSETS);
+    assertThat(estimate.getMatchedRecords()).isEqualTo(expectedMatches);
+    assertThat(estimate.getEstimatedMatches()).isEqualTo(expectedMatches);
+    assertThat(estimate.getEstimatedMatchesLower()).isEqualTo(expectedMatches);
+    assertThat(estimate.getEstimatedMatchesUpper()).isEqualTo(expectedMatches);
+    assertThat(estimate.getSampleMatches())
+        .hasSize(FilterMatchSampler.MAX_SAMPLE_MATCHES)
+        .allMatch(m -> m.getContent().equals("match"));
+  }
+
+  @Test
+  void largeRangeIsEstimatedBySample() {
+    var estimate = sampler(1_000, Long.MAX_VALUE).sample(consumer);
+
+    long expectedMatches = countMatching();
+    assertThat(estimate.getExact()).isFalse();
+    assertThat(estimate.getSampledRecords())
+        .isBetween(1_000, 1_000 + FilterMatchSampler.WINDOW_SIZE);
+    assertThat(estimate.getProbes()).isGreaterThanOrEqualTo(1_000 / FilterMatchSampler.WINDOW_SIZE);
+    assertThat(estimate.getMatchRateLower())
+        .isLessThan(estimate.getMatchRate())
+        .isLessThan((double) expectedMatches / TOTAL_OFFSETS);
+    assertThat(estimate.getMatchRateUpper())
+        .isGreaterThan(estimate.getMatchRate())
+        .isGreaterThan((double) expectedMatches / TOTAL_OFFSETS);
+    assertThat(estimate.getEstimatedMatchesLower()).isLessThan(expectedMatches);
+    assertThat(estimate.getEstimatedMatchesUpper()).isGreaterThan(expectedMatches);
+    assertThat(estimate.getSampleMatches())
+        .hasSize(FilterMatchSampler.MAX_SAMPLE_MATCHES)
+        .allMatch(m -> m.getContent().equals("match"));
+  }
+
+  @Test
+  void samplingStopsWhenBytesLimitReached() {
+    var estimate = sampler(1_000, 500).sample(consumer);
+
+    assertThat(estimate.getExact()).isFalse();
+    assertThat(estimate.getBytesPolled()).isLessThan(1_000);
+    assertThat(estimate.getSampledRecords()).isLessThan(1_000);
+    assertThat(estimate.getMatchRateLower()).isLessThanOrEqualTo(estimate.getMatchRate());
+    assertThat(estimate.getMatchRateUpper()).isGreaterThanOrEqualTo(estimate.getMatchRate());
+  }
+
+  private FilterMatchSampler sampler(int maxRecords, long maxBytes) {
+    return new FilterMatchSampler(
+        new ConsumerPosition(SeekTypeDTO.BEGINNING, TOPIC, null),
+        createDeserializer(),
+        MessageFilters.containsStringFilter("match"),
+        maxRecords,
+        maxBytes,
+        Duration.ofSeconds(30),
+        Duration.ofMillis(10),
+        new Random(42)
+    );
+  }
+
+  private long countMatching() {
+    long count = 0;
+    for (boolean[] flags : matching.values()) {
+      for (boolean flag : flags) {
+        count += flag ? 1 : 0;
+      }
+    }
+    return count;
+  }
+
+  private static boolean[] randomFlags(int size, Random random) {
+    boolean[] flags = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      flags[i] = random.nextDouble() < 0.3;
+    }
+    return flags;
+  }
+
+  private static ConsumerRecordDeserializer createDeserializer() {
+    Serde serde = new StringSerde();
+    serde.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return new ConsumerRecordDeserializer(
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.KEY),
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.VALUE),
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.KEY),
+        serde.deserializer(null, Serde.Target.VALUE),
+        msg -> msg
+    );
+  }
+
+  // returns up to 50 records from assigned partitions' positions on each poll
+  class TopicConsumer extends MockConsumer<Bytes, Bytes> {
+
+    TopicConsumer() {
+      super(OffsetResetStrategy.EARLIEST);
+    }
+
+    @Override
+    public synchronized ConsumerRecords<Bytes, Bytes> poll(Duration timeout) {
+      for (TopicPartition tp : assignment()) {
+        long from = position(tp);
+        long to = Math.min(from + 50, END_OFFSETS.get(tp));
+        for (long offset = from; offset < to; offset++) {
+          boolean matches = matching.get(tp)[(int) (offset - BEGIN_OFFSETS.get(tp))];
+          byte[] value = (matches ? "match" : "other").getBytes(StandardCharsets.UTF_8);
+          addRecord(new ConsumerRecord<>(
+              TOPIC, tp.partition(), offset, 0L, TimestampType.CREATE_TIME, 0, value.length,
+              null, Bytes.wrap(value), new RecordHeaders(), Optional.empty()));
+        }
+      }
+      return super.poll(timeout);
+    }
+  }
+}
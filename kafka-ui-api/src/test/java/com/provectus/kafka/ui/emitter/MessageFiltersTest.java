@@ -67,6 +67,14 @@ class MessageFiltersTest {
           () -> groovyScriptFilter("this is invalid groovy syntax = 1"));
     }
 
+    @Test
+    void bindingsAreResetBetweenMessages() {
+      var f = groovyScriptFilter("if (offset == 1) { flag = true }; value.name == 'n' && binding.hasVariable('flag')");
+      assertTrue(f.test(msg().offset(1L).content("{\"name\": \"n\"}")));
+      assertFalse(f.test(msg().offset(2L).content("{\"name\": \"n\"}")));
+      assertFalse(f.test(msg().offset(1L).content("{\"name\": \"other\"}")));
+    }
+
     @Test
     void canCheckPartition() {
       var f = groovyScriptFilter("partition == 1");
@@ -0,0 +1,107 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.provectus.kafka.ui.model.TopicMessageConsumingDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.model.TopicMessagePhaseDTO;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+
+class MessageFramesEncoderTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final MessageFramesEncoder encoder = new MessageFramesEncoder(mapper);
+
+  @Test
+  void encodesOnlyForExplicitlyRequestedMediaType() {
+    var eventType = ResolvableType.forClass(TopicMessageEventDTO.class);
+    assertThat(encoder.canEncode(eventType, MessageFramesEncoder.MEDIA_TYPE)).isTrue();
+    assertThat(encoder.canEncode(eventType, null)).isFalse();
+    assertThat(encoder.canEncode(eventType, MediaType.APPLICATION_JSON)).isFalse();
+    assertThat(encoder.canEncode(eventType, MediaType.TEXT_EVENT_STREAM)).isFalse();
+    assertThat(encoder.canEncode(ResolvableType.forClass(String.class), MessageFramesEncoder.MEDIA_TYPE)).isFalse();
+  }
+
+  @Test
+  void messageKeyAndContentAreWrittenRaw() throws Exception {
+    String content = "{\"field\": \"quoted \\\"value\\\"\"}";
+    var frame = encoder.encodeFrame(
+        new TopicMessageEventDTO()
+            .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+            .message(new TopicMessageDTO()
+                .partition(1)
+                .offset(100L)
+                .key(null)
+                .content(content)
+                .headers(Map.of("h", "v"))));
+
+    assertThat(frame.getInt()).isEqualTo(frame.remaining());
+    assertThat(frame.get()).isEqualTo((byte) 2);
+
+    var metadata = mapper.readTree(section(frame));
+    assertThat(metadata.get("partition").asInt()).isEqualTo(1);
+    assertThat(metadata.get("offset").asLong()).isEqualTo(100L);
+    assertThat(metadata.get("headers").get("h").asText()).isEqualTo("v");
+    assertThat(metadata.has("key")).isFalse();
+    assertThat(metadata.has("content")).isFalse();
+
+    assertThat(section(frame)).isNull();
+    assertThat(new String(section(frame), StandardCharsets.UTF_8)).isEqualTo(content);
+    assertThat(frame.hasRemaining()).isFalse();
+  }
+
+  @Test
+  void nonMessageEventsAreWrittenAsFixedFields() {
+    var phase = encoder.encodeFrame(
+        new TopicMessageEventDTO()
+            .type(TopicMessageEventDTO.TypeEnum.PHASE)
+            .phase(new TopicMessagePhaseDTO().name("Polling partition: 1")));
+    assertThat(phase.getInt()).isEqualTo(phase.remaining());
+    assertThat(phase.get()).isEqualTo((byte) 1);
+    assertThat(StandardCharsets.UTF_8.decode(phase).toString()).isEqualTo("Polling partition: 1");
+
+    var done = encoder.encodeFrame(
+        new TopicMessageEventDTO()
+            .type(TopicMessageEventDTO.TypeEnum.DONE)
+            .consuming(new TopicMessageConsumingDTO()
+                .bytesConsumed(1000L)
+                .elapsedMs(15L)
+                .isCancelled(false)
+                .messagesConsumed(10)
+                .filterApplyErrors(null)));
+    assertThat(done.getInt()).isEqualTo(done.remaining());
+    assertThat(done.get()).isEqualTo((byte) 4);
+    assertThat(done.get()).isEqualTo((byte) 1);
+    assertThat(done.getLong()).isEqualTo(1000L);
+    assertThat(done.getLong()).isEqualTo(15L);
+    assertThat(done.get()).isEqualTo((byte) 0);
+    assertThat(done.getInt()).isEqualTo(10);
+    assertThat(done.getInt()).isEqualTo(-1);
+    assertThat(done.hasRemaining()).isFalse();
+
+    var throttling = encoder.encodeFrame(
+        new TopicMessageEventDTO()
+            .type(TopicMessageEventDTO.TypeEnum.EMIT_THROTTLING)
+            .skippedMessages(5L));
+    assertThat(throttling.getInt()).isEqualTo(9);
+    assertThat(throttling.get()).isEqualTo((byte) 5);
+    assertThat(throttling.getLong()).isEqualTo(5L);
+  }
+
+  private static byte[] section(ByteBuffer frame) {
+    int length = frame.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    frame.get(bytes);
+    return bytes;
+  }
+}
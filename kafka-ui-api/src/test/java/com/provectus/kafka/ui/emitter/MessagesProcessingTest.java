@@ -2,16 +2,29 @@ package com.provectus.kafka.ui.emitter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.Streams;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import com.provectus.kafka.ui.serdes.PropertyResolverImpl;
+import com.provectus.kafka.ui.serdes.builtin.StringSerde;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.common.utils.Bytes;
 import org.junit.jupiter.api.RepeatedTest;
+import reactor.core.publisher.Flux;
 
 class MessagesProcessingTest {
 
@@ -58,6 +71,96 @@ class MessagesProcessingTest {
     assertThat(sortedList).containsExactlyElementsOf(messagesInOrder);
   }
 
+  @RepeatedTest(5)
+  void filterMatchesOfDisjointRecordsSetsAreSentInSameOrderAsWithSequentialSend() {
+    var records = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+    for (int partition = 0; partition < 4; partition++) {
+      for (long offset = 0; offset < 20; offset++) {
+        records.add(consumerRecord(partition, offset, "2000-01-01T00:00:%02d+00:00".formatted(offset)));
+      }
+    }
+    Collections.shuffle(records);
+    Predicate<TopicMessageDTO> filter = msg -> msg.getOffset() % 3 == 0;
+
+    var sequential = new MessagesProcessing(createDeserializer(), filter, true, 10);
+    List<TopicMessageEventDTO> sentSequentially = Flux.<TopicMessageEventDTO>create(sink -> {
+      sequential.send(sink, records);
+      sink.complete();
+    }).collectList().block();
+
+    var parallel = new MessagesProcessing(createDeserializer(), filter, true, 10);
+    List<TopicMessageEventDTO> sentParallel = Flux.<TopicMessageEventDTO>create(sink -> {
+      Map<ConsumerRecord<Bytes, Bytes>, TopicMessageDTO> matches = new HashMap<>();
+      matches.putAll(parallel.filterMatches(records.stream().filter(r -> r.partition() < 2).toList()));
+      matches.putAll(parallel.filterMatches(records.stream().filter(r -> r.partition() >= 2).toList()));
+      parallel.sendMatches(sink, matches);
+      sink.complete();
+    }).collectList().block();
+
+    assertThat(sentParallel)
+        .hasSize(10)
+        .extracting(e -> e.getMessage().getPartition() + "-" + e.getMessage().getOffset())
+        .containsExactlyElementsOf(
+            sentSequentially.stream().map(e -> e.getMessage().getPartition() + "-" + e.getMessage().getOffset())
+                .toList());
+  }
+
+  @RepeatedTest(5)
+  void sendDeserializesInParallelButSendsInSortedOrderUpToLimit() {
+    var records = new ArrayList<ConsumerRecord<Bytes, Bytes>>();
+    for (int partition = 0; partition < 4; partition++) {
+      for (long offset = 0; offset < 250; offset++) {
+        records.add(consumerRecord(partition, offset, "2000-01-01T00:00:00+00:00"));
+      }
+    }
+    Collections.shuffle(records);
+    var deserialized = new AtomicInteger();
+    var processing = new MessagesProcessing(
+        createDeserializer(msg -> {
+          deserialized.incrementAndGet();
+          return msg;
+        }),
+        msg -> msg.getOffset() % 2 == 0,
+        true,
+        300
+    );
+
+    List<TopicMessageEventDTO> sent = Flux.<TopicMessageEventDTO>create(sink -> {
+      processing.send(sink, records);
+      sink.complete();
+    }).collectList().block();
+
+    var expected = Streams.stream(MessagesProcessing.sortForSending(records, true))
+        .filter(r -> r.offset() % 2 == 0)
+        .limit(300)
+        .map(r -> r.partition() + "-" + r.offset())
+        .toList();
+    assertThat(sent)
+        .extracting(e -> e.getMessage().getPartition() + "-" + e.getMessage().getOffset())
+        .containsExactlyElementsOf(expected);
+    // not all records should be deserialized, since limit is reached before
+    assertThat(deserialized.get()).isLessThan(records.size());
+  }
+
+  private static ConsumerRecordDeserializer createDeserializer() {
+    return createDeserializer(msg -> msg);
+  }
+
+  private static ConsumerRecordDeserializer createDeserializer(UnaryOperator<TopicMessageDTO> masker) {
+    Serde serde = new StringSerde();
+    serde.configure(PropertyResolverImpl.empty(), PropertyResolverImpl.empty(), PropertyResolverImpl.empty());
+    return new ConsumerRecordDeserializer(
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.KEY),
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.VALUE),
+        StringSerde.name(),
+        serde.deserializer(null, Serde.Target.KEY),
+        serde.deserializer(null, Serde.Target.VALUE),
+        masker
+    );
+  }
+
   private ConsumerRecord<Bytes, Bytes> consumerRecord(int partition, long offset, String ts) {
     return new ConsumerRecord<>(
         "topic", partition, offset, OffsetDateTime.parse(ts).toInstant().toEpochMilli(),
@@ -0,0 +1,67 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PollingRangeSizerTest {
+
+  private static final long UNLIMITED_BYTES = Long.MAX_VALUE;
+
+  @Test
+  void firstRoundSplitsMessagesToFindBetweenPartitions() {
+    var sizer = new PollingRangeSizer(100, UNLIMITED_BYTES);
+    assertThat(sizer.nextPerPartition(3, 0, 0, 0, 0)).isEqualTo(34);
+  }
+
+  @Test
+  void rangeGrowsGeometricallyWhileNothingMatches() {
+    var sizer = new PollingRangeSizer(100, UNLIMITED_BYTES);
+    int perPartition = sizer.nextPerPartition(10, 0, 0, 0, 0);
+    assertThat(perPartition).isEqualTo(10);
+
+    for (int round = 1; round <= 3; round++) {
+      int next = sizer.nextPerPartition(10, perPartition * 10L, 0, 1000, 0);
+      assertThat(next).isEqualTo(perPartition * PollingRangeSizer.MAX_GROWTH_FACTOR);
+      perPartition = next;
+    }
+  }
+
+  @Test
+  void rangeIsSizedByObservedMatchRatio() {
+    var sizer = new PollingRangeSizer(100, UNLIMITED_BYTES);
+    sizer.nextPerPartition(10, 0, 0, 0, 0);
+    // no matches in first 100 offsets -> range grows 4x
+    assertThat(sizer.nextPerPartition(10, 100, 0, 0, 0)).isEqualTo(40);
+    // 2 matches in 400 offsets -> 98 remaining needs 19600 offsets, but growth is limited to 4x
+    assertThat(sizer.nextPerPartition(10, 400, 2, 0, 2)).isEqualTo(160);
+    // 80 matches in 1600 offsets -> 18 remaining needs 360 offsets
+    assertThat(sizer.nextPerPartition(10, 1600, 80, 0, 82)).isEqualTo(36);
+  }
+
+  @Test
+  void rangeShrinksBackToMinimumWhenMatchesAreDense() {
+    var sizer = new PollingRangeSizer(100, UNLIMITED_BYTES);
+    sizer.nextPerPartition(10, 0, 0, 0, 0);
+    sizer.nextPerPartition(10, 100, 0, 0, 0);
+    assertThat(sizer.nextPerPartition(10, 400, 0, 0, 0)).isEqualTo(160);
+    assertThat(sizer.nextPerPartition(10, 1600, 1500, 0, 1500)).isEqualTo(10);
+  }
+
+  @Test
+  void rangeIsBoundedByBytesBudget() {
+    var sizer = new PollingRangeSizer(100, 10_000);
+    sizer.nextPerPartition(10, 0, 0, 0, 0);
+    // 100 offsets polled with 10 bytes per offset -> budget allows 1000 offsets (100 per partition)
+    assertThat(sizer.nextPerPartition(10, 100, 0, 1000, 0)).isEqualTo(40);
+    assertThat(sizer.nextPerPartition(10, 400, 0, 4000, 0)).isEqualTo(100);
+    assertThat(sizer.nextPerPartition(10, 1000, 0, 10_000, 0)).isEqualTo(100);
+  }
+
+  @Test
+  void bytesBudgetDoesNotShrinkRangeBelowMinimum() {
+    var sizer = new PollingRangeSizer(100, 10);
+    sizer.nextPerPartition(10, 0, 0, 0, 0);
+    assertThat(sizer.nextPerPartition(10, 100, 0, 1_000_000, 0)).isEqualTo(10);
+  }
+}
@@ -0,0 +1,53 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class RawStringPrefilterTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "order-123, {\"id\":\"order-123\"}, true",
+      "order-123, order-12, false",
+      "order-123, order-1234, true",
+      "абв, 'текст абв', true",
+      "абв, 'текст аб', false",
+      "aab, aaab, true",
+      "abc, xabxbcabc, true",
+      "'', anything, true"
+  })
+  void searchesUtf8BytesOfString(String needle, String text, boolean expected) {
+    var prefilter = new RawStringPrefilter(needle, true, true);
+    assertThat(prefilter.contains(text.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+  }
+
+  @Test
+  void passesRecordIfStringCanBeInNotSearchableValue() {
+    var prefilter = new RawStringPrefilter("needle", true, false);
+    assertThat(prefilter.test(record("key", "value"))).isTrue();
+    assertThat(prefilter.test(record("key", null))).isFalse();
+    assertThat(prefilter.test(record("key-needle", null))).isTrue();
+  }
+
+  @Test
+  void skipsRecordWithoutStringInSearchableKeyAndValue() {
+    var prefilter = new RawStringPrefilter("needle", true, true);
+    assertThat(prefilter.test(record("key", "value"))).isFalse();
+    assertThat(prefilter.test(record(null, "value with needle"))).isTrue();
+    assertThat(prefilter.test(record(null, null))).isFalse();
+  }
+
+  private static ConsumerRecord<Bytes, Bytes> record(String key, String value) {
+    return new ConsumerRecord<>(
+        "topic", 0, 0,
+        key == null ? null : Bytes.wrap(key.getBytes(StandardCharsets.UTF_8)),
+        value == null ? null : Bytes.wrap(value.getBytes(StandardCharsets.UTF_8))
+    );
+  }
+}
@@ -0,0 +1,95 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.utils.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RecordsOrderingTest {
+
+  private final Random random = new Random(42);
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void producesSameOrderAsMergeOfSortedPartitions(boolean asc) {
+    for (int i = 0; i < 50; i++) {
+      var records = randomRecords();
+      var shuffled = new ArrayList<>(records);
+      Collections.shuffle(shuffled, random);
+
+      var expected = referenceSort(records, asc);
+      assertThat(RecordsOrdering.sort(shuffled, asc)).containsExactlyElementsOf(expected);
+      assertThat(RecordsOrdering.sort(polledRecords(records), asc)).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void handlesEmptyAndSinglePartitionInput(boolean asc) {
+    assertThat(RecordsOrdering.sort(List.of(), asc)).isEmpty();
+
+    var singlePartition = List.of(record(0, 1, 300), record(0, 2, 100), record(0, 3, 200));
+    assertThat(RecordsOrdering.sort(singlePartition, asc))
+        .containsExactlyElementsOf(asc ? singlePartition : List.of(
+            singlePartition.get(2), singlePartition.get(1), singlePartition.get(0)));
+  }
+
+  // records within partitions are offset-ordered, timestamps are random (with duplicates)
+  private List<ConsumerRecord<Bytes, Bytes>> randomRecords() {
+    List<ConsumerRecord<Bytes, Bytes>> records = new ArrayList<>();
+    int partitions = 1 + random.nextInt(8);
+    for (int p = 0; p < partitions; p++) {
+      int count = random.nextInt(50);
+      for (int offset = 0; offset < count; offset++) {
+        records.add(record(p, offset, random.nextInt(100)));
+      }
+    }
+    return records;
+  }
+
+  private static List<ConsumerRecord<Bytes, Bytes>> referenceSort(List<ConsumerRecord<Bytes, Bytes>> records,
+                                                                  boolean asc) {
+    Comparator<ConsumerRecord<Bytes, Bytes>> offsets = Comparator.comparingLong(ConsumerRecord::offset);
+    Comparator<ConsumerRecord<Bytes, Bytes>> timestamps = Comparator.comparingLong(ConsumerRecord::timestamp);
+    var perPartition = records.stream()
+        .collect(Collectors.groupingBy(ConsumerRecord::partition, TreeMap::new, Collectors.toList()))
+        .values().stream()
+        .map(lst -> lst.stream().sorted(asc ? offsets : offsets.reversed()).toList())
+        .toList();
+    return ImmutableList.copyOf(
+        Iterables.mergeSorted(
+            perPartition,
+            (asc ? timestamps : timestamps.reversed()).thenComparing(ConsumerRecord::partition)));
+  }
+
+  private static PolledRecords polledRecords(List<ConsumerRecord<Bytes, Bytes>> records) {
+    Map<TopicPartition, List<ConsumerRecord<Bytes, Bytes>>> byPartition = records.stream()
+        .collect(Collectors.groupingBy(r -> new TopicPartition(r.topic(), r.partition())));
+    return PolledRecords.create(new ConsumerRecords<>(byPartition), Duration.ZERO);
+  }
+
+  private static ConsumerRecord<Bytes, Bytes> record(int partition, long offset, long timestamp) {
+    return new ConsumerRecord<>(
+        "topic", partition, offset, timestamp, TimestampType.CREATE_TIME,
+        0, 0, null, null, new RecordHeaders(), Optional.empty()
+    );
+  }
+}
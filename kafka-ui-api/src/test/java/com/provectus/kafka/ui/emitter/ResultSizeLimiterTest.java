@@ -0,0 +1,52 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import org.junit.jupiter.api.Test;
+
+class ResultSizeLimiterTest {
+
+  @Test
+  void limitsNumberOfMessages() {
+    var limiter = new ResultSizeLimiter(2);
+    assertThat(limiter.test(message(10))).isTrue();
+    assertThat(limiter.test(phase())).isTrue();
+    assertThat(limiter.test(message(10))).isTrue();
+    assertThat(limiter.limitReached()).isTrue();
+    assertThat(limiter.test(message(10))).isFalse();
+    assertThat(limiter.test(phase())).isTrue();
+  }
+
+  @Test
+  void messageThatDoesNotFitIntoBytesBudgetIsNotSent() {
+    long messageSize = ResultSizeLimiter.estimateSize(message(1000).getMessage());
+    var limiter = new ResultSizeLimiter(100, messageSize * 2 + 10);
+    assertThat(limiter.test(message(1000))).isTrue();
+    assertThat(limiter.test(message(1000))).isTrue();
+    assertThat(limiter.limitReached()).isFalse();
+
+    assertThat(limiter.test(message(1000))).isFalse();
+    assertThat(limiter.limitReached()).isTrue();
+    // smaller message would fit, but limit is already reached
+    assertThat(limiter.test(message(1))).isFalse();
+  }
+
+  @Test
+  void firstMessageIsSentEvenIfLargerThanBytesBudget() {
+    var limiter = new ResultSizeLimiter(100, 10);
+    assertThat(limiter.test(message(1000))).isTrue();
+    assertThat(limiter.limitReached()).isTrue();
+  }
+
+  private static TopicMessageEventDTO message(int contentLength) {
+    return new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .message(new TopicMessageDTO().content("x".repeat(contentLength)));
+  }
+
+  private static TopicMessageEventDTO phase() {
+    return new TopicMessageEventDTO().type(TopicMessageEventDTO.TypeEnum.PHASE);
+  }
+}
@@ -0,0 +1,66 @@
+package com.provectus.kafka.ui.emitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.TopicMessageConsumingDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class TailingEventsSamplerTest {
+
+  @Test
+  void sendsLatestMessagesOfWindowAndReportsSkippedOnes() {
+    var events = Flux.fromStream(LongStream.range(0, 10).mapToObj(TailingEventsSamplerTest::message))
+        .concatWith(Flux.just(consuming(5), consuming(10)));
+
+    List<TopicMessageEventDTO> sampled = events
+        .transform(TailingEventsSampler.sample(Duration.ofSeconds(10), 3))
+        .collectList()
+        .block();
+
+    assertThat(sampled)
+        .extracting(TopicMessageEventDTO::getType)
+        .containsExactly(
+            TopicMessageEventDTO.TypeEnum.MESSAGE,
+            TopicMessageEventDTO.TypeEnum.MESSAGE,
+            TopicMessageEventDTO.TypeEnum.MESSAGE,
+            TopicMessageEventDTO.TypeEnum.EMIT_THROTTLING,
+            TopicMessageEventDTO.TypeEnum.CONSUMING
+        );
+    assertThat(sampled.subList(0, 3))
+        .extracting(e -> e.getMessage().getOffset())
+        .containsExactly(7L, 8L, 9L);
+    assertThat(sampled.get(3).getSkippedMessages()).isEqualTo(7);
+    assertThat(sampled.get(4).getConsuming().getMessagesConsumed()).isEqualTo(10);
+  }
+
+  @Test
+  void doesNotReportThrottlingIfMessagesRateIsNotExceeded() {
+    List<TopicMessageEventDTO> sampled = Flux.just(message(0), message(1))
+        .transform(TailingEventsSampler.sample(Duration.ofSeconds(10), 3))
+        .collectList()
+        .block();
+
+    assertThat(sampled)
+        .extracting(TopicMessageEventDTO::getType)
+        .containsOnly(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .hasSize(2);
+  }
+
+  private static TopicMessageEventDTO message(long offset) {
+    return new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .message(new TopicMessageDTO().offset(offset));
+  }
+
+  private static TopicMessageEventDTO consuming(int messagesConsumed) {
+    return new TopicMessageEventDTO()
+        .type(TopicMessageEventDTO.TypeEnum.CONSUMING)
+        .consuming(new TopicMessageConsumingDTO().messagesConsumed(messagesConsumed));
+  }
+}
@@ -0,0 +1,141 @@
+package com.provectus.kafka.ui.emitter;
+
+import static com.provectus.kafka.ui.serde.api.DeserializeResult.Type.STRING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import com.provectus.kafka.ui.serde.api.DeserializeResult;
+import com.provectus.kafka.ui.serde.api.Serde;
+import com.provectus.kafka.ui.serdes.ConsumerRecordDeserializer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.FluxSink;
+import reactor.test.StepVerifier;
+
+class TailingHubTest {
+
+  private final TailingHub<String> hub = new TailingHub<>();
+  private final AtomicInteger startedEmitters = new AtomicInteger();
+
+  @Test
+  void singleEmitterIsSharedBetweenSubscribersWithDifferentFilters() {
+    var evenSubscriber = hub.subscribe("topic", this::emitter, m -> m.getOffset() % 2 == 0,
+            UnaryOperator.identity())
+        .filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .map(evt -> evt.getMessage().getOffset())
+        .take(3)
+        .collectList();
+
+    var oddSubscriber = hub.subscribe("topic", this::emitter, m -> m.getOffset() % 2 == 1,
+            UnaryOperator.identity())
+        .filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .map(evt -> evt.getMessage().getOffset())
+        .take(3)
+        .collectList();
+
+    StepVerifier.create(evenSubscriber.zipWith(oddSubscriber))
+        .assertNext(results -> {
+          assertThat(results.getT1()).hasSize(3).allMatch(offset -> offset % 2 == 0);
+          assertThat(results.getT2()).hasSize(3).allMatch(offset -> offset % 2 == 1);
+        })
+        .verifyComplete();
+
+    assertThat(startedEmitters).hasValue(1);
+  }
+
+  @Test
+  void sourceIsStoppedWhenLastSubscriberLeaves() {
+    StepVerifier.create(hub.subscribe("topic", this::emitter, m -> true, UnaryOperator.identity()).take(5))
+        .expectNextCount(5)
+        .verifyComplete();
+
+    StepVerifier.create(hub.subscribe("topic", this::emitter, m -> true, UnaryOperator.identity()).take(5))
+        .expectNextCount(5)
+        .verifyComplete();
+
+    // source is cancelled asynchronously on emitter's thread
+    sleep(200);
+    assertThat(hub.activeSources()).isZero();
+    assertThat(startedEmitters).hasValue(2);
+  }
+
+  @Test
+  void sourceIsReusedWhileAtLeastOneSubscriberIsActive() {
+    var previous = hub.subscribe("topic", this::emitter, m -> true, UnaryOperator.identity()).subscribe();
+    for (int i = 0; i < 50; i++) {
+      var next = hub.subscribe("topic", this::emitter, m -> true, UnaryOperator.identity()).subscribe();
+      previous.dispose();
+      previous = next;
+    }
+    assertThat(hub.activeSources()).isEqualTo(1);
+
+    previous.dispose();
+    assertThat(hub.activeSources()).isZero();
+    sleep(200);
+    assertThat(startedEmitters).hasValue(1);
+  }
+
+  @Test
+  void filterIsAppliedToFullValueAndMatchedMessagesAreTruncated() {
+    String value = "x".repeat(100) + "needle";
+    Serde.Deserializer deser = (headers, data) -> new DeserializeResult(new String(data, UTF_8), STRING, Map.of());
+    var previewDeserializer = new ConsumerRecordDeserializer(
+        "String", deser, "String", deser, "String", deser, deser, UnaryOperator.identity())
+        .withRawUtf8Text(true, true)
+        .withValuePreviewLimit(10);
+    Consumer<FluxSink<TopicMessageEventDTO>> emitter = sink -> {
+      long offset = 0;
+      while (!sink.isCancelled()) {
+        sink.next(
+            new TopicMessageEventDTO()
+                .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+                .message(new TopicMessageDTO().offset(offset++).headers(Map.of())
+                    .content(value).valueSize((long) value.length()))
+        );
+        sleep(1);
+      }
+    };
+
+    var matched = hub.subscribe("topic", () -> emitter, m -> m.getContent().contains("needle"),
+            previewDeserializer::preview)
+        .filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+        .map(TopicMessageEventDTO::getMessage)
+        .take(3);
+
+    StepVerifier.create(matched)
+        .thenConsumeWhile(msg -> {
+          assertThat(msg.getContent()).isEqualTo("x".repeat(10));
+          assertThat(msg.getValueTruncated()).isTrue();
+          return true;
+        })
+        .verifyComplete();
+  }
+
+  private Consumer<FluxSink<TopicMessageEventDTO>> emitter() {
+    return sink -> {
+      startedEmitters.incrementAndGet();
+      long offset = 0;
+      while (!sink.isCancelled()) {
+        sink.next(
+            new TopicMessageEventDTO()
+                .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+                .message(new TopicMessageDTO().offset(offset++).headers(Map.of()))
+        );
+        sleep(1);
+      }
+    };
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.provectus.kafka.ui.emitter.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.provectus.kafka.ui.exception.ValidationException;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ExpressionFilterTest {
+
+  private static final String VALUE = """
+      {
+        "id": 12,
+        "status": "FAILED",
+        "amount": 10.5,
+        "active": true,
+        "nothing": null,
+        "customer": { "name": "John", "tags": ["vip", "new"] },
+        "items": [ { "sku": "a-1", "qty": 2 }, { "sku": "b-2", "qty": 5 } ]
+      }
+      """;
+
+  @ParameterizedTest
+  @CsvSource(delimiter = ';', quoteCharacter = '`', value = {
+      "value.id == 12                                   ; true",
+      "value.id != 12                                   ; false",
+      "value.id > 11 && value.id <= 12                  ; true",
+      "value.amount >= 10.5                             ; true",
+      "value.amount < 10                                ; false",
+      "value.status == 'FAILED'                         ; true",
+      "value.status == \"FAILED\"                       ; true",
+      "value.status in ['OK', 'FAILED']                 ; true",
+      "value.status not in ['OK', 'FAILED']             ; false",
+      "value.customer.name matches '^Jo'                ; true",
+      "value.customer.tags[1] == 'new'                  ; true",
+      "value.items[1].qty == 5                          ; true",
+      "value['items'][0]['sku'] == 'a-1'                ; true",
+      "value.active                                     ; true",
+      "!value.active                                    ; false",
+      "value.nothing == null                            ; true",
+      "value.absent == null                             ; true",
+      "value.absent.deeper == null                      ; true",
+      "value.customer != null                           ; true",
+      "value.id == '12'                                 ; false",
+      "partition == 1 and offset == 100                 ; true",
+      "partition == 2 or offset == 100                  ; true",
+      "not (partition == 2 || offset == 101)            ; true",
+      "timestampMs == 1000                              ; true",
+      "headers.source == 'svc' && headers['x-id'] == '1' ; true",
+      "headers.absent == null                           ; true",
+      "key.type == 'order'                              ; true",
+      "keyAsText matches 'order'                        ; true",
+      "valueAsText matches '\"status\"'                 ; true",
+  })
+  void evaluatesExpressions(String expression, boolean expected) {
+    assertThat(ExpressionFilter.compile(expression).test(msg(VALUE))).isEqualTo(expected);
+  }
+
+  @Test
+  void wholeNonJsonValueIsComparedAsText() {
+    var filter = ExpressionFilter.compile("value == 'plain text'");
+    assertThat(filter.test(msg("plain text"))).isTrue();
+    assertThat(filter.test(msg("{\"a\": 1}"))).isFalse();
+  }
+
+  @Test
+  void pathsOfInvalidJsonAreNull() {
+    var filter = ExpressionFilter.compile("value.id == null && value.status != 'FAILED'");
+    assertThat(filter.test(msg("{ broken json"))).isTrue();
+    assertThat(filter.test(msg(null))).isTrue();
+  }
+
+  @Test
+  void parentAndNestedPathsCanBeReferencedTogether() {
+    var filter = ExpressionFilter.compile("value.customer != null && value.customer.tags[0] == 'vip'");
+    assertThat(filter.test(msg(VALUE))).isTrue();
+  }
+
+  @Test
+  void valueIsNotAccessedIfOutcomeIsKnownBeforeValueEvaluation() {
+    var valueAccesses = new AtomicInteger();
+    var msg = new TopicMessageDTO() {
+      @Override
+      public String getContent() {
+        valueAccesses.incrementAndGet();
+        return VALUE;
+      }
+    }.partition(1);
+
+    assertThat(ExpressionFilter.compile("partition == 5 && value.id == 12").test(msg)).isFalse();
+    assertThat(valueAccesses).hasValue(0);
+
+    assertThat(ExpressionFilter.compile("partition == 1 && value.id == 12 && value.status == 'FAILED'").test(msg))
+        .isTrue();
+    assertThat(valueAccesses).hasValue(1);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "value.id ==",
+      "value.id = 1",
+      "unknown == 1",
+      "partition.x == 1",
+      "headers == 'a'",
+      "value.id in 1",
+      "value.status matches '('",
+      "(partition == 1",
+      "'unterminated",
+      "value.id == 1 )"
+  })
+  void throwsValidationExceptionOnInvalidExpression(String expression) {
+    assertThatThrownBy(() -> ExpressionFilter.compile(expression))
+        .isInstanceOf(ValidationException.class);
+  }
+
+  private static TopicMessageDTO msg(String value) {
+    return new TopicMessageDTO()
+        .partition(1)
+        .offset(100L)
+        .timestamp(OffsetDateTime.ofInstant(Instant.ofEpochMilli(1000), ZoneOffset.UTC))
+        .key("{\"type\": \"order\"}")
+        .content(value)
+        .headers(Map.of("source", "svc", "x-id", "1"));
+  }
+
+}
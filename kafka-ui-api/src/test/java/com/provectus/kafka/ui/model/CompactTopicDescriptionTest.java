@@ -0,0 +1,106 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.acl.AclOperation;
+import org.junit.jupiter.api.Test;
+
+class CompactTopicDescriptionTest {
+
+  private static final List<Node> NODES = List.of(
+      new Node(1, "host1", 9092),
+      new Node(2, "host2", 9092),
+      new Node(3, "host3", 9092)
+  );
+
+  @Test
+  void keepsAllPartitionsInfoOrderedByPartitionNumber() {
+    Node n1 = NODES.get(0);
+    Node n2 = NODES.get(1);
+    Node n3 = NODES.get(2);
+    var topicId = Uuid.randomUuid();
+    var compact = CompactTopicDescription.from(
+        new TopicDescription(
+            "test", true,
+            List.of(
+                new TopicPartitionInfo(1, null, List.of(n2, n3), List.of()),
+                new TopicPartitionInfo(0, n1, List.of(n1, n2), List.of(n1, n2)),
+                new TopicPartitionInfo(2, n3, List.of(n3, n1), List.of(n3))
+            ),
+            Set.of(AclOperation.READ),
+            topicId
+        )
+    );
+
+    assertThat(compact.name()).isEqualTo("test");
+    assertThat(compact.isInternal()).isTrue();
+    assertThat(compact.topicId()).isEqualTo(topicId);
+    assertThat(compact.authorizedOperations()).containsExactly(AclOperation.READ);
+    assertThat(compact.partitionCount()).isEqualTo(3);
+    assertThat(compact.replicationFactor()).isEqualTo(2);
+
+    assertThat(compact.partition(0)).isZero();
+    assertThat(compact.leader(0)).isEqualTo(1);
+    assertThat(compact.replicas(0)).isEqualTo(BrokerIds.of(1, 2));
+    assertThat(compact.isr(0)).isEqualTo(BrokerIds.of(1, 2));
+
+    assertThat(compact.partition(1)).isEqualTo(1);
+    assertThat(compact.hasLeader(1)).isFalse();
+    assertThat(compact.isr(1).size()).isZero();
+
+    assertThat(compact.partition(2)).isEqualTo(2);
+    assertThat(compact.leader(2)).isEqualTo(3);
+    assertThat(compact.replicas(2).contains(1)).isTrue();
+    assertThat(compact.isr(2).contains(1)).isFalse();
+  }
+
+  @Test
+  void sameReplicasListsAreStoredOnce() {
+    var t1 = CompactTopicDescription.from(description("t1", 0, 3));
+    var t2 = CompactTopicDescription.from(description("t2", 0, 3));
+    for (int p = 0; p < 3; p++) {
+      assertThat(t1.replicas(p)).isSameAs(t2.replicas(p));
+      assertThat(t1.isr(p)).isSameAs(t2.isr(p));
+    }
+  }
+
+  @Test
+  void replicasOfAllTopicsOnSameBrokersShareFewInstances() {
+    // instances are kept referenced by the set, so weakly interned lists can't be collected during the test
+    Set<BrokerIds> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int t = 0; t < 1_000; t++) {
+      var compact = CompactTopicDescription.from(description("topic-" + t, t, 20));
+      for (int p = 0; p < compact.partitionCount(); p++) {
+        assertThat(compact.partition(p)).isEqualTo(p);
+        distinct.add(compact.replicas(p));
+        distinct.add(compact.isr(p));
+      }
+    }
+    // 3 brokers with rotating leader give 3 distinct replicas lists, ISR lists are equal to replicas lists
+    assertThat(distinct).hasSize(3);
+  }
+
+  // partitions are spread over NODES with rotating leader, like kafka's default assignment does
+  private static TopicDescription description(String name, int shift, int partitions) {
+    List<TopicPartitionInfo> infos = new ArrayList<>();
+    for (int p = 0; p < partitions; p++) {
+      List<Node> replicas = new ArrayList<>();
+      for (int r = 0; r < NODES.size(); r++) {
+        // new Node instances for each partition, like admin client's response parsing does
+        Node node = NODES.get((shift + p + r) % NODES.size());
+        replicas.add(new Node(node.id(), node.host(), node.port()));
+      }
+      infos.add(new TopicPartitionInfo(p, replicas.get(0), replicas, new ArrayList<>(replicas)));
+    }
+    return new TopicDescription(name, false, infos, Set.of(), Uuid.randomUuid());
+  }
+}
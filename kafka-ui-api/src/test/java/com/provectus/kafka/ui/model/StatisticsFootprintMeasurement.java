@@ -0,0 +1,98 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual before/after measurement of statistics cache heap footprint: retained heap of topics as returned by
+ * admin client vs {@link CompactTopicDescription} / {@link TopicConfigs}. Used heap deltas depend on GC,
+ * so it is not run as a part of build. To run:
+ * {@code mvn test -Dtest=StatisticsFootprintMeasurement -DfootprintMeasurement=true
+ * -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "footprintMeasurement", matches = "true")
+class StatisticsFootprintMeasurement {
+
+  private static final int TOPICS = 10_000;
+  private static final int PARTITIONS_PER_TOPIC = 20;
+  private static final int CONFIGS_PER_TOPIC = 30;
+  private static final List<Node> NODES = List.of(
+      new Node(1, "host1", 9092),
+      new Node(2, "host2", 9092),
+      new Node(3, "host3", 9092)
+  );
+
+  @Test
+  void measureRetainedHeap() {
+    long baseline = usedHeap();
+    Map<String, TopicDescription> descriptions = new HashMap<>();
+    Map<String, List<ConfigEntry>> configs = new HashMap<>();
+    for (int t = 0; t < TOPICS; t++) {
+      descriptions.put("topic-" + t, description("topic-" + t, t));
+      configs.put("topic-" + t, configs(t));
+    }
+    long originalSize = usedHeap() - baseline;
+
+    Map<String, CompactTopicDescription> compactDescriptions = new HashMap<>();
+    descriptions.forEach((name, td) -> compactDescriptions.put(name, CompactTopicDescription.from(td)));
+    var compactConfigs = TopicConfigs.of(configs);
+    long compactSize = usedHeap() - baseline - originalSize;
+
+    log.info("Retained heap of {} topics x {} partitions: admin client model {} KB, compact model {} KB",
+        TOPICS, PARTITIONS_PER_TOPIC, originalSize / 1024, compactSize / 1024);
+
+    // keeping references until both models are measured
+    assertThat(descriptions).hasSameSizeAs(compactDescriptions);
+    assertThat(compactConfigs.size()).isEqualTo(configs.size());
+    assertThat(compactSize).isLessThan(originalSize);
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  // partitions are spread over NODES with rotating leader, new Node instances per partition like admin client does
+  private static TopicDescription description(String name, int shift) {
+    List<TopicPartitionInfo> infos = new ArrayList<>();
+    for (int p = 0; p < PARTITIONS_PER_TOPIC; p++) {
+      List<Node> replicas = new ArrayList<>();
+      for (int r = 0; r < NODES.size(); r++) {
+        Node node = NODES.get((shift + p + r) % NODES.size());
+        replicas.add(new Node(node.id(), node.host(), node.port()));
+      }
+      infos.add(new TopicPartitionInfo(p, replicas.get(0), replicas, new ArrayList<>(replicas)));
+    }
+    return new TopicDescription(name, false, infos, Set.of(), Uuid.randomUuid());
+  }
+
+  // mostly default entries (new instances per topic), every topic has its own retention override
+  private static List<ConfigEntry> configs(int topic) {
+    List<ConfigEntry> entries = new ArrayList<>();
+    entries.add(new ConfigEntry("retention.ms", String.valueOf(topic), ConfigSource.DYNAMIC_TOPIC_CONFIG,
+        false, false, List.of(), ConfigEntry.ConfigType.LONG, null));
+    for (int i = 1; i < CONFIGS_PER_TOPIC; i++) {
+      entries.add(new ConfigEntry("config." + i, "default", ConfigSource.DEFAULT_CONFIG,
+          false, false, List.of(), ConfigEntry.ConfigType.STRING, null));
+    }
+    return entries;
+  }
+}
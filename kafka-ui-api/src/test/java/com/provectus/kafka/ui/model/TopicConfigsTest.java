@@ -0,0 +1,96 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ConfigEntry.ConfigSource;
+import org.junit.jupiter.api.Test;
+
+class TopicConfigsTest {
+
+  @Test
+  void restoresOriginalEntriesInOriginalOrder() {
+    Map<String, List<ConfigEntry>> configs = Map.of(
+        "t1", List.of(entry("retention.ms", "1000", ConfigSource.DYNAMIC_TOPIC_CONFIG), defaultEntry("segment.bytes")),
+        "t2", List.of(defaultEntry("retention.ms"), defaultEntry("segment.bytes")),
+        "t3", List.of(defaultEntry("segment.bytes"), defaultEntry("retention.ms")),
+        "t4", List.of()
+    );
+    var topicConfigs = TopicConfigs.of(configs);
+
+    assertThat(topicConfigs.size()).isEqualTo(4);
+    assertThat(topicConfigs.topics()).isEqualTo(configs.keySet());
+    configs.forEach((topic, entries) -> assertThat(topicConfigs.get(topic)).isEqualTo(entries));
+    assertThat(topicConfigs.get("unknown")).isNull();
+    assertThat(topicConfigs.getOrDefault("unknown", List.of())).isEmpty();
+  }
+
+  @Test
+  void sharesEntriesThatAreTheSameForAllTopics() {
+    Map<String, List<ConfigEntry>> configs = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      // each topic gets its own (equal) entry instances, as returned by admin client
+      configs.put("t" + i, List.of(defaultEntry("retention.ms"), defaultEntry("segment.bytes")));
+    }
+    var topicConfigs = TopicConfigs.of(configs);
+
+    var first = topicConfigs.get("t0");
+    for (String topic : configs.keySet()) {
+      var entries = topicConfigs.get(topic);
+      assertThat(entries.get(0)).isSameAs(first.get(0));
+      assertThat(entries.get(1)).isSameAs(first.get(1));
+    }
+  }
+
+  @Test
+  void overridesAreKeptPerTopicAndSharedEntriesAreReusedByUpdatedCopies() {
+    Map<String, List<ConfigEntry>> configs = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      configs.put("t" + i, List.of(
+          entry("retention.ms", String.valueOf(i), ConfigSource.DYNAMIC_TOPIC_CONFIG), defaultEntry("segment.bytes")));
+    }
+    var topicConfigs = TopicConfigs.of(configs);
+    var updated = topicConfigs.withTopics(Map.of(
+        "t0", List.of(entry("retention.ms", "5", ConfigSource.DYNAMIC_TOPIC_CONFIG), defaultEntry("segment.bytes"))));
+
+    configs.forEach((topic, entries) -> assertThat(topicConfigs.get(topic)).isEqualTo(entries));
+    assertThat(updated.get("t0").get(0).value()).isEqualTo("5");
+
+    var shared = topicConfigs.get("t1").get(1);
+    assertThat(updated.get("t0").get(1)).isSameAs(shared);
+    assertThat(updated.get("t99").get(1)).isSameAs(shared);
+  }
+
+  @Test
+  void withTopicsAndWithoutTopicsReturnUpdatedCopies() {
+    var initial = TopicConfigs.of(Map.of(
+        "t1", List.of(defaultEntry("retention.ms")),
+        "t2", List.of(defaultEntry("retention.ms"))
+    ));
+
+    var overridden = List.of(entry("retention.ms", "1", ConfigSource.DYNAMIC_TOPIC_CONFIG));
+    var updated = initial
+        .withTopics(Map.of("t2", overridden, "t3", List.of(defaultEntry("cleanup.policy"))))
+        .withoutTopics(Set.of("t1", "unknown"));
+
+    assertThat(updated.topics()).containsExactlyInAnyOrder("t2", "t3");
+    assertThat(updated.get("t2")).isEqualTo(overridden);
+    assertThat(updated.get("t3")).containsExactly(defaultEntry("cleanup.policy"));
+
+    // initial instance is not changed
+    assertThat(initial.topics()).containsExactlyInAnyOrder("t1", "t2");
+    assertThat(initial.get("t2")).containsExactly(defaultEntry("retention.ms"));
+  }
+
+  private static ConfigEntry defaultEntry(String name) {
+    return entry(name, "default", ConfigSource.DEFAULT_CONFIG);
+  }
+
+  private static ConfigEntry entry(String name, String value, ConfigSource source) {
+    return new ConfigEntry(name, value, source, false, false, List.of(), ConfigEntry.ConfigType.STRING, null);
+  }
+}
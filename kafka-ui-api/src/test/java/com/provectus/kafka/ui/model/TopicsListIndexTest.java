@@ -0,0 +1,95 @@
+package com.provectus.kafka.ui.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.util.PersistentMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+
+class TopicsListIndexTest {
+
+  private static final List<String> NAMES = IntStream.range(0, 1_000)
+      .mapToObj(i -> (i % 7 == 0 ? "_internal-" : "") + (i % 2 == 0 ? "Orders.v" : "payments-") + i)
+      .toList();
+
+  private final TopicsListIndex index = TopicsListIndex.create(
+      IntStream.range(0, NAMES.size())
+          .mapToObj(i -> new TopicsListIndex.Row(NAMES.get(i), NAMES.get(i).startsWith("_"), i % 10, 0, 1, i))
+          .toList()
+  );
+
+  @Test
+  void searchReturnsSameTopicsAsContainsIgnoreCaseScan() {
+    for (String search : List.of("", "o", "ORD", "orders.V1", "ments-99", "NAL-ORD", "missing", "v1")) {
+      var expected = NAMES.stream()
+          .filter(n -> !n.startsWith("_"))
+          .filter(n -> StringUtils.containsIgnoreCase(n, search))
+          .sorted()
+          .toList();
+      var page = index.page(false, search, null, false, t -> true, 0, Integer.MAX_VALUE);
+      assertThat(page.topics()).as(search).isEqualTo(expected);
+      assertThat(page.totalMatched()).isEqualTo(expected.size());
+    }
+  }
+
+  @Test
+  void pageIsTakenFromRowsSortedByRequestedColumn() {
+    Comparator<String> byPartitions = Comparator.<String>comparingInt(n -> NAMES.indexOf(n) % 10)
+        .thenComparing(Comparator.naturalOrder());
+    var expected = NAMES.stream()
+        .filter(n -> n.contains("payments"))
+        .sorted(byPartitions.reversed())
+        .toList();
+
+    var page = index.page(true, "payments", TopicColumnsToSortDTO.TOTAL_PARTITIONS, true, t -> true, 20, 10);
+
+    assertThat(page.topics()).isEqualTo(expected.subList(20, 30));
+    assertThat(page.totalMatched()).isEqualTo(expected.size());
+  }
+
+  @Test
+  void viewableFilterIsAppliedToMatchedRows() {
+    var page = index.page(true, null, TopicColumnsToSortDTO.SIZE, false, t -> t.endsWith("0"), 0, 5);
+
+    assertThat(page.topics())
+        .containsExactly("_internal-Orders.v0", "Orders.v10", "Orders.v20", "Orders.v30", "Orders.v40");
+    assertThat(page.totalMatched()).isEqualTo(100);
+  }
+
+  @Test
+  void createdFromStatistics() {
+    Node n1 = new Node(1, "n1", 9092);
+    Node n2 = new Node(2, "n2", 9092);
+    var stats = Statistics.empty().toBuilder()
+        .topicDescriptions(
+            PersistentMap.copyOf(
+                Map.of(
+                    "t1", CompactTopicDescription.from(new TopicDescription("t1", false, List.of(
+                        new TopicPartitionInfo(0, n1, List.of(n1, n2), List.of(n1)),
+                        new TopicPartitionInfo(1, n2, List.of(n2, n1), List.of(n2, n1))
+                    ))),
+                    "__consumer_offsets", CompactTopicDescription.from(new TopicDescription(
+                        "__consumer_offsets", true, List.of(new TopicPartitionInfo(0, n1, List.of(n1), List.of(n1)))))
+                )
+            )
+        )
+        .build();
+
+    var statsIndex = TopicsListIndex.create(stats, null);
+
+    assertThat(statsIndex.size()).isEqualTo(2);
+    assertThat(statsIndex.contains("t1")).isTrue();
+    assertThat(statsIndex.contains("t2")).isFalse();
+    assertThat(statsIndex.page(false, null, null, false, t -> true, 0, 10).topics())
+        .containsExactly("t1");
+    assertThat(statsIndex.page(true, null, TopicColumnsToSortDTO.OUT_OF_SYNC_REPLICAS, true, t -> true, 0, 10).topics())
+        .containsExactly("t1", "__consumer_offsets");
+  }
+}
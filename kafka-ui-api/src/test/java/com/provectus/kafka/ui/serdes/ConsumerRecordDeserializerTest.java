@@ -1,6 +1,8 @@
 package com.provectus.kafka.ui.serdes;
 
 import static com.provectus.kafka.ui.serde.api.DeserializeResult.Type.STRING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -9,6 +11,7 @@ import com.provectus.kafka.ui.model.TopicMessageDTO;
 import com.provectus.kafka.ui.serde.api.DeserializeResult;
 import com.provectus.kafka.ui.serde.api.Serde;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.utils.Bytes;
@@ -27,4 +30,100 @@ class ConsumerRecordDeserializerTest {
     verify(maskerMock).apply(any(TopicMessageDTO.class));
   }
 
+  @Test
+  void lazyMessageDeserializesOnlyAccessedParts() {
+    AtomicInteger keyDeserializations = new AtomicInteger();
+    AtomicInteger valueDeserializations = new AtomicInteger();
+    Serde.Deserializer keyDeser = (headers, data) -> {
+      keyDeserializations.incrementAndGet();
+      return new DeserializeResult("key", STRING, Map.of());
+    };
+    Serde.Deserializer valueDeser = (headers, data) -> {
+      valueDeserializations.incrementAndGet();
+      return new DeserializeResult("value", STRING, Map.of());
+    };
+    var recordDeser = new ConsumerRecordDeserializer(
+        "test", keyDeser, "test", valueDeser, "test", keyDeser, valueDeser, UnaryOperator.identity());
+    var rec = new ConsumerRecord<>("t", 1, 1L, Bytes.wrap("k".getBytes()), Bytes.wrap("v".getBytes()));
+    rec.headers().add("h", "hv".getBytes());
+
+    var lazy = recordDeser.deserializeLazily(rec);
+    assertThat(lazy.getPartition()).isEqualTo(1);
+    assertThat(lazy.getOffset()).isEqualTo(1L);
+    assertThat(keyDeserializations).hasValue(0);
+    assertThat(valueDeserializations).hasValue(0);
+
+    assertThat(lazy.getKey()).isEqualTo("key");
+    assertThat(lazy.getKeySerde()).isEqualTo("test");
+    assertThat(keyDeserializations).hasValue(1);
+    assertThat(valueDeserializations).hasValue(0);
+
+    var materialized = lazy.materialize();
+    assertThat(materialized).isNotInstanceOf(LazyTopicMessage.class);
+    assertThat(materialized).isEqualTo(recordDeser.deserialize(rec));
+    assertThat(materialized.getContent()).isEqualTo("value");
+    assertThat(materialized.getHeaders()).isEqualTo(Map.of("h", "hv"));
+    assertThat(materialized.getHeadersSize()).isEqualTo(3L);
+    assertThat(keyDeserializations).hasValue(2);
+  }
+
+  @Test
+  void keyAndValueAreMaskedWhenDeserializedLazily() {
+    Serde.Deserializer deser = (headers, data) -> new DeserializeResult(new String(data), STRING, Map.of());
+    UnaryOperator<TopicMessageDTO> masker = msg -> msg
+        .key(msg.getKey() == null ? null : "masked-" + msg.getKey())
+        .content(msg.getContent() == null ? null : "masked-" + msg.getContent());
+    var recordDeser = new ConsumerRecordDeserializer("test", deser, "test", deser, "test", deser, deser, masker);
+    var rec = new ConsumerRecord<>("t", 1, 1L, Bytes.wrap("k".getBytes()), Bytes.wrap("v".getBytes()));
+
+    var lazy = recordDeser.deserializeLazily(rec);
+    assertThat(lazy.getKey()).isEqualTo("masked-k");
+    assertThat(lazy.getContent()).isEqualTo("masked-v");
+    assertThat(lazy.materialize()).isEqualTo(recordDeser.deserialize(rec));
+  }
+
+  @Test
+  void valuesLargerThanPreviewLimitAreTruncated() {
+    Serde.Deserializer deser = (headers, data) -> new DeserializeResult(new String(data, UTF_8), STRING, Map.of());
+    var recordDeser = new ConsumerRecordDeserializer(
+        "test", deser, "test", deser, "test", deser, deser, UnaryOperator.identity())
+        .withValuePreviewLimit(4);
+
+    // "ab" + euro sign (3 bytes in UTF-8) + "cd", limit is in the middle of the euro sign
+    byte[] text = {'a', 'b', (byte) 0xE2, (byte) 0x82, (byte) 0xAC, 'c', 'd'};
+    var textRecord = new ConsumerRecord<Bytes, Bytes>("t", 1, 1L, null, Bytes.wrap(text));
+    var notTruncated = recordDeser.deserialize(
+        new ConsumerRecord<Bytes, Bytes>("t", 1, 1L, null, Bytes.wrap("abcd".getBytes())));
+    assertThat(notTruncated.getContent()).isEqualTo("abcd");
+    assertThat(notTruncated.getValueTruncated()).isNull();
+
+    var previewedAsText = recordDeser.withRawUtf8Text(false, true).deserialize(textRecord);
+    assertThat(previewedAsText.getValueTruncated()).isTrue();
+    assertThat(previewedAsText.getContent()).isEqualTo("ab");
+
+    var notPreviewed = recordDeser.withRawUtf8Text(false, false).deserialize(textRecord);
+    assertThat(notPreviewed.getValueTruncated()).isTrue();
+    assertThat(notPreviewed.getContent()).isNull();
+  }
+
+  @Test
+  void lazyMessageReturnsFullValueButMaterializesTruncatedOne() {
+    Serde.Deserializer deser = (headers, data) -> new DeserializeResult(new String(data, UTF_8), STRING, Map.of());
+    var recordDeser = new ConsumerRecordDeserializer(
+        "test", deser, "test", deser, "test", deser, deser, UnaryOperator.identity())
+        .withValuePreviewLimit(4)
+        .withRawUtf8Text(false, true);
+    var rec = new ConsumerRecord<>("t", 1, 1L, Bytes.wrap("k".getBytes()), Bytes.wrap("abcdef".getBytes()));
+
+    var lazy = recordDeser.deserializeLazily(rec);
+    // filters are applied to full value
+    assertThat(lazy.getContent()).isEqualTo("abcdef");
+    assertThat(lazy.getValueTruncated()).isNull();
+
+    var materialized = lazy.materialize();
+    assertThat(materialized.getContent()).isEqualTo("abcd");
+    assertThat(materialized.getValueTruncated()).isTrue();
+    assertThat(materialized).isEqualTo(recordDeser.deserialize(rec));
+  }
+
 }
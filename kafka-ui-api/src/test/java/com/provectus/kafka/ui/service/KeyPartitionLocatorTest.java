@@ -0,0 +1,140 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+class KeyPartitionLocatorTest {
+
+  private static final String TOPIC = "test";
+  private static final Node NODE = new Node(1, "localhost", 9092);
+
+  @Test
+  void usesKafkaDefaultPartitioningIfPartitionerNotConfigured() {
+    var topic = topicWithPartitions(7);
+    for (int i = 0; i < 100; i++) {
+      byte[] keyBytes = ("key" + i).getBytes(StandardCharsets.UTF_8);
+      assertThat(KeyPartitionLocator.partitionForKey(cluster(null), topic, keyBytes))
+          .hasValue(Utils.toPositive(Utils.murmur2(keyBytes)) % 7);
+    }
+  }
+
+  @Test
+  void usesConfiguredPartitioner() {
+    var topic = topicWithPartitions(7);
+    assertThat(KeyPartitionLocator.partitionForKey(
+        cluster(LastPartitionPartitioner.class.getName()), topic, new byte[] {1}))
+        .hasValue(6);
+  }
+
+  @Test
+  void configuredPartitionerIsCreatedOncePerCluster() {
+    var topic = topicWithPartitions(7);
+    var cluster = cluster(CountingPartitioner.class.getName());
+    int createdBefore = CountingPartitioner.CREATED.get();
+    for (int i = 0; i < 10; i++) {
+      assertThat(KeyPartitionLocator.partitionForKey(cluster, topic, new byte[] {(byte) i})).hasValue(i % 7);
+    }
+    assertThat(CountingPartitioner.CREATED.get() - createdBefore).isEqualTo(1);
+  }
+
+  @Test
+  void returnsEmptyResultIfPartitionerCantBeUsed() {
+    var topic = topicWithPartitions(7);
+    assertThat(KeyPartitionLocator.partitionForKey(cluster("com.unknown.Partitioner"), topic, new byte[] {1}))
+        .isEmpty();
+  }
+
+  @Test
+  void restrictsPositionToPartition() {
+    var tp0 = new TopicPartition(TOPIC, 0);
+    var tp1 = new TopicPartition(TOPIC, 1);
+
+    var fromBeginning = KeyPartitionLocator.restrictToPartition(
+        new ConsumerPosition(SeekTypeDTO.BEGINNING, TOPIC, null), 1);
+    assertThat(fromBeginning.getSeekType()).isEqualTo(SeekTypeDTO.BEGINNING);
+    assertThat(fromBeginning.getSeekTo()).containsOnlyKeys(tp1);
+
+    var fromOffsets = KeyPartitionLocator.restrictToPartition(
+        new ConsumerPosition(SeekTypeDTO.OFFSET, TOPIC, Map.of(tp0, 10L, tp1, 20L)), 1);
+    assertThat(fromOffsets.getSeekTo()).isEqualTo(Map.of(tp1, 20L));
+
+    var partitionNotInOffsets = KeyPartitionLocator.restrictToPartition(
+        new ConsumerPosition(SeekTypeDTO.OFFSET, TOPIC, Map.of(tp0, 10L)), 1);
+    assertThat(partitionNotInOffsets.getSeekTo()).isEmpty();
+  }
+
+  public static class LastPartitionPartitioner implements Partitioner {
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+      return Optional.ofNullable(cluster.partitionCountForTopic(topic)).orElse(0) - 1;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+  }
+
+  public static class CountingPartitioner implements Partitioner {
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    public CountingPartitioner() {
+      CREATED.incrementAndGet();
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+      assertThat(key).isNull();
+      return keyBytes[0] % 7;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+  }
+
+  private static KafkaCluster cluster(String partitioner) {
+    var props = new ClustersProperties.Cluster();
+    props.setKeyPartitioner(partitioner);
+    return KafkaCluster.builder()
+        .originalProperties(props)
+        .properties(new Properties())
+        .build();
+  }
+
+  private static TopicDescription topicWithPartitions(int partitions) {
+    return new TopicDescription(
+        TOPIC,
+        false,
+        IntStream.range(0, partitions)
+            .mapToObj(i -> new TopicPartitionInfo(i, NODE, List.of(NODE), List.of(NODE)))
+            .toList()
+    );
+  }
+}
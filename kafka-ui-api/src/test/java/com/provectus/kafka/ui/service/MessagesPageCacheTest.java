@@ -0,0 +1,131 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.model.ConsumerPosition;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.SeekDirectionDTO;
+import com.provectus.kafka.ui.model.SeekTypeDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import com.provectus.kafka.ui.model.TopicMessageEventDTO;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class MessagesPageCacheTest {
+
+  private static final String TOPIC = "test";
+  private static final TopicPartition TP = new TopicPartition(TOPIC, 0);
+  private static final KafkaCluster CLUSTER = KafkaCluster.builder().name("local").build();
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicLong endOffset = new AtomicLong(100);
+  private final MessagesPageCache cache = new MessagesPageCache(1024 * 1024, Duration.ofMinutes(1));
+
+  @Test
+  void completedPageIsReplayedWithoutLoading() {
+    var key = key(SeekDirectionDTO.BACKWARD, SeekTypeDTO.OFFSET, 2);
+    assertThat(load(key, page(2, true)).collectList().block()).hasSize(4);
+    assertThat(load(key, page(2, true)).collectList().block()).hasSize(4);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void pageWithoutFinishEventIsNotCached() {
+    var key = key(SeekDirectionDTO.BACKWARD, SeekTypeDTO.OFFSET, 2);
+    load(key, page(2, false)).blockLast();
+    load(key, page(2, false)).blockLast();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void cancelledPageIsNotCached() {
+    var key = key(SeekDirectionDTO.BACKWARD, SeekTypeDTO.OFFSET, 2);
+    StepVerifier.create(load(key, page(2, true)))
+        .expectNextCount(1)
+        .thenCancel()
+        .verify();
+    load(key, page(2, true)).blockLast();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void pageFromLatestOffsetsIsInvalidatedWhenEndOffsetsChange() {
+    var key = key(SeekDirectionDTO.BACKWARD, SeekTypeDTO.LATEST, 2);
+    load(key, page(2, true)).blockLast();
+    load(key, page(2, true)).blockLast();
+    assertThat(loads).hasValue(1);
+
+    endOffset.incrementAndGet();
+    load(key, page(2, true)).blockLast();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void fullForwardPageDoesNotDependOnEndOffsets() {
+    var key = key(SeekDirectionDTO.FORWARD, SeekTypeDTO.OFFSET, 2);
+    load(key, page(2, true)).blockLast();
+    endOffset.incrementAndGet();
+    load(key, page(2, true)).blockLast();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void forwardPageThatReachedEndIsInvalidatedWhenEndOffsetsChange() {
+    var key = key(SeekDirectionDTO.FORWARD, SeekTypeDTO.OFFSET, 5);
+    load(key, page(2, true)).blockLast();
+    endOffset.incrementAndGet();
+    load(key, page(2, true)).blockLast();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void cacheIsDisabledWhenMaxSizeIsZero() {
+    var disabled = new MessagesPageCache(0, Duration.ofMinutes(1));
+    var key = key(SeekDirectionDTO.BACKWARD, SeekTypeDTO.OFFSET, 2);
+    for (int i = 0; i < 2; i++) {
+      disabled.getOrLoad(CLUSTER, key, endOffsets(), () -> {
+        loads.incrementAndGet();
+        return page(2, true);
+      }).blockLast();
+    }
+    assertThat(loads).hasValue(2);
+  }
+
+  private Flux<TopicMessageEventDTO> load(MessagesPageCache.PageKey key, Flux<TopicMessageEventDTO> page) {
+    return cache.getOrLoad(CLUSTER, key, endOffsets(), () -> {
+      loads.incrementAndGet();
+      return page;
+    });
+  }
+
+  private Mono<Map<TopicPartition, Long>> endOffsets() {
+    return Mono.fromSupplier(() -> Map.of(TP, endOffset.get()));
+  }
+
+  private static MessagesPageCache.PageKey key(SeekDirectionDTO direction, SeekTypeDTO seekType, int pageSize) {
+    return new MessagesPageCache.PageKey(CLUSTER.getName(), TOPIC,
+        new ConsumerPosition(seekType, TOPIC, Map.of(TP, 10L)), direction,
+        null, MessageFilterTypeDTO.STRING_CONTAINS, null, null, pageSize);
+  }
+
+  private static Flux<TopicMessageEventDTO> page(int messages, boolean finished) {
+    var phase = new TopicMessageEventDTO().type(TopicMessageEventDTO.TypeEnum.PHASE);
+    var msgs = Flux.range(0, messages)
+        .map(i -> new TopicMessageEventDTO()
+            .type(TopicMessageEventDTO.TypeEnum.MESSAGE)
+            .message(new TopicMessageDTO().partition(0).offset((long) i).content("msg" + i)));
+    return Flux.just(phase)
+        .concatWith(msgs)
+        .concatWith(finished
+            ? Flux.just(new TopicMessageEventDTO().type(TopicMessageEventDTO.TypeEnum.DONE))
+            : Flux.empty());
+  }
+}
@@ -8,6 +8,8 @@ import com.provectus.kafka.ui.exception.TopicNotFoundException;
 import com.provectus.kafka.ui.model.ConsumerPosition;
 import com.provectus.kafka.ui.model.CreateTopicMessageDTO;
 import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.MessageFilterTypeDTO;
+import com.provectus.kafka.ui.model.ProduceCompressionTypeDTO;
 import com.provectus.kafka.ui.model.SeekDirectionDTO;
 import com.provectus.kafka.ui.model.SeekTypeDTO;
 import com.provectus.kafka.ui.model.SmartFilterTestExecutionDTO;
@@ -19,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -96,6 +99,66 @@ class MessagesServiceTest extends AbstractIntegrationTest {
     }
   }
 
+  @Test
+  void loadMessagesByKeyReturnsOnlyRecordsWithExactlyThisKey() throws Exception {
+    String testTopic = "key-lookup-test-" + UUID.randomUUID();
+    try (var producer = KafkaTestProducer.forKafka(kafka)) {
+      createTopic(new NewTopic(testTopic, 5, (short) 1));
+      for (int i = 0; i < 50; i++) {
+        producer.send(new ProducerRecord<>(testTopic, "key" + (i % 10), "value" + i));
+      }
+      producer.send(new ProducerRecord<>(testTopic, "key33", "other")).get();
+
+      Flux<TopicMessageDTO> msgsFlux = messagesService.loadMessages(
+          cluster,
+          testTopic,
+          new ConsumerPosition(SeekTypeDTO.BEGINNING, testTopic, null),
+          "key3",
+          MessageFilterTypeDTO.KEY_EQUALS,
+          100,
+          SeekDirectionDTO.FORWARD,
+          StringSerde.name(),
+          StringSerde.name()
+      ).filter(evt -> evt.getType() == TopicMessageEventDTO.TypeEnum.MESSAGE)
+          .map(TopicMessageEventDTO::getMessage);
+
+      StepVerifier.create(msgsFlux.map(TopicMessageDTO::getContent))
+          .expectNext("value3", "value13", "value23", "value33", "value43")
+          .verifyComplete();
+    } finally {
+      deleteTopic(testTopic);
+    }
+  }
+
+  @Test
+  void sendMessagesProducesAllValidRecordsAndReportsFailedOnes() {
+    String testTopic = "bulk-send-test-" + UUID.randomUUID();
+    createTopic(new NewTopic(testTopic, 2, (short) 1));
+    try {
+      var messages = Flux.range(0, 100)
+          .map(i -> new CreateTopicMessageDTO()
+              // record with index 50 targets non-existing partition
+              .partition(i == 50 ? 5 : i % 2)
+              .key("key" + i)
+              .content("value" + i)
+              .keySerde(StringSerde.name())
+              .valueSerde(StringSerde.name()));
+
+      StepVerifier.create(messagesService.sendMessages(cluster, testTopic, messages, 10, ProduceCompressionTypeDTO.LZ4))
+          .assertNext(result -> {
+            assertThat(result.getTotal()).isEqualTo(100);
+            assertThat(result.getSent()).isEqualTo(99);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getErrors())
+                .singleElement()
+                .satisfies(err -> assertThat(err.getIndex()).isEqualTo(50));
+          })
+          .verifyComplete();
+    } finally {
+      deleteTopic(testTopic);
+    }
+  }
+
   @Test
   void execSmartFilterTestReturnsExecutionResult() {
     var params = new SmartFilterTestExecutionDTO()
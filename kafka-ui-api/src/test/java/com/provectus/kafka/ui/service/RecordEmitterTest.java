@@ -170,6 +170,39 @@ class RecordEmitterTest extends AbstractIntegrationTest {
     expectEmitter(backwardEmitter, expectedValues);
   }
 
+  @Test
+  void parallelScanPollsSameMessagesAsSequential() {
+    Predicate<TopicMessageDTO> filter = m -> m.getContent().endsWith("0");
+    var forwardEmitter = new ForwardEmitter(
+        this::createConsumer,
+        new ConsumerPosition(BEGINNING, TOPIC, null),
+        PARTITIONS * MSGS_PER_PARTITION,
+        PARTITIONS * MSGS_PER_PARTITION,
+        3,
+        RECORD_DESERIALIZER,
+        filter,
+        PollingSettings.createDefault()
+    );
+
+    var backwardEmitter = new BackwardEmitter(
+        this::createConsumer,
+        new ConsumerPosition(LATEST, TOPIC, null),
+        PARTITIONS * MSGS_PER_PARTITION,
+        3,
+        RECORD_DESERIALIZER,
+        filter,
+        PollingSettings.createDefault()
+    );
+
+    List<String> expectedValues = SENT_RECORDS.stream()
+        .map(Record::getValue)
+        .filter(v -> v.endsWith("0"))
+        .collect(Collectors.toList());
+
+    expectEmitter(forwardEmitter, expectedValues);
+    expectEmitter(backwardEmitter, expectedValues);
+  }
+
   @Test
   void pollWithOffsets() {
     Map<TopicPartition, Long> targetOffsets = new HashMap<>();
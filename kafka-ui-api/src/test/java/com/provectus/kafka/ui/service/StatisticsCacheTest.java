@@ -0,0 +1,64 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.Statistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.junit.jupiter.api.Test;
+
+class StatisticsCacheTest {
+
+  private final KafkaCluster cluster = KafkaCluster.builder().name("test").build();
+
+  private StatisticsCache createCache() {
+    var storage = mock(ClustersStorage.class);
+    when(storage.getKafkaClusters()).thenReturn(List.of(cluster));
+    return new StatisticsCache(storage, new StatisticsSnapshotStore(new ClustersProperties()));
+  }
+
+  @Test
+  void concurrentUpdatesAreNotLost() throws Exception {
+    var cache = createCache();
+    cache.replace(cluster, Statistics.empty());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int i = 0; i < 1_000; i++) {
+      String topic = "topic-" + i;
+      executor.submit(() -> cache.update(
+          cluster,
+          Map.of(topic, new TopicDescription(topic, false, List.of())),
+          Map.of(topic, List.of())
+      ));
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+    var stats = cache.get(cluster);
+    assertThat(stats.getTopicDescriptions()).hasSize(1_000);
+    assertThat(stats.getTopicConfigs().size()).isEqualTo(1_000);
+  }
+
+  @Test
+  void updatesDoNotAffectPreviouslyTakenSnapshots() {
+    var cache = createCache();
+    cache.update(cluster, Map.of("t1", new TopicDescription("t1", false, List.of())), Map.of("t1", List.of()));
+    var snapshot = cache.get(cluster);
+
+    cache.update(cluster, Map.of("t2", new TopicDescription("t2", false, List.of())), Map.of("t2", List.of()));
+    cache.onTopicDelete(cluster, "t1");
+
+    assertThat(snapshot.getTopicDescriptions()).containsOnlyKeys("t1");
+    assertThat(snapshot.getTopicConfigs().topics()).containsOnly("t1");
+    assertThat(cache.get(cluster).getTopicDescriptions()).containsOnlyKeys("t2");
+    assertThat(cache.get(cluster).getTopicConfigs().topics()).containsOnly("t2");
+  }
+}
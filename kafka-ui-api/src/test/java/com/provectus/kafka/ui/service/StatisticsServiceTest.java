@@ -0,0 +1,69 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class StatisticsServiceTest {
+
+  @Test
+  void incrementalRefreshDescribesNewTopicsAndRotatingSliceOfKnownTopics() {
+    Set<String> known = topics(0, 10);
+    Set<String> listed = new HashSet<>(topics(2, 10));
+    listed.add("new");
+
+    var plan = StatisticsService.planIncrementalRefresh(listed, known, 0, 3);
+    assertThat(plan.removed()).containsExactlyInAnyOrder("t00", "t01");
+    assertThat(plan.toDescribe()).containsExactlyInAnyOrder("new", "t02", "t03", "t04");
+    assertThat(plan.nextSliceStart()).isEqualTo(3);
+
+    // slice wraps around the end of known topics list
+    plan = StatisticsService.planIncrementalRefresh(listed, known, 6, 3);
+    assertThat(plan.toDescribe()).containsExactlyInAnyOrder("new", "t08", "t09", "t02");
+    assertThat(plan.nextSliceStart()).isEqualTo(1);
+  }
+
+  @Test
+  void allKnownTopicsAreDescribedWithinKnownToBatchRatioRefreshes() {
+    Set<String> topics = topics(0, 10);
+    Set<String> described = new HashSet<>();
+    int sliceStart = 0;
+    for (int i = 0; i < 4; i++) {
+      var plan = StatisticsService.planIncrementalRefresh(topics, topics, sliceStart, 3);
+      assertThat(plan.toDescribe()).hasSize(3);
+      described.addAll(plan.toDescribe());
+      sliceStart = plan.nextSliceStart();
+    }
+    assertThat(described).isEqualTo(topics);
+  }
+
+  @Test
+  void batchLargerThanKnownTopicsDescribesAllOfThem() {
+    Set<String> topics = topics(0, 5);
+    var plan = StatisticsService.planIncrementalRefresh(topics, topics, 3, 100);
+    assertThat(plan.toDescribe()).isEqualTo(topics);
+    assertThat(plan.nextSliceStart()).isEqualTo(3);
+  }
+
+  @Test
+  void mergeReplacesDescribedTopicsAndDropsRemovedOnes() {
+    var plan = new StatisticsService.IncrementalRefreshPlan(Set.of("t1", "t2", "new"), Set.of("t3"), 0);
+    var merged = StatisticsService.merge(
+        Map.of("t0", "old", "t1", "old", "t2", "old", "t3", "old"),
+        Map.of("t1", "loaded", "new", "loaded"), // t2 was deleted after it was listed
+        plan
+    );
+    assertThat(merged).isEqualTo(Map.of("t0", "old", "t1", "loaded", "new", "loaded"));
+  }
+
+  private static Set<String> topics(int from, int to) {
+    return IntStream.range(from, to)
+        .mapToObj(i -> "t%02d".formatted(i))
+        .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,159 @@
+package com.provectus.kafka.ui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provectus.kafka.ui.config.ClustersProperties;
+import com.provectus.kafka.ui.model.ClusterFeature;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
+import com.provectus.kafka.ui.model.InternalLogDirStats;
+import com.provectus.kafka.ui.model.KafkaCluster;
+import com.provectus.kafka.ui.model.Metrics;
+import com.provectus.kafka.ui.model.ServerStatusDTO;
+import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicConfigs;
+import com.provectus.kafka.ui.service.metrics.RawMetric;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.acl.AclOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatisticsSnapshotStoreTest {
+
+  private static final Node N1 = new Node(1, "host1", 9092, "rack1");
+  private static final Node N2 = new Node(2, "host2", 9092);
+
+  private final KafkaCluster cluster = KafkaCluster.builder()
+      .name("local cluster")
+      .bootstrapServers("host1:9092,host2:9092")
+      .build();
+
+  @TempDir
+  Path snapshotsDir;
+
+  @Test
+  void savedSnapshotIsLoadedAsStaleStatistics() throws Exception {
+    var store = store(snapshotsDir);
+    var stats = statistics();
+
+    store.save(cluster, stats);
+    var loaded = store.load(cluster).orElseThrow();
+
+    assertThat(loaded.getStatus()).isEqualTo(ServerStatusDTO.ONLINE);
+    assertThat(loaded.isStale()).isTrue();
+    assertThat(loaded.getVersion()).isEqualTo(stats.getVersion());
+    assertThat(loaded.getFeatures()).isEqualTo(stats.getFeatures());
+    assertThat(loaded.getClusterDescription()).isEqualTo(stats.getClusterDescription());
+    assertThat(loaded.getClusterDescription().getNodes().iterator().next().rack()).isEqualTo("rack1");
+    assertThat(loaded.getMetrics()).isEqualTo(stats.getMetrics());
+    assertThat(loaded.getLogDirInfo()).isEqualTo(stats.getLogDirInfo());
+
+    assertThat(loaded.getTopicDescriptions()).containsOnlyKeys("topic", "__consumer_offsets");
+    var original = stats.getTopicDescriptions().get("topic");
+    var restored = loaded.getTopicDescriptions().get("topic");
+    assertThat(restored.topicId()).isEqualTo(original.topicId());
+    assertThat(restored.authorizedOperations()).isEqualTo(original.authorizedOperations());
+    assertThat(restored.partitionCount()).isEqualTo(2);
+    for (int i = 0; i < 2; i++) {
+      assertThat(restored.partition(i)).isEqualTo(original.partition(i));
+      assertThat(restored.leader(i)).isEqualTo(original.leader(i));
+      assertThat(restored.replicas(i)).isEqualTo(original.replicas(i));
+      assertThat(restored.isr(i)).isEqualTo(original.isr(i));
+    }
+    assertThat(loaded.getTopicDescriptions().get("__consumer_offsets").isInternal()).isTrue();
+
+    assertThat(loaded.getTopicConfigs().topics()).containsOnly("topic");
+    assertThat(loaded.getTopicConfigs().get("topic")).isEqualTo(stats.getTopicConfigs().get("topic"));
+  }
+
+  @Test
+  void snapshotOfClusterWithChangedConfigIsIgnored() throws Exception {
+    var store = store(snapshotsDir);
+    store.save(cluster, statistics());
+
+    var reconfigured = cluster.toBuilder().bootstrapServers("otherhost:9092").build();
+    assertThat(store.load(reconfigured)).isEmpty();
+  }
+
+  @Test
+  void corruptedSnapshotIsIgnored() throws Exception {
+    var store = store(snapshotsDir);
+    store.save(cluster, statistics());
+    try (var files = Files.list(snapshotsDir)) {
+      for (Path file : files.toList()) {
+        Files.write(file, new byte[] {1, 2, 3});
+      }
+    }
+    assertThat(store.load(cluster)).isEmpty();
+  }
+
+  @Test
+  void nothingIsLoadedIfSnapshotsDirNotConfigured() {
+    assertThat(store(null).load(cluster)).isEmpty();
+  }
+
+  private static StatisticsSnapshotStore store(Path dir) {
+    var properties = new ClustersProperties();
+    properties.getStatistics().setSnapshotDir(dir == null ? null : dir.toString());
+    return new StatisticsSnapshotStore(properties);
+  }
+
+  private static Statistics statistics() {
+    var topic = CompactTopicDescription.from(
+        new TopicDescription(
+            "topic", false,
+            List.of(
+                new TopicPartitionInfo(0, N1, List.of(N1, N2), List.of(N1, N2)),
+                new TopicPartitionInfo(1, null, List.of(N2, N1), List.of())
+            ),
+            Set.of(AclOperation.READ, AclOperation.DESCRIBE),
+            Uuid.randomUuid()
+        )
+    );
+    var offsets = CompactTopicDescription.from(
+        new TopicDescription(
+            "__consumer_offsets", true, List.of(new TopicPartitionInfo(0, N2, List.of(N2), List.of(N2)))));
+    var retention = new ConfigEntry(
+        "retention.ms", "1000", ConfigEntry.ConfigSource.DYNAMIC_TOPIC_CONFIG, false, false,
+        List.of(), ConfigEntry.ConfigType.LONG, "retention docs"
+    );
+    var cleanup = new ConfigEntry(
+        "cleanup.policy", "delete", ConfigEntry.ConfigSource.DEFAULT_CONFIG, false, true,
+        List.of(), ConfigEntry.ConfigType.LIST, null
+    );
+    var segmentStats = new InternalLogDirStats.SegmentStats(1_000_000_000_000L, 3);
+    return Statistics.empty().toBuilder()
+        .status(ServerStatusDTO.ONLINE)
+        .version("3.5.0")
+        .features(List.of(ClusterFeature.TOPIC_DELETION, ClusterFeature.KAFKA_ACL_VIEW))
+        .clusterDescription(
+            new ReactiveAdminClient.ClusterDescription(N1, "cluster-id", List.of(N1, N2), Set.of(AclOperation.ALL)))
+        .metrics(
+            Metrics.builder()
+                .brokerBytesInPerSec(Map.of(1, new BigDecimal("10.5")))
+                .brokerBytesOutPerSec(Map.of(1, new BigDecimal("-1")))
+                .topicBytesInPerSec(Map.of("topic", new BigDecimal("10.5")))
+                .topicBytesOutPerSec(Map.of())
+                .perBrokerMetrics(
+                    Map.of(2, List.of(RawMetric.create("kafka_bytes", Map.of("topic", "topic"), BigDecimal.ONE))))
+                .build())
+        .logDirInfo(
+            new InternalLogDirStats(
+                Map.of(new TopicPartition("topic", 0), segmentStats),
+                Map.of("topic", segmentStats),
+                Map.of(1, segmentStats)))
+        .topicDescriptions(Map.of("topic", topic, "__consumer_offsets", offsets))
+        .topicConfigs(TopicConfigs.of(Map.of("topic", List.of(retention, cleanup))))
+        .build();
+  }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 import com.provectus.kafka.ui.controller.TopicsController;
 import com.provectus.kafka.ui.mapper.ClusterMapper;
 import com.provectus.kafka.ui.mapper.ClusterMapperImpl;
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.InternalLogDirStats;
 import com.provectus.kafka.ui.model.InternalPartitionsOffsets;
 import com.provectus.kafka.ui.model.InternalTopic;
@@ -17,11 +18,11 @@ import com.provectus.kafka.ui.model.Metrics;
 import com.provectus.kafka.ui.model.SortOrderDTO;
 import com.provectus.kafka.ui.model.TopicColumnsToSortDTO;
 import com.provectus.kafka.ui.model.TopicDTO;
+import com.provectus.kafka.ui.model.TopicsListIndex;
 import com.provectus.kafka.ui.service.analyze.TopicAnalysisService;
 import com.provectus.kafka.ui.service.audit.AuditService;
 import com.provectus.kafka.ui.service.rbac.AccessControlService;
 import com.provectus.kafka.ui.util.AccessControlServiceMock;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -52,8 +53,8 @@ class TopicsServicePaginationTest {
 
     when(clustersStorage.getClusterByName(isA(String.class)))
         .thenReturn(Optional.of(buildKafkaCluster(LOCAL_KAFKA_CLUSTER_NAME)));
-    when(topicsService.getTopicsForPagination(isA(KafkaCluster.class)))
-        .thenReturn(Mono.just(new ArrayList<>(topicsInCache.values())));
+    when(topicsService.getTopicsListIndex(isA(KafkaCluster.class)))
+        .thenReturn(TopicsListIndex.create(topicsInCache.values().stream().map(this::toRow).toList()));
     when(topicsService.loadTopics(isA(KafkaCluster.class), anyList()))
         .thenAnswer(a -> {
           List<String> lst = a.getArgument(1);
@@ -70,6 +71,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, false, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -85,6 +87,17 @@ class TopicsServicePaginationTest {
         .isSortedAccordingTo(Comparator.comparing(TopicDTO::getName));
   }
 
+  private TopicsListIndex.Row toRow(InternalTopic topic) {
+    return new TopicsListIndex.Row(
+        topic.getName(),
+        topic.isInternal(),
+        topic.getPartitionCount(),
+        topic.getReplicas() - topic.getInSyncReplicas(),
+        topic.getReplicationFactor(),
+        topic.getSegmentSize()
+    );
+  }
+
   private KafkaCluster buildKafkaCluster(String clusterName) {
     return KafkaCluster.builder()
         .name(clusterName)
@@ -96,6 +109,7 @@ class TopicsServicePaginationTest {
     var internalTopics = IntStream.rangeClosed(1, 100).boxed()
         .map(Objects::toString)
         .map(name -> new TopicDescription(name, false, List.of()))
+        .map(CompactTopicDescription::from)
         .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
             Metrics.empty(), InternalLogDirStats.empty(), "_"))
         .collect(Collectors.toMap(InternalTopic::getName, Function.identity()));
@@ -123,6 +137,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, false, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -142,6 +157,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, false, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -161,6 +177,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, Integer.parseInt(name) % 10 == 0, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -182,6 +199,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, Integer.parseInt(name) % 5 == 0, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -203,6 +221,7 @@ class TopicsServicePaginationTest {
         IntStream.rangeClosed(1, 100).boxed()
             .map(Objects::toString)
             .map(name -> new TopicDescription(name, false, List.of()))
+            .map(CompactTopicDescription::from)
             .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), null,
                 Metrics.empty(), InternalLogDirStats.empty(), "_"))
             .collect(Collectors.toMap(InternalTopic::getName, Function.identity()))
@@ -225,6 +244,7 @@ class TopicsServicePaginationTest {
                 .mapToObj(p ->
                     new TopicPartitionInfo(p, null, List.of(), List.of()))
                 .collect(Collectors.toList())))
+        .map(CompactTopicDescription::from)
         .map(topicDescription -> InternalTopic.from(topicDescription, List.of(), InternalPartitionsOffsets.empty(),
             Metrics.empty(), InternalLogDirStats.empty(), "_"))
         .collect(Collectors.toMap(InternalTopic::getName, Function.identity()));
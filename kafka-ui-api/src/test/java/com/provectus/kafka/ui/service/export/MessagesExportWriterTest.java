@@ -0,0 +1,116 @@
+package com.provectus.kafka.ui.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.provectus.kafka.ui.model.MessagesExportCompressionDTO;
+import com.provectus.kafka.ui.model.MessagesExportFormatDTO;
+import com.provectus.kafka.ui.model.TopicMessageDTO;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import lombok.SneakyThrows;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+
+class MessagesExportWriterTest {
+
+  @Test
+  void writesNdjsonLinePerMessage() throws Exception {
+    byte[] exported = export(MessagesExportFormatDTO.NDJSON, MessagesExportCompressionDTO.NONE, 3);
+
+    String[] lines = new String(exported, StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(3);
+    JsonNode first = new JsonMapper().readTree(lines[0]);
+    assertThat(first.get("partition").asInt()).isEqualTo(0);
+    assertThat(first.get("offset").asLong()).isZero();
+    assertThat(first.get("key").asText()).isEqualTo("key0");
+    assertThat(first.get("value").asText()).isEqualTo("value,\"0\"");
+    assertThat(first.get("headers").get("h").asText()).isEqualTo("v");
+  }
+
+  @Test
+  void writesCsvWithHeaderLineAndQuotedValues() {
+    byte[] exported = export(MessagesExportFormatDTO.CSV, MessagesExportCompressionDTO.NONE, 2);
+
+    String[] lines = new String(exported, StandardCharsets.UTF_8).split("\r\n");
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).isEqualTo("partition,offset,timestamp,timestampType,key,value,headers");
+    assertThat(lines[2]).startsWith("0,1,").endsWith(",CREATE_TIME,key1,\"value,\"\"1\"\"\",\"{\"\"h\"\":\"\"v\"\"}\"");
+  }
+
+  @Test
+  void writesAvroContainerFile() throws Exception {
+    byte[] exported = export(MessagesExportFormatDTO.AVRO, MessagesExportCompressionDTO.GZIP, 1_000);
+
+    List<GenericRecord> records = new ArrayList<>();
+    try (var stream = new DataFileStream<>(new GZIPInputStream(new ByteArrayInputStream(exported)),
+        new GenericDatumReader<GenericRecord>())) {
+      stream.forEach(records::add);
+    }
+    assertThat(records).hasSize(1_000);
+    assertThat(records.get(999).get("offset")).isEqualTo(999L);
+    assertThat(records.get(999).get("key")).hasToString("key999");
+  }
+
+  @Test
+  void returnsBoundedChunksForLargeExports() throws Exception {
+    int messages = 50_000;
+    try (var writer = new MessagesExportWriter(MessagesExportFormatDTO.NDJSON, MessagesExportCompressionDTO.GZIP)) {
+      var result = new ByteArrayOutputStream();
+      for (int i = 0; i < messages; i++) {
+        byte[] chunk = writer.write(message(i));
+        if (chunk != null) {
+          assertThat(chunk.length).isLessThan(256 * 1024);
+          result.write(chunk);
+        }
+      }
+      result.write(writer.finish());
+
+      assertThat(readLines(new GZIPInputStream(new ByteArrayInputStream(result.toByteArray()))))
+          .hasSize(messages);
+    }
+  }
+
+  @SneakyThrows
+  private static byte[] export(MessagesExportFormatDTO format, MessagesExportCompressionDTO compression, int count) {
+    var result = new ByteArrayOutputStream();
+    try (var writer = new MessagesExportWriter(format, compression)) {
+      for (int i = 0; i < count; i++) {
+        byte[] chunk = writer.write(message(i));
+        if (chunk != null) {
+          result.write(chunk);
+        }
+      }
+      result.write(writer.finish());
+    }
+    return result.toByteArray();
+  }
+
+  @SneakyThrows
+  private static List<String> readLines(InputStream in) {
+    return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+  }
+
+  private static TopicMessageDTO message(int i) {
+    return new TopicMessageDTO()
+        .partition(0)
+        .offset((long) i)
+        .timestamp(OffsetDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).plusSeconds(i))
+        .timestampType(TopicMessageDTO.TimestampTypeEnum.CREATE_TIME)
+        .key("key" + i)
+        .content("value,\"" + i + "\"")
+        .headers(Map.of("h", "v"));
+  }
+
+}
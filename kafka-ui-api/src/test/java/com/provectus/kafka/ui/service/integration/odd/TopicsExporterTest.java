@@ -6,8 +6,10 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.provectus.kafka.ui.model.CompactTopicDescription;
 import com.provectus.kafka.ui.model.KafkaCluster;
 import com.provectus.kafka.ui.model.Statistics;
+import com.provectus.kafka.ui.model.TopicConfigs;
 import com.provectus.kafka.ui.service.StatisticsCache;
 import com.provectus.kafka.ui.sr.api.KafkaSrClientApi;
 import com.provectus.kafka.ui.sr.model.SchemaSubject;
@@ -61,12 +63,12 @@ class TopicsExporterTest {
         .toBuilder()
         .topicDescriptions(
             Map.of(
-                "_hidden", new TopicDescription("_hidden", false, List.of(
+                "_hidden", CompactTopicDescription.from(new TopicDescription("_hidden", false, List.of(
                     new TopicPartitionInfo(0, null, List.of(), List.of())
-                )),
-                "visible", new TopicDescription("visible", false, List.of(
+                ))),
+                "visible", CompactTopicDescription.from(new TopicDescription("visible", false, List.of(
                     new TopicPartitionInfo(0, null, List.of(), List.of())
-                ))
+                )))
             )
         )
         .build();
@@ -104,7 +106,7 @@ class TopicsExporterTest {
         .topicDescriptions(
             Map.of(
                 "testTopic",
-                new TopicDescription(
+                CompactTopicDescription.from(new TopicDescription(
                     "testTopic",
                     false,
                     List.of(
@@ -116,11 +118,11 @@ class TopicsExporterTest {
                                 new Node(2, "host2", 9092)
                             ),
                             List.of())
-                    ))
+                    )))
             )
         )
         .topicConfigs(
-            Map.of(
+            TopicConfigs.of(Map.of(
                 "testTopic", List.of(
                     new ConfigEntry(
                         "custom.config",
@@ -133,7 +135,7 @@ class TopicsExporterTest {
                         null
                     )
                 )
-            )
+            ))
         )
         .build();
 
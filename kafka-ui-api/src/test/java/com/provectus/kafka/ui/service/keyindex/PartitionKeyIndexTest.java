@@ -0,0 +1,112 @@
+package com.provectus.kafka.ui.service.keyindex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PartitionKeyIndexTest {
+
+  private static final long MAX_BYTES = 64 * 1024 * 1024;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void returnsLatestPutOffsetForKey() throws Exception {
+    try (var index = PartitionKeyIndex.open(dir.resolve("0.idx"), MAX_BYTES)) {
+      index.put(key("k1"), 1);
+      index.put(key("k2"), 2);
+      index.put(key("k1"), 3);
+
+      assertThat(index.get(key("k1"))).isEqualTo(3);
+      assertThat(index.get(key("k2"))).isEqualTo(2);
+      assertThat(index.get(key("k3"))).isEqualTo(-1);
+      assertThat(index.isFull()).isFalse();
+    }
+  }
+
+  @Test
+  void growsWhenLoadFactorExceeded() throws Exception {
+    try (var index = PartitionKeyIndex.open(dir.resolve("0.idx"), MAX_BYTES)) {
+      for (int i = 0; i < 10_000; i++) {
+        index.put(key("k" + i), i);
+      }
+      for (int i = 0; i < 10_000; i++) {
+        assertThat(index.get(key("k" + i))).isEqualTo(i);
+      }
+      assertThat(index.isFull()).isFalse();
+    }
+  }
+
+  @Test
+  void onlyUpdatesExistingKeysWhenMaxSizeReached() throws Exception {
+    // max size allows only initial capacity (1024 slots)
+    try (var index = PartitionKeyIndex.open(dir.resolve("0.idx"), PartitionKeyIndex.MIN_FILE_BYTES)) {
+      for (int i = 0; i < 1000; i++) {
+        index.put(key("k" + i), i);
+      }
+      assertThat(index.isFull()).isTrue();
+      assertThat(index.get(key("k999"))).isEqualTo(-1);
+
+      index.put(key("k0"), 5000);
+      assertThat(index.get(key("k0"))).isEqualTo(5000);
+    }
+    assertThat(Files.size(dir.resolve("0.idx"))).isEqualTo(32 + 1024 * 16);
+  }
+
+  @Test
+  void maxSizeSmallerThanEmptyIndexIsRejected() {
+    assertThatThrownBy(() -> PartitionKeyIndex.open(dir.resolve("0.idx"), 1024))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(dir.resolve("0.idx")).doesNotExist();
+  }
+
+  @Test
+  void entriesAndNextOffsetArePersisted() throws Exception {
+    Path file = dir.resolve("0.idx");
+    try (var index = PartitionKeyIndex.open(file, MAX_BYTES)) {
+      for (int i = 0; i < 2000; i++) {
+        index.put(key("k" + i), i);
+      }
+      index.setNextOffset(2000);
+    }
+    try (var index = PartitionKeyIndex.open(file, MAX_BYTES)) {
+      assertThat(index.nextOffset()).isEqualTo(2000);
+      assertThat(index.get(key("k0"))).isEqualTo(0);
+      assertThat(index.get(key("k1999"))).isEqualTo(1999);
+    }
+  }
+
+  @Test
+  void resetRemovesAllEntries() throws Exception {
+    try (var index = PartitionKeyIndex.open(dir.resolve("0.idx"), MAX_BYTES)) {
+      index.put(key("k1"), 1);
+      index.setNextOffset(2);
+
+      index.reset(100);
+
+      assertThat(index.get(key("k1"))).isEqualTo(-1);
+      assertThat(index.nextOffset()).isEqualTo(100);
+    }
+  }
+
+  @Test
+  void invalidFileIsRecreated() throws Exception {
+    Path file = dir.resolve("0.idx");
+    Files.write(file, new byte[100]);
+    try (var index = PartitionKeyIndex.open(file, MAX_BYTES)) {
+      assertThat(index.nextOffset()).isZero();
+      index.put(key("k1"), 1);
+      assertThat(index.get(key("k1"))).isEqualTo(1);
+    }
+  }
+
+  private static byte[] key(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,69 @@
+package com.provectus.kafka.ui.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+  @Test
+  void behavesLikeHashMapOnRandomOperations() {
+    var random = new Random(42);
+    Map<Integer, Integer> expected = new HashMap<>();
+    PersistentMap<Integer, Integer> map = PersistentMap.empty();
+    for (int i = 0; i < 50_000; i++) {
+      // keys' hashes are spread over full int range to make trie deep
+      int key = random.nextInt(5_000) * 0x9E3779B1;
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key);
+      } else {
+        expected.put(key, i);
+        map = map.plus(key, i);
+      }
+    }
+    assertThat(map).hasSize(expected.size());
+    assertThat(map).isEqualTo(expected);
+    assertThat(expected).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+
+    map = map.minusAll(List.copyOf(expected.keySet()));
+    assertThat(map).isEmpty();
+    assertThat(map.entrySet().iterator().hasNext()).isFalse();
+  }
+
+  @Test
+  void keysWithEqualHashesAreKeptSeparately() {
+    // "Aa" and "BB" have the same hash code
+    PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty()
+        .plus("Aa", 1)
+        .plus("BB", 2)
+        .plus("AaAa", 3)
+        .plus("BBBB", 4)
+        .plus("AaBB", 5);
+
+    assertThat(map).isEqualTo(Map.of("Aa", 1, "BB", 2, "AaAa", 3, "BBBB", 4, "AaBB", 5));
+    assertThat(map.plus("BB", 20).get("BB")).isEqualTo(20);
+    assertThat(map.minus("AaAa")).isEqualTo(Map.of("Aa", 1, "BB", 2, "BBBB", 4, "AaBB", 5));
+    assertThat(map.minus("Aa").minus("BB")).isEqualTo(Map.of("AaAa", 3, "BBBB", 4, "AaBB", 5));
+  }
+
+  @Test
+  void updatesDoNotChangeOriginalMap() {
+    PersistentMap<String, Integer> original = PersistentMap.copyOf(Map.of("a", 1, "b", 2));
+
+    var updated = original.plus("c", 3).minus("a");
+
+    assertThat(original).isEqualTo(Map.of("a", 1, "b", 2));
+    assertThat(updated).isEqualTo(Map.of("b", 2, "c", 3));
+    assertThat(original.plus("a", 1)).isSameAs(original);
+    assertThat(original.minus("unknown")).isSameAs(original);
+    assertThat(PersistentMap.copyOf(original)).isSameAs(original);
+    assertThatThrownBy(() -> original.put("d", 4)).isInstanceOf(UnsupportedOperationException.class);
+  }
+}